@@ -1,7 +1,22 @@
 package com.swaraj.todolist;
 
+import com.swaraj.todolist.dataModel.PagedToDoList;
+import com.swaraj.todolist.dataModel.TaskFilter;
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoData;
 import com.swaraj.todolist.dataModel.ToDoItem;
+import com.swaraj.todolist.dataModel.ToDoItemRenderModel;
+import com.swaraj.todolist.services.BackupService;
+import com.swaraj.todolist.services.ConfigurationService;
 import com.swaraj.todolist.services.DatabaseService;
+import com.swaraj.todolist.services.ExportImportService;
+import com.swaraj.todolist.services.LocalTaskStore;
+import com.swaraj.todolist.services.NotificationService;
+import com.swaraj.todolist.services.TaskSnapshotCache;
+import com.swaraj.todolist.services.TaskStore;
+import com.swaraj.todolist.utils.FxDispatcher;
+import com.swaraj.todolist.utils.NaturalLanguageDateParser;
+import com.swaraj.todolist.utils.NotificationCenter;
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -9,6 +24,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.css.PseudoClass;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
@@ -17,19 +33,38 @@ import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.paint.Color;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.util.Callback;
+import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
 public class Controller {
+    private static final String ANY_CHOICE = "Any";
+    private static final PseudoClass DUE_TODAY_PSEUDO_CLASS = PseudoClass.getPseudoClass("due-today");
+    private static final PseudoClass DUE_TOMORROW_PSEUDO_CLASS = PseudoClass.getPseudoClass("due-tomorrow");
+
     private ObservableList<ToDoItem> toDoItems;
     private DatabaseService databaseService;
+    // Set in local-first mode, where tasks are read and edited in the replica
+    private LocalTaskStore localStore;
     @FXML
     private ListView<ToDoItem> todoListView;
     @FXML
@@ -43,13 +78,11 @@ public class Controller {
     @FXML
     private ToggleButton filterToggleButton;
     private FilteredList<ToDoItem> filteredList;
+    private PagedToDoList pagedItems;
     private Predicate<ToDoItem> wantAllItems;
     private Predicate<ToDoItem> wantsTodaysItems;
 
     public void initialize(){
-        databaseService = DatabaseService.getInstance();
-        loadToDoItems();
-        
         listContextMenu = new ContextMenu();
         MenuItem deleteMenuItem = new MenuItem("Delete");
         deleteMenuItem.setOnAction(new EventHandler<ActionEvent>() {
@@ -67,8 +100,7 @@ public class Controller {
                 if(t1 != null){
                     ToDoItem item = todoListView.getSelectionModel().getSelectedItem();
                     itemDetailsTextArea.setText(item.getDetails());
-                    DateTimeFormatter df = DateTimeFormatter.ofPattern("MMMM d, yyyy");
-                    deadlinelabel.setText(df.format(item.getDeadline()));
+                    deadlinelabel.setText(item.getRenderModel().getFormattedDeadline());
                 }
             }
         });
@@ -85,18 +117,10 @@ public class Controller {
             }
         };
 
-        filteredList = new FilteredList<ToDoItem>(toDoItems, wantAllItems);
-
-        SortedList<ToDoItem> sortedList = new SortedList<ToDoItem>(filteredList, new Comparator<ToDoItem>() {
-            @Override
-            public int compare(ToDoItem o1, ToDoItem o2) {
-                return o1.getDeadline().compareTo(o2.getDeadline());
-            }
-        });
-
 //        todoListView.setItems(ToDoData.getInstance().getToDoItems());
-        todoListView.setItems(sortedList);
-        todoListView.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
+        showInitialItems();
+        // Several tasks can be marked complete at once
+        todoListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         todoListView.getSelectionModel().selectFirst();
         todoListView.setCellFactory(new Callback<ListView<ToDoItem>, ListCell<ToDoItem>>() {
             @Override
@@ -105,16 +129,17 @@ public class Controller {
                     @Override
                     protected void updateItem(ToDoItem item, boolean empty) {
                         super.updateItem(item, empty);
-                        if (empty){
+                        ToDoItemRenderModel.Urgency urgency = ToDoItemRenderModel.Urgency.NORMAL;
+                        if (empty || item == null){
                             setText(null);
                         }else {
-                            setText(item.getShortDescription());
-                            if(item.getDeadline().toLocalDate().isBefore(LocalDate.now().plusDays(1))){
-                                setTextFill(Color.RED);
-                            } else if (item.getDeadline().toLocalDate().equals(LocalDate.now().plusDays(1))) {
-                                setTextFill(Color.ORANGE);
-                            }
+                            ToDoItemRenderModel model = item.getRenderModel();
+                            setText(model.getDisplayText());
+                            urgency = model.getUrgency();
                         }
+                        // Pseudo-classes are always reset so recycled cells never keep a stale colour
+                        pseudoClassStateChanged(DUE_TODAY_PSEUDO_CLASS, urgency == ToDoItemRenderModel.Urgency.DUE_TODAY_OR_OVERDUE);
+                        pseudoClassStateChanged(DUE_TOMORROW_PSEUDO_CLASS, urgency == ToDoItemRenderModel.Urgency.DUE_TOMORROW);
                     }
                 };
                 cell.emptyProperty().addListener(
@@ -158,24 +183,55 @@ public class Controller {
             ToDoItem newItem = controller.processResults();
             if (newItem != null) {
                 // Refresh the list to show the new item
-                loadToDoItems();
-                filteredList = new FilteredList<ToDoItem>(toDoItems, 
-                    filterToggleButton.isSelected() ? wantsTodaysItems : wantAllItems);
-                
-                SortedList<ToDoItem> sortedList = new SortedList<ToDoItem>(filteredList, new Comparator<ToDoItem>() {
-                    @Override
-                    public int compare(ToDoItem o1, ToDoItem o2) {
-                        return o1.getDeadline().compareTo(o2.getDeadline());
-                    }
-                });
-                todoListView.setItems(sortedList);
-                todoListView.getSelectionModel().select(newItem);
+                showItems();
+                selectItem(newItem);
             }
         }
     }
+
+    /**
+     * Add a task from one line of text such as "call the bank tomorrow at 10am", as
+     * handed over by a quick-add launch
+     */
+    public void quickAdd(String text) {
+        NaturalLanguageDateParser.ParseResult result = NaturalLanguageDateParser.parse(text);
+        String description = result.description().isEmpty() ? text.trim() : result.description();
+        ToDoItem newItem = new ToDoItem(description, "", result.dateTime());
+        tasks().saveTodoItem(newItem);
+        showItems();
+        selectItem(newItem);
+        NotificationCenter.getInstance().post(NotificationCenter.Level.INFO, "Quick Add",
+            "Added \"" + description + "\" due " + newItem.getDeadline().format(DateTimeFormatter.ofPattern("MMM d, HH:mm")));
+    }
+
+    /**
+     * Select a task in the list. In the paged view its position is looked up and its page
+     * loaded off the FX thread, then selected.
+     */
+    private void selectItem(ToDoItem item) {
+        if (pagedItems == null) {
+            todoListView.getSelectionModel().select(item);
+            return;
+        }
+        PagedToDoList paged = pagedItems;
+        FxDispatcher dispatcher = FxDispatcher.getInstance();
+        paged.locate(item).whenComplete((index, error) -> dispatcher.dispatch(() -> {
+            if (error != null) {
+                System.err.println("Error locating task: " + error.getMessage());
+            } else if (pagedItems == paged && index >= 0) {
+                todoListView.getSelectionModel().select(index);
+                todoListView.scrollTo(index);
+            }
+        }));
+    }
+
     @FXML
         public void handleClickListView(){
         ToDoItem item = todoListView.getSelectionModel().getSelectedItem();
+        if (item == null) {
+            // A paged row whose page is still loading
+            return;
+        }
         itemDetailsTextArea.setText(item.getDetails());
         deadlinelabel.setText(item.getDeadline().toString());
      }
@@ -197,18 +253,8 @@ public class Controller {
         Optional<ButtonType> result = alert.showAndWait();
 
         if(result.isPresent() && (result.get()==ButtonType.OK)){
-            databaseService.deleteTodoItem(item.getId());
-            loadToDoItems(); // Refresh the list
-            filteredList = new FilteredList<ToDoItem>(toDoItems, 
-                filterToggleButton.isSelected() ? wantsTodaysItems : wantAllItems);
-            
-            SortedList<ToDoItem> sortedList = new SortedList<ToDoItem>(filteredList, new Comparator<ToDoItem>() {
-                @Override
-                public int compare(ToDoItem o1, ToDoItem o2) {
-                    return o1.getDeadline().compareTo(o2.getDeadline());
-                }
-            });
-            todoListView.setItems(sortedList);
+            tasks().deleteTodoItem(item.getId());
+            showItems(); // Refresh the list
             todoListView.getSelectionModel().selectFirst();
         }
     }
@@ -216,13 +262,17 @@ public class Controller {
     @FXML
     public void handleFilterButton(ActionEvent event) {
         ToDoItem selectedItem = todoListView.getSelectionModel().getSelectedItem();
-        if (filterToggleButton.isSelected()){
+        if (pagedItems != null) {
+            // The paged view filters in SQL, so it is rebuilt rather than predicated
+            showItems();
+            todoListView.getSelectionModel().selectFirst();
+        } else if (filterToggleButton.isSelected()){
             filteredList.setPredicate(wantsTodaysItems);
             if(filteredList.isEmpty()){
                 itemDetailsTextArea.clear();
                 deadlinelabel.setText("");
             }else if(filteredList.contains(selectedItem)){
-                todoListView.getSelectionModel().select(selectedItem);
+                selectItem(selectedItem);
             }else{
                 todoListView.getSelectionModel().selectFirst();
             }
@@ -236,26 +286,460 @@ public class Controller {
     }
 
     private void loadToDoItems() {
-        toDoItems = databaseService.loadTodoItems();
+        toDoItems = tasks().loadTodoItems();
+    }
+
+    /**
+     * Where tasks are read and edited: the local replica in local-first mode, else the database
+     */
+    private TaskStore tasks() {
+        return localStore != null ? localStore : database();
+    }
+
+    /**
+     * The database service, waiting for it to finish starting if it has not yet
+     */
+    private DatabaseService database() {
+        if (databaseService == null) {
+            databaseService = DatabaseService.getInstance();
+        }
+        return databaseService;
+    }
+
+    /**
+     * Paint the last snapshot of the task list straight away and reconcile it with the
+     * database in the background, so a slow database does not hold up a usable window.
+     * Without a snapshot the tasks are loaded from the database directly. In local-first
+     * mode the replica is already in memory and database changes arrive from the sync engine.
+     * Tasks saved or deleted while the database load runs keep what the window shows, since
+     * the load may predate the change.
+     */
+    private void showInitialItems() {
+        if (ConfigurationService.getInstance().isLocalFirst()) {
+            localStore = LocalTaskStore.getInstance();
+            showItems();
+            FxDispatcher dispatcher = FxDispatcher.getInstance();
+            localStore.addReplicaListener(() -> dispatcher.dispatch(localStore,
+                () -> reconcile(localStore.loadTodoItems(), Set.of())));
+            return;
+        }
+        List<ToDoItem> snapshot = TaskSnapshotCache.getInstance().load();
+        if (snapshot == null) {
+            showItems();
+            return;
+        }
+        toDoItems = FXCollections.observableArrayList(snapshot);
+        bindItems();
+
+        FxDispatcher dispatcher = FxDispatcher.getInstance();
+        Thread reconcileThread = new Thread(() -> {
+            DatabaseService service = null;
+            // Registered before the load, so every change is either in it or recorded here
+            Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+            AtomicBoolean imported = new AtomicBoolean();
+            DatabaseService.TaskChangeListener tracker = new DatabaseService.TaskChangeListener() {
+                @Override
+                public void taskSaved(ToDoItem item) {
+                    changedIds.add(item.getId());
+                }
+
+                @Override
+                public void taskDeleted(long itemId) {
+                    changedIds.add(itemId);
+                }
+
+                @Override
+                public void tasksImported() {
+                    imported.set(true);
+                }
+            };
+            try {
+                service = DatabaseService.getInstance();
+                service.addTaskChangeListener(tracker);
+                List<ToDoItem> stored = service.countTasks(null, null) > PagedToDoList.PAGED_VIEW_THRESHOLD
+                    ? null : service.loadTodoItems();
+                DatabaseService loaded = service;
+                dispatcher.dispatch(() -> {
+                    databaseService = loaded;
+                    loaded.removeTaskChangeListener(tracker);
+                    reconcile(imported.get() ? null : stored, changedIds);
+                });
+            } catch (RuntimeException e) {
+                if (service != null) {
+                    service.removeTaskChangeListener(tracker);
+                }
+                System.err.println("Error loading tasks: " + e.getMessage());
+                dispatcher.dispatch(() -> NotificationService.getInstance().showError("Tasks",
+                    "Could not load tasks from the database", rootMessage(e)));
+            }
+        }, "task-reconcile");
+        reconcileThread.setDaemon(true);
+        reconcileThread.start();
+    }
+
+    /**
+     * Bring the shown list in line with the stored tasks. Unchanged tasks keep their
+     * objects, so only rows that differ are redrawn.
+     *
+     * @param stored every stored task, or null to reload the list instead
+     * @param changedIds tasks changed here after {@code stored} was read; they are left as shown
+     */
+    private void reconcile(List<ToDoItem> stored, Set<Long> changedIds) {
+        if (stored == null || toDoItems == null) {
+            showItems();
+            todoListView.getSelectionModel().selectFirst();
+            return;
+        }
+
+        if (localStore != null) {
+            // Tasks created here may have received their database ids since they were shown
+            for (ToDoItem shown : toDoItems) {
+                shown.setId(localStore.resolveId(shown.getId()));
+            }
+        }
+        ToDoItem selected = todoListView.getSelectionModel().getSelectedItem();
+        Map<Long, ToDoItem> storedById = new HashMap<>();
+        for (ToDoItem item : stored) {
+            if (!changedIds.contains(item.getId())) {
+                storedById.put(item.getId(), item);
+            }
+        }
+        for (ListIterator<ToDoItem> iterator = toDoItems.listIterator(); iterator.hasNext(); ) {
+            ToDoItem shown = iterator.next();
+            if (changedIds.contains(shown.getId())) {
+                continue;
+            }
+            ToDoItem current = storedById.remove(shown.getId());
+            if (current == null) {
+                iterator.remove();
+            } else if (!TaskRecord.of(current).equals(TaskRecord.of(shown))) {
+                iterator.set(current);
+            }
+        }
+        toDoItems.addAll(storedById.values());
+
+        if (selected != null && todoListView.getSelectionModel().getSelectedItem() != selected) {
+            todoListView.getItems().stream()
+                .filter(item -> item.getId() == selected.getId())
+                .findFirst()
+                .ifPresentOrElse(item -> todoListView.getSelectionModel().select(item),
+                    () -> todoListView.getSelectionModel().selectFirst());
+        }
+    }
+
+    /**
+     * Bind the list view to the current tasks. Large task tables are browsed through a
+     * database-paged list so that memory stays bounded and first paint stays fast.
+     */
+    private void showItems() {
+        boolean todayOnly = filterToggleButton != null && filterToggleButton.isSelected();
+        if (pagedItems != null) {
+            pagedItems.dispose();
+            pagedItems = null;
+        }
+
+        // The local replica holds every task anyway, so it is never paged
+        if (localStore == null && isTaskTableLarge()) {
+            LocalDateTime from = todayOnly ? LocalDate.now().atStartOfDay() : null;
+            LocalDateTime to = todayOnly ? from.plusDays(1) : null;
+            pagedItems = new PagedToDoList(database(), from, to,
+                PagedToDoList.DEFAULT_PAGE_SIZE, PagedToDoList.DEFAULT_MAX_CACHED_PAGES);
+            toDoItems = null;
+            filteredList = null;
+            todoListView.setItems(pagedItems);
+            return;
+        }
+
+        loadToDoItems();
+        bindItems();
+    }
+
+    /**
+     * Judge whether to page the list from the last task count, so the FX thread never waits
+     * on a count query. A fresh count is taken in the background and the list is shown
+     * again if it lands on the other side of the threshold.
+     */
+    private boolean isTaskTableLarge() {
+        DatabaseService service = database();
+        int count = service.getLastTaskCount();
+        FxDispatcher dispatcher = FxDispatcher.getInstance();
+        Thread countThread = new Thread(() -> {
+            try {
+                boolean large = service.countTasks(null, null) > PagedToDoList.PAGED_VIEW_THRESHOLD;
+                dispatcher.dispatch(() -> {
+                    if (localStore == null && large != (pagedItems != null)) {
+                        showItems();
+                    }
+                });
+            } catch (RuntimeException e) {
+                System.err.println("Error counting tasks: " + e.getMessage());
+            }
+        }, "task-count");
+        countThread.setDaemon(true);
+        countThread.start();
+        // Before the first count, paging is the choice that never loads a large table whole
+        return count < 0 || count > PagedToDoList.PAGED_VIEW_THRESHOLD;
+    }
+
+    /**
+     * Show the fully loaded task list, filtered and sorted by deadline
+     */
+    private void bindItems() {
+        boolean todayOnly = filterToggleButton != null && filterToggleButton.isSelected();
+        filteredList = new FilteredList<ToDoItem>(toDoItems, todayOnly ? wantsTodaysItems : wantAllItems);
+
+        SortedList<ToDoItem> sortedList = new SortedList<ToDoItem>(filteredList, new Comparator<ToDoItem>() {
+            @Override
+            public int compare(ToDoItem o1, ToDoItem o2) {
+                return o1.getDeadline().compareTo(o2.getDeadline());
+            }
+        });
+        todoListView.setItems(sortedList);
     }
 
     // Missing FXML action methods - implementing stubs for now
     @FXML
     public void importTasks(ActionEvent event) {
-        // TODO: Implement import functionality
-        showNotImplementedAlert("Import Tasks");
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Tasks");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("Task files", "*.json", "*.csv", "*" + ExportImportService.BINARY_EXTENSION, "*.txt"),
+            new FileChooser.ExtensionFilter("JSON files", "*.json"),
+            new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+            new FileChooser.ExtensionFilter("Task backups", "*" + ExportImportService.BINARY_EXTENSION),
+            new FileChooser.ExtensionFilter("Legacy task lists", "*.txt"));
+        File file = chooser.showOpenDialog(mainBorderPane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        ButtonType mergeButton = new ButtonType("Merge");
+        ButtonType addAllButton = new ButtonType("Add All");
+        Alert modeDialog = new Alert(Alert.AlertType.CONFIRMATION);
+        modeDialog.initOwner(mainBorderPane.getScene().getWindow());
+        modeDialog.setTitle("Import Tasks");
+        modeDialog.setHeaderText("How should tasks already in your list be handled?");
+        modeDialog.setContentText("Merge updates tasks with the same title and deadline and skips unchanged ones. "
+            + "Add All adds every task in the file as a new task.");
+        modeDialog.getButtonTypes().setAll(mergeButton, addAllButton, ButtonType.CANCEL);
+        Optional<ButtonType> mode = modeDialog.showAndWait();
+        if (mode.isEmpty() || mode.get() == ButtonType.CANCEL) {
+            return;
+        }
+        boolean merge = mode.get() == mergeButton;
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(320);
+        Label progressLabel = new Label("Starting import...");
+        Alert progressDialog = new Alert(Alert.AlertType.NONE);
+        progressDialog.initOwner(mainBorderPane.getScene().getWindow());
+        progressDialog.setTitle("Import Tasks");
+        progressDialog.setHeaderText("Importing " + file.getName());
+        progressDialog.getDialogPane().setContent(new VBox(8, progressBar, progressLabel));
+        progressDialog.getButtonTypes().setAll(ButtonType.CANCEL);
+        progressDialog.resultProperty().addListener((obs, oldResult, newResult) -> cancelled.set(true));
+        progressDialog.show();
+
+        // The import runs off the FX thread; progress updates are coalesced to one per pulse
+        FxDispatcher dispatcher = FxDispatcher.getInstance();
+        Thread importThread = new Thread(() -> {
+            try {
+                ExportImportService.ImportMonitor monitor = new ExportImportService.ImportMonitor() {
+                    @Override
+                    public void progress(long tasksImported, long bytesRead, long totalBytes) {
+                        dispatcher.dispatch(progressBar, () -> {
+                            progressBar.setProgress(totalBytes > 0 ? (double) bytesRead / totalBytes : ProgressBar.INDETERMINATE_PROGRESS);
+                            progressLabel.setText(tasksImported + (merge ? " tasks processed" : " tasks imported"));
+                        });
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return cancelled.get();
+                    }
+                };
+                ExportImportService service = ExportImportService.getInstance();
+                String name = file.getName().toLowerCase();
+                ExportImportService.ImportResult result;
+                if (name.endsWith(".csv")) {
+                    result = service.importFromCSV(file, merge, monitor);
+                } else if (name.endsWith(ExportImportService.BINARY_EXTENSION)) {
+                    result = service.importFromBinary(file, merge, monitor);
+                } else if (name.endsWith(".txt")) {
+                    result = service.importLegacyText(file, merge, monitor);
+                } else {
+                    result = service.importFromJSON(file, merge, monitor);
+                }
+                String summary = merge
+                    ? result.inserted() + " added, " + result.updated() + " updated, " + result.skipped() + " unchanged"
+                    : result.inserted() + " tasks imported";
+                String defaults = result.invalidFields() > 0
+                    ? " (" + result.invalidFields() + " missing or invalid values replaced with defaults)" : "";
+                dispatcher.dispatch(() -> {
+                    progressDialog.close();
+                    showItems();
+                    NotificationService.getInstance().showInfo("Import Tasks",
+                        result.cancelled() ? "Import cancelled" : "Import complete",
+                        summary + " from " + file.getName() + defaults);
+                });
+            } catch (IOException | RuntimeException e) {
+                dispatcher.dispatch(() -> {
+                    progressDialog.close();
+                    showItems();
+                    NotificationService.getInstance().showError("Import Tasks", "Import failed",
+                        "Could not import " + file.getName() + ": " + e.getMessage());
+                });
+            }
+        }, "task-import");
+        importThread.setDaemon(true);
+        importThread.start();
     }
     
     @FXML
     public void exportTasks(ActionEvent event) {
-        // TODO: Implement export functionality
-        showNotImplementedAlert("Export Tasks");
+        Optional<TaskFilter> filter = showExportFilterDialog();
+        if (filter.isEmpty()) {
+            return;
+        }
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Tasks");
+        chooser.setInitialFileName("tasks.json");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("JSON files", "*.json"),
+            new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+            new FileChooser.ExtensionFilter("Task backups", "*" + ExportImportService.BINARY_EXTENSION));
+        File chosen = chooser.showSaveDialog(mainBorderPane.getScene().getWindow());
+        if (chosen == null) {
+            return;
+        }
+        // Some platforms do not add the extension of the selected filter
+        if (!chosen.getName().contains(".") && chooser.getSelectedExtensionFilter() != null) {
+            chosen = new File(chosen.getPath() + chooser.getSelectedExtensionFilter().getExtensions().get(0).substring(1));
+        }
+        File file = chosen;
+
+        // Rows are streamed from the database to the file on a background thread
+        FxDispatcher dispatcher = FxDispatcher.getInstance();
+        Thread exportThread = new Thread(() -> {
+            try {
+                long exported = ExportImportService.getInstance().exportTasks(filter.get(), file);
+                dispatcher.dispatch(() -> NotificationService.getInstance().showInfo("Export Tasks",
+                    "Export complete", exported + " tasks exported to " + file.getName()));
+            } catch (IOException | RuntimeException e) {
+                dispatcher.dispatch(() -> NotificationService.getInstance().showError("Export Tasks",
+                    "Export failed", "Could not export to " + file.getName() + ": " + rootMessage(e)));
+            }
+        }, "task-export");
+        exportThread.setDaemon(true);
+        exportThread.start();
+    }
+
+    /**
+     * Ask which tasks to export
+     */
+    private Optional<TaskFilter> showExportFilterDialog() {
+        ComboBox<String> categoryBox = new ComboBox<>();
+        categoryBox.getItems().add(ANY_CHOICE);
+        for (ToDoItem.Category category : ToDoItem.Category.values()) {
+            categoryBox.getItems().add(category.name());
+        }
+        categoryBox.setValue(ANY_CHOICE);
+
+        ComboBox<String> priorityBox = new ComboBox<>();
+        priorityBox.getItems().add(ANY_CHOICE);
+        for (ToDoItem.Priority priority : ToDoItem.Priority.values()) {
+            priorityBox.getItems().add(priority.name());
+        }
+        priorityBox.setValue(ANY_CHOICE);
+
+        ComboBox<TaskFilter.Status> statusBox = new ComboBox<>(FXCollections.observableArrayList(TaskFilter.Status.values()));
+        statusBox.setValue(TaskFilter.Status.ANY);
+        ComboBox<TaskFilter.DateField> dateFieldBox = new ComboBox<>(FXCollections.observableArrayList(TaskFilter.DateField.values()));
+        dateFieldBox.setValue(TaskFilter.DateField.DEADLINE);
+        DatePicker fromPicker = new DatePicker();
+        DatePicker toPicker = new DatePicker();
+        TextField textField = new TextField();
+        textField.setPromptText("Title or details contain");
+
+        GridPane grid = new GridPane();
+        grid.setHgap(8);
+        grid.setVgap(8);
+        grid.addRow(0, new Label("Category:"), categoryBox);
+        grid.addRow(1, new Label("Priority:"), priorityBox);
+        grid.addRow(2, new Label("Status:"), statusBox);
+        grid.addRow(3, new Label("Date:"), dateFieldBox);
+        grid.addRow(4, new Label("From:"), fromPicker);
+        grid.addRow(5, new Label("To:"), toPicker);
+        grid.addRow(6, new Label("Text:"), textField);
+
+        Dialog<TaskFilter> dialog = new Dialog<>();
+        dialog.initOwner(mainBorderPane.getScene().getWindow());
+        dialog.setTitle("Export Tasks");
+        dialog.setHeaderText("Export the tasks matching these criteria. Leave a field empty to include everything.");
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialog.setResultConverter(button -> {
+            if (button != ButtonType.OK) {
+                return null;
+            }
+            Set<ToDoItem.Category> categories = ANY_CHOICE.equals(categoryBox.getValue())
+                ? Set.of() : Set.of(ToDoItem.Category.valueOf(categoryBox.getValue()));
+            Set<ToDoItem.Priority> priorities = ANY_CHOICE.equals(priorityBox.getValue())
+                ? Set.of() : Set.of(ToDoItem.Priority.valueOf(priorityBox.getValue()));
+            // The "to" day is included, so the range ends at the following midnight
+            LocalDateTime from = fromPicker.getValue() != null ? fromPicker.getValue().atStartOfDay() : null;
+            LocalDateTime to = toPicker.getValue() != null ? toPicker.getValue().plusDays(1).atStartOfDay() : null;
+            return new TaskFilter(categories, priorities, statusBox.getValue(), dateFieldBox.getValue(),
+                from, to, textField.getText());
+        });
+        return dialog.showAndWait();
     }
     
     @FXML
     public void createBackup(ActionEvent event) {
-        // TODO: Implement backup functionality
-        showNotImplementedAlert("Create Backup");
+        FxDispatcher dispatcher = FxDispatcher.getInstance();
+        BackupService.getInstance().backupNow().whenComplete((entry, error) -> dispatcher.dispatch(() -> {
+            NotificationService notifications = NotificationService.getInstance();
+            if (error != null) {
+                notifications.showError("Create Backup", "Backup failed", rootMessage(error));
+            } else if (entry == null) {
+                notifications.showInfo("Create Backup", "Backup is up to date", "Nothing changed since the last backup.");
+            } else {
+                notifications.showInfo("Create Backup", "Backup created", entry.toString());
+            }
+        }));
+    }
+    
+    @FXML
+    public void restoreBackup(ActionEvent event) {
+        List<BackupService.BackupEntry> backups = new ArrayList<>(BackupService.getInstance().getBackups());
+        if (backups.isEmpty()) {
+            NotificationService.getInstance().showInfo("Restore Backup", "No backups", "No backups have been created yet.");
+            return;
+        }
+        Collections.reverse(backups);
+        ChoiceDialog<BackupService.BackupEntry> dialog = new ChoiceDialog<>(backups.get(0), backups);
+        dialog.initOwner(mainBorderPane.getScene().getWindow());
+        dialog.setTitle("Restore Backup");
+        dialog.setHeaderText("All current tasks will be replaced by the selected backup.");
+        dialog.setContentText("Restore to:");
+        Optional<BackupService.BackupEntry> choice = dialog.showAndWait();
+        if (choice.isEmpty()) {
+            return;
+        }
+        
+        FxDispatcher dispatcher = FxDispatcher.getInstance();
+        BackupService.getInstance().restore(choice.get()).whenComplete((restored, error) -> dispatcher.dispatch(() -> {
+            showItems();
+            if (error != null) {
+                NotificationService.getInstance().showError("Restore Backup", "Restore failed", rootMessage(error));
+            } else {
+                NotificationService.getInstance().showInfo("Restore Backup", "Restore complete",
+                    restored + " tasks restored from " + choice.get());
+            }
+        }));
     }
     
     @FXML
@@ -280,23 +764,22 @@ public class Controller {
     
     @FXML
     public void toggleCompleteSelectedItem(ActionEvent event) {
-        // TODO: Implement toggle complete functionality
-        showNotImplementedAlert("Toggle Complete");
+        // Rows of the paged list that are not loaded yet come back as null
+        List<ToDoItem> selected = todoListView.getSelectionModel().getSelectedItems().stream()
+            .filter(Objects::nonNull)
+            .toList();
+        if (selected.size() == 1) {
+            ToDoData.getInstance().completeTask(selected.get(0));
+        } else if (!selected.isEmpty()) {
+            // One ledger entry and one round of notifications for the whole selection
+            ToDoData.getInstance().completeTasks(selected);
+        }
+        todoListView.refresh();
     }
     
     @FXML
     public void refreshAll(ActionEvent event) {
-        loadToDoItems();
-        filteredList = new FilteredList<ToDoItem>(toDoItems, 
-            filterToggleButton.isSelected() ? wantsTodaysItems : wantAllItems);
-        
-        SortedList<ToDoItem> sortedList = new SortedList<ToDoItem>(filteredList, new Comparator<ToDoItem>() {
-            @Override
-            public int compare(ToDoItem o1, ToDoItem o2) {
-                return o1.getDeadline().compareTo(o2.getDeadline());
-            }
-        });
-        todoListView.setItems(sortedList);
+        showItems();
         todoListView.getSelectionModel().selectFirst();
     }
     
@@ -305,7 +788,9 @@ public class Controller {
         if (filterToggleButton != null) {
             filterToggleButton.setSelected(false);
         }
-        if (filteredList != null) {
+        if (pagedItems != null) {
+            showItems();
+        } else if (filteredList != null) {
             filteredList.setPredicate(wantAllItems);
         }
     }
@@ -322,6 +807,13 @@ public class Controller {
         showNotImplementedAlert("Toggle Theme");
     }
     
+    /**
+     * Message of the failure behind a CompletableFuture's CompletionException
+     */
+    private static String rootMessage(Throwable error) {
+        return (error.getCause() != null ? error.getCause() : error).getMessage();
+    }
+    
     private void showNotImplementedAlert(String feature) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Feature Not Implemented");
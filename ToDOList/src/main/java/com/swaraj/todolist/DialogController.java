@@ -1,17 +1,24 @@
 package com.swaraj.todolist;
 
-import com.swaraj.todolist.services.DatabaseService;
+import com.swaraj.todolist.services.TaskStore;
 import com.swaraj.todolist.dataModel.ToDoItem;
 import com.swaraj.todolist.utils.NaturalLanguageDateParser;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.util.Duration;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Enhanced dialog controller with natural language parsing and advanced features
  */
 public class DialogController {
+    private static final DateTimeFormatter PARSED_DEADLINE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm");
+    // Parse once the user pauses typing rather than on every keystroke
+    private static final Duration PARSE_DEBOUNCE = Duration.millis(250);
+
     @FXML
     private TextField shortDescriptionField;
     @FXML
@@ -34,6 +41,7 @@ public class DialogController {
     private Label pointsLabel;
     
     private ToDoItem editingItem = null;
+    private PauseTransition parseDebounce;
     
     /**
      * Initialize the dialog
@@ -61,30 +69,9 @@ public class DialogController {
         
         // Set up natural language field listener
         if (naturalDateField != null) {
-            naturalDateField.textProperty().addListener((obs, oldText, newText) -> {
-                if (newText != null && !newText.trim().isEmpty()) {
-                    try {
-                        LocalDateTime parsed = NaturalLanguageDateParser.parseDateTime(newText);
-                        if (deadlinePicker != null) {
-                            deadlinePicker.setValue(parsed.toLocalDate());
-                        }
-                        if (hourSpinner != null) {
-                            hourSpinner.getValueFactory().setValue(parsed.getHour());
-                        }
-                        if (minuteSpinner != null) {
-                            minuteSpinner.getValueFactory().setValue(parsed.getMinute());
-                        }
-                        
-                        // Auto-extract task description if natural language contains task info
-                        String extractedDescription = NaturalLanguageDateParser.extractTaskDescription(newText);
-                        if (!extractedDescription.isEmpty() && shortDescriptionField != null && shortDescriptionField.getText().trim().isEmpty()) {
-                            shortDescriptionField.setText(extractedDescription);
-                        }
-                    } catch (Exception e) {
-                        // Ignore parsing errors - user might still be typing
-                    }
-                }
-            });
+            parseDebounce = new PauseTransition(PARSE_DEBOUNCE);
+            parseDebounce.setOnFinished(event -> applyNaturalLanguage(naturalDateField.getText()));
+            naturalDateField.textProperty().addListener((obs, oldText, newText) -> parseDebounce.playFromStart());
         }
         
         // Update points when priority changes
@@ -98,6 +85,32 @@ public class DialogController {
         updatePointsDisplay();
     }
     
+    /**
+     * Fill the deadline and, if still empty, the description from the natural language field
+     */
+    private void applyNaturalLanguage(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return;
+        }
+        NaturalLanguageDateParser.ParseResult result = NaturalLanguageDateParser.parse(text);
+        LocalDateTime parsed = result.dateTime();
+        if (deadlinePicker != null) {
+            deadlinePicker.setValue(parsed.toLocalDate());
+        }
+        if (hourSpinner != null) {
+            hourSpinner.getValueFactory().setValue(parsed.getHour());
+        }
+        if (minuteSpinner != null) {
+            minuteSpinner.getValueFactory().setValue(parsed.getMinute());
+        }
+        
+        // Auto-extract task description if natural language contains task info
+        String extractedDescription = result.description();
+        if (!extractedDescription.isEmpty() && shortDescriptionField != null && shortDescriptionField.getText().trim().isEmpty()) {
+            shortDescriptionField.setText(extractedDescription);
+        }
+    }
+    
     /**
      * Set item for editing
      */
@@ -148,7 +161,7 @@ public class DialogController {
         boolean completed = completedCheckBox.isSelected();
         
         ToDoItem item;
-        DatabaseService databaseService = DatabaseService.getInstance();
+        TaskStore taskStore = TaskStore.current();
         
         if (editingItem != null) {
             // Update existing item
@@ -163,14 +176,14 @@ public class DialogController {
             item.setCompleted(completed);
             
             // Save the updated item
-            databaseService.saveTodoItem(item);
+            taskStore.saveTodoItem(item);
         } else {
             // Create new item
             item = new ToDoItem(shortDescription, details, deadline, category, priority);
             item.setCompleted(completed);
             
             // Save the new item
-            databaseService.saveTodoItem(item);
+            taskStore.saveTodoItem(item);
         }
         
         return item;
@@ -214,18 +227,22 @@ public class DialogController {
     private void parseNaturalLanguage() {
         String input = naturalDateField.getText();
         if (input != null && !input.trim().isEmpty()) {
-            try {
-                LocalDateTime parsed = NaturalLanguageDateParser.parseDateTime(input);
-                deadlinePicker.setValue(parsed.toLocalDate());
-                hourSpinner.getValueFactory().setValue(parsed.getHour());
-                minuteSpinner.getValueFactory().setValue(parsed.getMinute());
-                
-                // Show success message
-                showInfo("Parsed Successfully", 
-                    "Deadline set to: " + parsed.format(java.time.format.DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm")));
-            } catch (Exception e) {
+            if (parseDebounce != null) {
+                parseDebounce.stop();
+            }
+            NaturalLanguageDateParser.ParseResult result = NaturalLanguageDateParser.parse(input);
+            if (!result.recognized()) {
                 showAlert("Parse Error", "Could not understand the date/time. Please try a different format.");
+                return;
             }
+            LocalDateTime parsed = result.dateTime();
+            deadlinePicker.setValue(parsed.toLocalDate());
+            hourSpinner.getValueFactory().setValue(parsed.getHour());
+            minuteSpinner.getValueFactory().setValue(parsed.getMinute());
+            
+            // Show success message
+            showInfo("Parsed Successfully", 
+                "Deadline set to: " + parsed.format(PARSED_DEADLINE_FORMATTER));
         }
     }
     
@@ -1,22 +1,44 @@
 package com.swaraj.todolist;
 
+import com.swaraj.todolist.services.AchievementService;
+import com.swaraj.todolist.services.BackupService;
 import com.swaraj.todolist.services.DatabaseService;
 import com.swaraj.todolist.services.ConfigurationService;
+import com.swaraj.todolist.services.LocalTaskStore;
 import com.swaraj.todolist.services.NotificationService;
+import com.swaraj.todolist.services.PointsLedger;
+import com.swaraj.todolist.services.SyncEngine;
+import com.swaraj.todolist.services.TaskSnapshotCache;
+import com.swaraj.todolist.utils.NotificationCenter;
+import com.swaraj.todolist.utils.ServiceRegistry;
+import com.swaraj.todolist.utils.SingleInstance;
 import com.swaraj.todolist.utils.ThemeManager;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 public class Main extends Application {
+    // Start-up benchmark and CDS training runs exit as soon as the first frame is laid out
+    private static final boolean EXIT_AFTER_FIRST_FRAME = Boolean.getBoolean("todolist.exitAfterFirstFrame");
+    private static final boolean PRINT_SERVICE_TIMINGS = Boolean.getBoolean("todolist.printServiceTimings");
+    private static final String QUICK_ADD = "--add";
     
-    private DatabaseService databaseService;
+    // Set by main before JavaFX starts
+    private static SingleInstance singleInstance;
+    
+    private ServiceRegistry registry;
     private ConfigurationService configService;
-    private NotificationService notificationService;
-    private ThemeManager themeManager;
     
     @Override
     public void start(Stage stage) throws IOException {
@@ -30,6 +52,9 @@ public class Main extends Application {
         // Apply stylesheet
         scene.getStylesheets().add(getClass().getResource("styles.css").toExternalForm());
         
+        // Attach the in-window notification center before theming the final root
+        NotificationCenter.getInstance().install(scene);
+        
         // Apply saved theme
         ThemeManager.applyTheme(scene);
         
@@ -47,54 +72,190 @@ public class Main extends Application {
         });
         
         stage.show();
+        reportFirstFrame(scene);
+        
+        // Later launches are handed to this window, including any held while it loaded
+        if (singleInstance != null) {
+            Controller controller = fxmlLoader.getController();
+            singleInstance.setHandler(arguments -> Platform.runLater(() -> handleLaunch(arguments, stage, controller)));
+        }
+        
+        // Background services are not needed for the first frame
+        Platform.runLater(this::startDeferredServices);
     }
     
     private void initializeServices() {
+        registry = new ServiceRegistry()
+            .register(ConfigurationService.class, ServiceRegistry.Phase.CRITICAL,
+                ConfigurationService::getInstance, ConfigurationService::shutdown)
+            .register(ThemeManager.class, ServiceRegistry.Phase.CRITICAL,
+                ThemeManager::getInstance, null);
+        registry.start(ServiceRegistry.Phase.CRITICAL);
         try {
-            // Initialize database
-            databaseService = DatabaseService.getInstance();
-            
-            // Initialize configuration
-            configService = ConfigurationService.getInstance();
-            
-            // Initialize theme manager
-            themeManager = ThemeManager.getInstance();
-            
-            // Initialize notification service
-            notificationService = NotificationService.getInstance();
-            notificationService.startNotificationChecker();
-            
+            configService = registry.get(ConfigurationService.class);
         } catch (Exception e) {
             System.err.println("Error initializing services: " + e.getMessage());
             e.printStackTrace();
+            configService = ConfigurationService.getInstance();
+        }
+        
+        // The configuration decides where tasks live
+        if (configService.isLocalFirst()) {
+            registry
+                .register(LocalTaskStore.class, ServiceRegistry.Phase.CRITICAL,
+                    LocalTaskStore::getInstance, LocalTaskStore::shutdown)
+                .register(SyncEngine.class, ServiceRegistry.Phase.DEFERRED, () -> {
+                    SyncEngine syncEngine = SyncEngine.getInstance();
+                    syncEngine.start();
+                    return syncEngine;
+                }, SyncEngine::shutdown, LocalTaskStore.class, ConfigurationService.class)
+                // Ready once the sync engine reaches the server, however long that takes;
+                // the services below keep their own state in MySQL and wait for it
+                .registerAsync(DatabaseService.class, ServiceRegistry.Phase.DEFERRED,
+                    () -> registry.get(SyncEngine.class).databaseReady(), DatabaseService::close, SyncEngine.class);
+        } else {
+            registry
+                .register(DatabaseService.class, ServiceRegistry.Phase.CRITICAL,
+                    DatabaseService::getInstance, DatabaseService::close)
+                .register(TaskSnapshotCache.class, ServiceRegistry.Phase.DEFERRED, () -> {
+                    // Keep the start-up snapshot of the task list current
+                    TaskSnapshotCache snapshotCache = TaskSnapshotCache.getInstance();
+                    snapshotCache.start();
+                    return snapshotCache;
+                }, TaskSnapshotCache::shutdown, DatabaseService.class);
+        }
+        
+        registry
+            .register(NotificationService.class, ServiceRegistry.Phase.DEFERRED, () -> {
+                NotificationService notificationService = NotificationService.getInstance();
+                notificationService.startNotificationChecker();
+                return notificationService;
+            }, NotificationService::shutdown, DatabaseService.class, ConfigurationService.class)
+            .register(BackupService.class, ServiceRegistry.Phase.DEFERRED, () -> {
+                // Start periodic incremental backups
+                BackupService backupService = BackupService.getInstance();
+                backupService.start();
+                return backupService;
+            }, BackupService::shutdown, DatabaseService.class, ConfigurationService.class)
+            .register(PointsLedger.class, ServiceRegistry.Phase.DEFERRED,
+                PointsLedger::getInstance, null, DatabaseService.class, ConfigurationService.class)
+            .register(AchievementService.class, ServiceRegistry.Phase.DEFERRED,
+                AchievementService::getInstance, null, DatabaseService.class);
+        
+        // Task storage comes up in parallel with the FXML load below; the controller paints
+        // from the task snapshot or the local replica and only waits for the database without either
+        registry.start(ServiceRegistry.Phase.CRITICAL);
+    }
+    
+    /**
+     * Log the time from process start to the first laid-out frame, which the start-up
+     * benchmark reads
+     */
+    private void reportFirstFrame(Scene scene) {
+        AtomicBoolean reported = new AtomicBoolean();
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                if (!reported.compareAndSet(false, true)) {
+                    return;
+                }
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                ProcessHandle.current().info().startInstant().ifPresent(start -> System.out.println(
+                    "First frame after " + Duration.between(start, Instant.now()).toMillis() + " ms"));
+                if (EXIT_AFTER_FIRST_FRAME) {
+                    printPeakMemory();
+                    Platform.exit();
+                }
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+    }
+    
+    /**
+     * Peak resident set size, where the platform reports it
+     */
+    private static void printPeakMemory() {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return;
+        }
+        try (Stream<String> lines = Files.lines(status)) {
+            lines.filter(line -> line.startsWith("VmHWM:"))
+                .findFirst()
+                .ifPresent(line -> System.out.println("Peak RSS: " + line.substring(6).trim()));
+        } catch (IOException e) {
+            System.err.println("Error reading memory usage: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Act on the arguments of a launch: a plain launch brings the window forward, a
+     * quick add adds the task without taking focus
+     */
+    private void handleLaunch(List<String> arguments, Stage stage, Controller controller) {
+        if (arguments.isEmpty()) {
+            stage.setIconified(false);
+            stage.show();
+            stage.toFront();
+            stage.requestFocus();
+        } else {
+            controller.quickAdd(String.join(" ", arguments.subList(1, arguments.size())));
         }
     }
     
+    private void startDeferredServices() {
+        registry.start(ServiceRegistry.Phase.DEFERRED).whenComplete((ignored, error) -> {
+            if (error != null) {
+                System.err.println("Error starting background services: " + error.getMessage());
+            }
+            if (PRINT_SERVICE_TIMINGS) {
+                registry.printTimings();
+            }
+        });
+    }
+    
     private void shutdown() {
         try {
-            // Stop notification service
-            if (notificationService != null) {
-                notificationService.shutdown();
-            }
-            
-            // Save configuration
-            if (configService != null) {
-                configService.saveConfiguration();
+            // Launches from here on start a new instance instead of reaching this one
+            if (singleInstance != null) {
+                singleInstance.close();
             }
             
-            // Close database connection
-            if (databaseService != null) {
-                databaseService.close();
+            // Stops the started services, each before the services it depends on
+            if (registry != null) {
+                registry.shutdown();
             }
-            
         } catch (Exception e) {
             System.err.println("Error during shutdown: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Start the application, or hand the arguments to the instance already running in this
+     * directory and exit. {@code --add <text>} adds a task, with the deadline read from the
+     * text as in the new task dialog; blank text is a usage error.
+     */
     public static void main(String[] args) {
-        launch();
+        List<String> arguments = List.of(args);
+        boolean quickAdd = arguments.size() > 1 && arguments.get(0).equals(QUICK_ADD)
+            && !String.join(" ", arguments.subList(1, arguments.size())).isBlank();
+        if (!arguments.isEmpty() && !quickAdd) {
+            System.err.println("Usage: todolist [" + QUICK_ADD + " <task text>]");
+            System.exit(2);
+        }
+        
+        // Benchmark runs measure a full start-up and never hand off
+        if (!EXIT_AFTER_FIRST_FRAME) {
+            singleInstance = SingleInstance.claim(arguments);
+            if (singleInstance == null) {
+                System.exit(0);
+            }
+            if (quickAdd) {
+                singleInstance.submit(arguments);
+            }
+        }
+        launch(args);
     }
 
     @Override
@@ -0,0 +1,44 @@
+package com.swaraj.todolist.dataModel;
+
+/**
+ * Achievements unlocked when a progress metric reaches a threshold
+ */
+public enum Achievement {
+    FIRST_STEP("First Step", "Complete your first task", Metric.COMPLETED, 1),
+    CENTURION("Centurion", "Complete 100 tasks", Metric.COMPLETED, 100),
+    PUNCTUAL("Punctual", "Complete 25 tasks before their deadline", Metric.ON_TIME, 25),
+    FIREFIGHTER("Firefighter", "Complete 10 urgent tasks on time", Metric.URGENT_ON_TIME, 10),
+    ON_A_ROLL("On a Roll", "Complete a task 7 days in a row", Metric.STREAK, 7),
+    UNSTOPPABLE("Unstoppable", "Complete a task 30 days in a row", Metric.STREAK, 30);
+
+    /**
+     * Progress tracked from completion events
+     */
+    public enum Metric {
+        // Tasks completed
+        COMPLETED,
+        // Tasks completed no later than their deadline
+        ON_TIME,
+        // Urgent tasks completed no later than their deadline
+        URGENT_ON_TIME,
+        // Consecutive days with at least one completion
+        STREAK
+    }
+
+    private final String title;
+    private final String description;
+    private final Metric metric;
+    private final long threshold;
+
+    Achievement(String title, String description, Metric metric, long threshold) {
+        this.title = title;
+        this.description = description;
+        this.metric = metric;
+        this.threshold = threshold;
+    }
+
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public Metric getMetric() { return metric; }
+    public long getThreshold() { return threshold; }
+}
@@ -0,0 +1,65 @@
+package com.swaraj.todolist.dataModel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Remembers which deadline notification was last shown for a task, so reminders
+ * are not repeated on every timer tick or after a restart
+ */
+public class NotificationState {
+
+    public enum Kind {
+        DUE_SOON,
+        OVERDUE
+    }
+
+    private final long taskId;
+    private LocalDateTime deadline;
+    private Kind lastKind;
+    private LocalDateTime lastNotified;
+    private LocalDateTime snoozedUntil;
+    private int repeatCount;
+
+    public NotificationState(long taskId, LocalDateTime deadline) {
+        this.taskId = taskId;
+        this.deadline = deadline;
+    }
+
+    public long getTaskId() { return taskId; }
+
+    public LocalDateTime getDeadline() { return deadline; }
+    public void setDeadline(LocalDateTime deadline) { this.deadline = deadline; }
+
+    public Kind getLastKind() { return lastKind; }
+    public void setLastKind(Kind lastKind) { this.lastKind = lastKind; }
+
+    public LocalDateTime getLastNotified() { return lastNotified; }
+    public void setLastNotified(LocalDateTime lastNotified) { this.lastNotified = lastNotified; }
+
+    public LocalDateTime getSnoozedUntil() { return snoozedUntil; }
+    public void setSnoozedUntil(LocalDateTime snoozedUntil) { this.snoozedUntil = snoozedUntil; }
+
+    public int getRepeatCount() { return repeatCount; }
+    public void setRepeatCount(int repeatCount) { this.repeatCount = repeatCount; }
+
+    /**
+     * Record that a notification of the given kind was shown now
+     */
+    public void recordNotified(Kind kind, LocalDateTime now) {
+        repeatCount = kind == lastKind ? repeatCount + 1 : 0;
+        lastKind = kind;
+        lastNotified = now;
+        snoozedUntil = null;
+    }
+
+    /**
+     * Forget past notifications, e.g. after the deadline was moved
+     */
+    public void reset(LocalDateTime newDeadline) {
+        deadline = newDeadline;
+        lastKind = null;
+        lastNotified = null;
+        snoozedUntil = null;
+        repeatCount = 0;
+    }
+}
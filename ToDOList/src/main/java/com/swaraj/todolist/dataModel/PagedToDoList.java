@@ -0,0 +1,278 @@
+package com.swaraj.todolist.dataModel;
+
+import com.swaraj.todolist.services.DatabaseService;
+import com.swaraj.todolist.utils.FxDispatcher;
+import javafx.collections.ObservableListBase;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-only ObservableList that pages tasks in from the database on demand.
+ * Rows are ordered by deadline then id and fetched with keyset pagination; only a
+ * bounded number of pages is kept in memory, evicting the least recently used.
+ * Pages are only ever loaded on a background thread: a row whose page is not cached
+ * reads as null until the page arrives, and the rows are then reported as replaced.
+ * The list is counted on the same thread, so it starts empty and its rows are reported
+ * as added once the count arrives.
+ */
+public final class PagedToDoList extends ObservableListBase<ToDoItem> {
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int DEFAULT_MAX_CACHED_PAGES = 16;
+    // Above this many tasks the list is paged from the database instead of fully loaded
+    public static final int PAGED_VIEW_THRESHOLD = 5000;
+    // Cursors remembered for pages no longer cached; a forgotten one costs an offset query
+    private static final int MAX_START_KEYS = 1024;
+
+    private final DatabaseService databaseService;
+    private final int pageSize;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    private final Map<Integer, List<ToDoItem>> pageCache;
+    // Keyset cursor that precedes each known page (the key of the previous page's last row)
+    private final Map<Integer, DatabaseService.TaskPageKey> pageStartKeys =
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, DatabaseService.TaskPageKey> eldest) {
+                return size() > MAX_START_KEYS;
+            }
+        };
+    private final Set<Integer> pagesInFlight = new HashSet<>();
+    private final ExecutorService prefetchExecutor;
+
+    // Read on the FX thread; published there once counted
+    private int size;
+    // The same count as seen by the prefetch thread, which takes it
+    private volatile int counted;
+    private int lastRequestedPage = -1;
+    private volatile boolean disposed;
+
+    public PagedToDoList(DatabaseService databaseService) {
+        this(databaseService, null, null, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    /**
+     * Create a paged view restricted to deadlines in [from, to); either bound may be null
+     */
+    public PagedToDoList(DatabaseService databaseService, LocalDateTime from, LocalDateTime to,
+                         int pageSize, int maxCachedPages) {
+        this.databaseService = databaseService;
+        this.from = from;
+        this.to = to;
+        this.pageSize = pageSize;
+        this.pageCache = new LinkedHashMap<>(maxCachedPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<ToDoItem>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+        this.prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-page-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prefetchExecutor.execute(this::count);
+    }
+
+    @Override
+    public ToDoItem get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int page = index / pageSize;
+        List<ToDoItem> items;
+        synchronized (pageCache) {
+            items = pageCache.get(page);
+        }
+        if (items == null) {
+            requestPage(page);
+            return null;
+        }
+        prefetchAround(page);
+
+        int offset = index % pageSize;
+        // The table may have shrunk since the count was taken
+        return offset < items.size() ? items.get(offset) : null;
+    }
+
+    /**
+     * Position among the cached pages only; use {@link #locate} for rows not loaded yet
+     */
+    @Override
+    public int indexOf(Object item) {
+        synchronized (pageCache) {
+            for (Map.Entry<Integer, List<ToDoItem>> entry : pageCache.entrySet()) {
+                int offset = entry.getValue().indexOf(item);
+                if (offset >= 0) {
+                    return entry.getKey() * pageSize + offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the position of a task with one counting query and load its page, both on the
+     * background thread, so that selecting the position afterwards does not wait
+     *
+     * @return the position, or -1 when the task is outside this view
+     */
+    public CompletableFuture<Integer> locate(ToDoItem item) {
+        return CompletableFuture.supplyAsync(() -> {
+            int index = databaseService.countTasksBefore(
+                new DatabaseService.TaskPageKey(item.getDeadline(), item.getId()), from, to);
+            boolean inRange = (from == null || (item.getDeadline() != null && !item.getDeadline().isBefore(from)))
+                && (to == null || (item.getDeadline() != null && item.getDeadline().isBefore(to)));
+            if (!inRange || index >= counted) {
+                return -1;
+            }
+            int page = index / pageSize;
+            boolean cached;
+            synchronized (pageCache) {
+                cached = pageCache.containsKey(page);
+            }
+            if (!cached) {
+                loadPage(page);
+                FxDispatcher.getInstance().dispatch(() -> firePageLoaded(page));
+            }
+            return index;
+        }, prefetchExecutor);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stop the background prefetch thread
+     */
+    public void dispose() {
+        disposed = true;
+        prefetchExecutor.shutdownNow();
+    }
+
+    private void count() {
+        try {
+            int count = databaseService.countTasks(from, to);
+            counted = count;
+            FxDispatcher.getInstance().dispatch(() -> publishSize(count));
+        } catch (RuntimeException e) {
+            System.err.println("Error counting tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Report the counted rows as added; each reads as null until its page arrives
+     */
+    private void publishSize(int count) {
+        if (disposed || count == 0) {
+            return;
+        }
+        beginChange();
+        size = count;
+        nextAdd(0, count);
+        endChange();
+    }
+
+    private List<ToDoItem> loadPage(int page) {
+        DatabaseService.TaskPageKey startKey = null;
+        boolean knownStart;
+        synchronized (pageCache) {
+            knownStart = page == 0 || pageStartKeys.containsKey(page);
+            if (knownStart) {
+                startKey = pageStartKeys.get(page);
+            }
+        }
+        if (!knownStart) {
+            // Jumped past any visited page: locate the cursor once, then keyset from there
+            startKey = databaseService.findTaskPageKey((long) page * pageSize - 1, from, to);
+        }
+
+        List<ToDoItem> items = databaseService.loadTaskPage(startKey, pageSize, from, to);
+
+        synchronized (pageCache) {
+            if (startKey != null) {
+                pageStartKeys.put(page, startKey);
+            }
+            if (!items.isEmpty()) {
+                ToDoItem last = items.get(items.size() - 1);
+                pageStartKeys.put(page + 1, new DatabaseService.TaskPageKey(last.getDeadline(), last.getId()));
+            }
+            pageCache.put(page, items);
+        }
+        return items;
+    }
+
+    /**
+     * Warm the page the user is scrolling towards on the prefetch thread
+     */
+    private void prefetchAround(int page) {
+        if (page == lastRequestedPage) {
+            return;
+        }
+        int direction = page >= lastRequestedPage ? 1 : -1;
+        lastRequestedPage = page;
+
+        int target = page + direction;
+        if (target < 0 || (long) target * pageSize >= size) {
+            return;
+        }
+        requestPage(target);
+    }
+
+    /**
+     * Load a page on the prefetch thread unless it is cached or already on its way, then
+     * tell the list's observers its rows changed
+     */
+    private void requestPage(int page) {
+        synchronized (pageCache) {
+            if (disposed || pageCache.containsKey(page) || !pagesInFlight.add(page)) {
+                return;
+            }
+        }
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    loadPage(page);
+                    FxDispatcher.getInstance().dispatch(() -> firePageLoaded(page));
+                } catch (RuntimeException e) {
+                    System.err.println("Error loading task page: " + e.getMessage());
+                } finally {
+                    synchronized (pageCache) {
+                        pagesInFlight.remove(page);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Disposed while the request was made
+            synchronized (pageCache) {
+                pagesInFlight.remove(page);
+            }
+        }
+    }
+
+    /**
+     * Report the rows of a newly loaded page as replaced, so visible cells redraw them
+     */
+    private void firePageLoaded(int page) {
+        int start = page * pageSize;
+        int end = Math.min(size, start + pageSize);
+        if (disposed || start >= end) {
+            return;
+        }
+        beginChange();
+        for (int index = start; index < end; index++) {
+            nextSet(index, null);
+        }
+        endChange();
+    }
+}
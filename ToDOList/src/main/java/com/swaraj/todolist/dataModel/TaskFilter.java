@@ -0,0 +1,36 @@
+package com.swaraj.todolist.dataModel;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Criteria for selecting tasks, evaluated by the database.
+ * Empty category and priority sets, null bounds and blank text match everything;
+ * the date range is half-open, [from, to), on the chosen date field.
+ */
+public record TaskFilter(Set<ToDoItem.Category> categories, Set<ToDoItem.Priority> priorities, Status status,
+                         DateField dateField, LocalDateTime from, LocalDateTime to, String text) {
+
+    public enum Status {
+        ANY,
+        OPEN,
+        COMPLETED,
+        OVERDUE
+    }
+
+    public enum DateField {
+        DEADLINE,
+        CREATED,
+        COMPLETED
+    }
+
+    public static final TaskFilter ALL = new TaskFilter(Set.of(), Set.of(), Status.ANY, DateField.DEADLINE, null, null, null);
+
+    public TaskFilter {
+        categories = categories != null ? Set.copyOf(categories) : Set.of();
+        priorities = priorities != null ? Set.copyOf(priorities) : Set.of();
+        status = status != null ? status : Status.ANY;
+        dateField = dateField != null ? dateField : DateField.DEADLINE;
+        text = text != null && !text.isBlank() ? text.strip() : null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.swaraj.todolist.dataModel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Plain immutable copy of a task's persisted fields.
+ * Used where tasks are streamed in bulk (export, import) and the JavaFX
+ * properties carried by {@link ToDoItem} would only be overhead.
+ */
+public record TaskRecord(long id, String shortDescription, String details, LocalDateTime deadline,
+                         ToDoItem.Category category, ToDoItem.Priority priority, boolean completed,
+                         LocalDateTime createdDate, LocalDateTime completedDate, int points) {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Snapshot the persisted fields of a task
+     */
+    public static TaskRecord of(ToDoItem item) {
+        return new TaskRecord(item.getId(), item.getShortDescription(), item.getDetails(), item.getDeadline(),
+            item.getCategory(), item.getPriority(), item.isCompleted(), item.getCreatedDate(),
+            item.getCompletedDate(), item.getPoints());
+    }
+
+    /**
+     * Copy of this task with another id
+     */
+    public TaskRecord withId(long newId) {
+        return new TaskRecord(newId, shortDescription, details, deadline, category, priority,
+            completed, createdDate, completedDate, points);
+    }
+
+    /**
+     * Stable 64-bit hash of what makes two tasks "the same task": short description and deadline.
+     * Imports use it to find the stored copy of an incoming task.
+     */
+    public long identityHash() {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, shortDescription);
+        hash = mix(hash, storedSeconds(deadline));
+        return finish(hash);
+    }
+
+    /**
+     * Stable 64-bit hash of the user-editable content: the identity plus details, category,
+     * priority and completion. Creation and completion times and points are left out because
+     * imports fill them with the current time or derive them when a file does not carry them.
+     */
+    public long contentHash() {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, shortDescription);
+        hash = mix(hash, storedSeconds(deadline));
+        hash = mix(hash, details);
+        hash = mix(hash, category != null ? category.name() : null);
+        hash = mix(hash, priority != null ? priority.name() : null);
+        hash = mix(hash, completed ? 1 : 0);
+        return finish(hash);
+    }
+
+    // FNV-1a over the UTF-16 chars, with the length first so adjacent fields cannot run together
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // Final avalanche step (MurmurHash3 fmix64) so nearby inputs spread over the whole range
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    // DATETIME columns keep whole seconds and MySQL rounds the fraction, so hash the value as stored
+    private static long storedSeconds(LocalDateTime time) {
+        if (time == null) {
+            return Long.MIN_VALUE;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) + (time.getNano() >= 500_000_000 ? 1 : 0);
+    }
+
+    /**
+     * Build a task carrying these values
+     */
+    public ToDoItem toToDoItem() {
+        ToDoItem item = new ToDoItem(shortDescription, details, deadline,
+            category != null ? category : ToDoItem.Category.OTHER,
+            priority != null ? priority : ToDoItem.Priority.MEDIUM);
+        item.setId(id);
+        item.setCompleted(completed);
+        if (createdDate != null) {
+            item.setCreatedDate(createdDate);
+        }
+        item.setCompletedDate(completedDate);
+        item.setPoints(points);
+        return item;
+    }
+}
@@ -1,7 +1,10 @@
 package com.swaraj.todolist.dataModel;
 
+import com.swaraj.todolist.services.BackupService;
+import com.swaraj.todolist.services.CompletionRewards;
 import com.swaraj.todolist.services.DatabaseService;
-import com.swaraj.todolist.services.ExportImportService;
+import com.swaraj.todolist.services.NotificationService;
+import com.swaraj.todolist.services.TaskStore;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -9,7 +12,10 @@ import javafx.collections.transformation.SortedList;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 import java.util.function.Predicate;
 
 /**
@@ -20,7 +26,7 @@ public class ToDoData {
     private ObservableList<ToDoItem> toDoItems;
     private FilteredList<ToDoItem> filteredItems;
     private SortedList<ToDoItem> sortedItems;
-    private DatabaseService databaseService;
+    private TaskStore taskStore;
     
     // Filter predicates
     private Predicate<ToDoItem> showAllItems = item -> true;
@@ -33,7 +39,7 @@ public class ToDoData {
     private Predicate<ToDoItem> showPendingItems = item -> !item.isCompleted();
     
     private ToDoData() {
-        databaseService = DatabaseService.getInstance();
+        taskStore = TaskStore.current();
         toDoItems = FXCollections.observableArrayList(
             // Add listeners for automatic property changes
             item -> new javafx.beans.Observable[] {
@@ -81,14 +87,14 @@ public class ToDoData {
      */
     public void addToDoItem(ToDoItem item) {
         toDoItems.add(item);
-        databaseService.saveTodoItem(item);
+        taskStore.saveTodoItem(item);
     }
     
     /**
      * Update an existing todo item
      */
     public void updateToDoItem(ToDoItem item) {
-        databaseService.saveTodoItem(item);
+        taskStore.saveTodoItem(item);
     }
     
     /**
@@ -96,7 +102,7 @@ public class ToDoData {
      */
     public void deleteToDoItem(ToDoItem item) {
         toDoItems.remove(item);
-        databaseService.deleteTodoItem(item.getId());
+        taskStore.deleteTodoItem(item.getId());
     }
     
     /**
@@ -104,7 +110,7 @@ public class ToDoData {
      */
     public void loadToDoItems() throws IOException {
         try {
-            ObservableList<ToDoItem> loadedItems = databaseService.loadTodoItems();
+            ObservableList<ToDoItem> loadedItems = taskStore.loadTodoItems();
             toDoItems.clear();
             toDoItems.addAll(loadedItems);
         } catch (Exception e) {
@@ -119,7 +125,7 @@ public class ToDoData {
         try {
             // Items are automatically saved when added/updated, but we can force save all
             for (ToDoItem item : toDoItems) {
-                databaseService.saveTodoItem(item);
+                taskStore.saveTodoItem(item);
             }
         } catch (Exception e) {
             throw new IOException("Failed to store todo items to database", e);
@@ -233,37 +239,46 @@ public class ToDoData {
      * Get statistics
      */
     public DatabaseService.TaskStatistics getStatistics() {
-        return databaseService.getTaskStatistics();
+        return DatabaseService.getInstance().getTaskStatistics();
     }
     
     /**
-     * Create backup
+     * Create backup in the background; only changes since the last backup are written
      */
     public void createBackup() {
-        ExportImportService.getInstance().createBackup(toDoItems);
+        BackupService.getInstance().backupNow();
     }
     
     /**
-     * Mark task as completed and award points
+     * Mark task as completed and queue its points award
      */
     public void completeTask(ToDoItem item) {
         if (!item.isCompleted()) {
             item.setCompleted(true);
             updateToDoItem(item);
             
-            // Award points through configuration service
-            com.swaraj.todolist.services.ConfigurationService config = 
-                com.swaraj.todolist.services.ConfigurationService.getInstance();
-            boolean leveledUp = config.addXP(item.getPoints());
-            
-            // Show notifications
-            com.swaraj.todolist.services.NotificationService notificationService = 
-                com.swaraj.todolist.services.NotificationService.getInstance();
-            notificationService.showTaskCompletedNotification(item);
-            
-            if (leveledUp) {
-                notificationService.showLevelUpNotification(config.getPlayerLevel());
+            // Shown straight away; points and achievements follow once the database is reachable
+            NotificationService.getInstance().showTaskCompletedNotification(item);
+            CompletionRewards.getInstance().award(List.of(item));
+        }
+    }
+    
+    /**
+     * Mark several tasks as completed and queue their points as one ledger entry
+     */
+    public void completeTasks(Collection<ToDoItem> items) {
+        List<ToDoItem> completed = new ArrayList<>();
+        for (ToDoItem item : items) {
+            if (!item.isCompleted()) {
+                item.setCompleted(true);
+                updateToDoItem(item);
+                completed.add(item);
             }
         }
+        if (completed.isEmpty()) {
+            return;
+        }
+        
+        CompletionRewards.getInstance().award(completed);
     }
 }
@@ -65,6 +65,7 @@ public class ToDoItem {
     private ObjectProperty<LocalDateTime> completedDate;
     private IntegerProperty points;
     private LongProperty id;
+    private ToDoItemRenderModel renderModel;
     
     // Default constructor for JSON deserialization
     public ToDoItem() {
@@ -161,6 +162,17 @@ public class ToDoItem {
     public long getId() { return id.get(); }
     public void setId(long id) { this.id.set(id); }
     
+    /**
+     * Get the cached presentation state used by list cells
+     */
+    @JsonIgnore
+    public ToDoItemRenderModel getRenderModel() {
+        if (renderModel == null) {
+            renderModel = new ToDoItemRenderModel(this);
+        }
+        return renderModel;
+    }
+    
     private void updatePoints() {
         this.points.set(calculatePoints());
     }
@@ -0,0 +1,117 @@
+package com.swaraj.todolist.dataModel;
+
+import javafx.beans.InvalidationListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Cached presentation state of a ToDoItem for list cells and the details pane.
+ * Values are recomputed only when a displayed field changes or the day rolls over,
+ * so rendering a recycled cell does not allocate.
+ */
+public class ToDoItemRenderModel {
+
+    /**
+     * Urgency bucket used to colour list cells
+     */
+    public enum Urgency {
+        DUE_TODAY_OR_OVERDUE,
+        DUE_TOMORROW,
+        NORMAL
+    }
+
+    public static final DateTimeFormatter LONG_DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy");
+
+    // Day-rollover clock shared by all render models (FX thread only)
+    private static long todayEpochDay;
+    private static long nextMidnightMillis;
+
+    private final ToDoItem item;
+    private boolean dirty = true;
+    private long computedForDay = Long.MIN_VALUE;
+
+    private String displayText;
+    private String formattedDeadline;
+    private long deadlineEpochDay;
+    private boolean hasDeadline;
+    private Urgency urgency = Urgency.NORMAL;
+
+    ToDoItemRenderModel(ToDoItem item) {
+        this.item = item;
+        InvalidationListener invalidate = observable -> dirty = true;
+        item.shortDescriptionProperty().addListener(invalidate);
+        item.deadlineProperty().addListener(invalidate);
+    }
+
+    /**
+     * Text shown in the list cell
+     */
+    public String getDisplayText() {
+        refresh();
+        return displayText;
+    }
+
+    /**
+     * Deadline formatted for the details pane, empty when there is no deadline
+     */
+    public String getFormattedDeadline() {
+        refresh();
+        return formattedDeadline;
+    }
+
+    /**
+     * Urgency bucket relative to the current day
+     */
+    public Urgency getUrgency() {
+        refresh();
+        return urgency;
+    }
+
+    private void refresh() {
+        if (dirty) {
+            String description = item.getShortDescription();
+            displayText = description != null ? description : "";
+
+            LocalDateTime deadline = item.getDeadline();
+            hasDeadline = deadline != null;
+            if (hasDeadline) {
+                deadlineEpochDay = deadline.toLocalDate().toEpochDay();
+                formattedDeadline = LONG_DATE_FORMATTER.format(deadline);
+            } else {
+                formattedDeadline = "";
+            }
+            dirty = false;
+            computedForDay = Long.MIN_VALUE;
+        }
+
+        long today = currentEpochDay();
+        if (computedForDay != today) {
+            if (!hasDeadline) {
+                urgency = Urgency.NORMAL;
+            } else if (deadlineEpochDay < today + 1) {
+                urgency = Urgency.DUE_TODAY_OR_OVERDUE;
+            } else if (deadlineEpochDay == today + 1) {
+                urgency = Urgency.DUE_TOMORROW;
+            } else {
+                urgency = Urgency.NORMAL;
+            }
+            computedForDay = today;
+        }
+    }
+
+    /**
+     * Current local day as an epoch day; only touches java.time once per day
+     */
+    static long currentEpochDay() {
+        long now = System.currentTimeMillis();
+        if (now >= nextMidnightMillis) {
+            LocalDate today = LocalDate.now();
+            todayEpochDay = today.toEpochDay();
+            nextMidnightMillis = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return todayEpochDay;
+    }
+}
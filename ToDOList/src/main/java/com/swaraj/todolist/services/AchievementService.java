@@ -0,0 +1,168 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.Achievement;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaks and achievements, evaluated incrementally from completion events.
+ * The whole state is one counter per metric, the longest streak, the day of the last
+ * completion and the unlock time of each achievement. A completion updates a few of
+ * these counters and checks the rules on the metrics it changed, so the cost does not
+ * depend on how much task history there is. Changed counters are written back in one
+ * transaction per batch of completions.
+ */
+public class AchievementService {
+    private static final String METRIC_PREFIX = "metric.";
+    private static final String ACHIEVEMENT_PREFIX = "achievement.";
+    private static final String LONGEST_STREAK = "streak.longest";
+    private static final String LAST_ACTIVE_DAY = "streak.last_day";
+    private static final long NO_DAY = Long.MIN_VALUE;
+
+    private static AchievementService instance;
+    private final DatabaseService databaseService;
+
+    private final long[] metrics = new long[Achievement.Metric.values().length];
+    private final Map<Achievement, LocalDateTime> unlocked = new EnumMap<>(Achievement.class);
+    private long longestStreak;
+    private long lastActiveDay = NO_DAY;
+
+    // Counters changed since the last save, by name
+    private final Map<String, DatabaseService.ProgressValue> changed = new LinkedHashMap<>();
+
+    private AchievementService() {
+        databaseService = DatabaseService.getInstance();
+        for (DatabaseService.ProgressValue value : databaseService.loadAchievementProgress()) {
+            load(value);
+        }
+    }
+
+    public static synchronized AchievementService getInstance() {
+        if (instance == null) {
+            instance = new AchievementService();
+        }
+        return instance;
+    }
+
+    /**
+     * Update the metrics with newly completed tasks and persist the changes
+     *
+     * @return achievements unlocked by these completions
+     */
+    public synchronized List<Achievement> recordCompletions(Collection<ToDoItem> items) {
+        List<Achievement> newlyUnlocked = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (ToDoItem item : items) {
+            LocalDateTime completedAt = item.getCompletedDate() != null ? item.getCompletedDate() : now;
+            boolean onTime = item.getDeadline() != null && !completedAt.isAfter(item.getDeadline());
+
+            increment(Achievement.Metric.COMPLETED, now, newlyUnlocked);
+            if (onTime) {
+                increment(Achievement.Metric.ON_TIME, now, newlyUnlocked);
+                if (item.getPriority() == ToDoItem.Priority.URGENT) {
+                    increment(Achievement.Metric.URGENT_ON_TIME, now, newlyUnlocked);
+                }
+            }
+            recordActiveDay(completedAt.toLocalDate().toEpochDay(), now, newlyUnlocked);
+        }
+
+        try {
+            databaseService.saveAchievementProgress(changed.values());
+            changed.clear();
+        } catch (RuntimeException e) {
+            // Kept in memory and retried with the next completion
+            System.err.println("Error saving achievement progress: " + e.getMessage());
+        }
+        return newlyUnlocked;
+    }
+
+    public synchronized long getMetric(Achievement.Metric metric) {
+        return metrics[metric.ordinal()];
+    }
+
+    /**
+     * Consecutive days with a completion, ending today or yesterday; 0 once a day is missed
+     */
+    public synchronized long getCurrentStreak() {
+        long today = LocalDate.now().toEpochDay();
+        return lastActiveDay != NO_DAY && today - lastActiveDay <= 1 ? metrics[Achievement.Metric.STREAK.ordinal()] : 0;
+    }
+
+    public synchronized long getLongestStreak() {
+        return longestStreak;
+    }
+
+    /**
+     * Unlocked achievements with the time each was unlocked
+     */
+    public synchronized Map<Achievement, LocalDateTime> getUnlocked() {
+        return Collections.unmodifiableMap(new EnumMap<>(unlocked));
+    }
+
+    private void recordActiveDay(long day, LocalDateTime now, List<Achievement> newlyUnlocked) {
+        // A second completion on the same day, or one dated before the last active day, changes nothing
+        if (lastActiveDay != NO_DAY && day <= lastActiveDay) {
+            return;
+        }
+        int streak = Achievement.Metric.STREAK.ordinal();
+        long length = lastActiveDay != NO_DAY && day == lastActiveDay + 1 ? metrics[streak] + 1 : 1;
+        lastActiveDay = day;
+        markChanged(LAST_ACTIVE_DAY, day, now);
+        metrics[streak] = length;
+        markChanged(METRIC_PREFIX + Achievement.Metric.STREAK.name(), length, now);
+        if (length > longestStreak) {
+            longestStreak = length;
+            markChanged(LONGEST_STREAK, length, now);
+        }
+        checkRules(Achievement.Metric.STREAK, now, newlyUnlocked);
+    }
+
+    private void increment(Achievement.Metric metric, LocalDateTime now, List<Achievement> newlyUnlocked) {
+        long value = ++metrics[metric.ordinal()];
+        markChanged(METRIC_PREFIX + metric.name(), value, now);
+        checkRules(metric, now, newlyUnlocked);
+    }
+
+    private void checkRules(Achievement.Metric metric, LocalDateTime now, List<Achievement> newlyUnlocked) {
+        long value = metrics[metric.ordinal()];
+        for (Achievement achievement : Achievement.values()) {
+            if (achievement.getMetric() == metric && value >= achievement.getThreshold()
+                    && !unlocked.containsKey(achievement)) {
+                unlocked.put(achievement, now);
+                markChanged(ACHIEVEMENT_PREFIX + achievement.name(), 1, now);
+                newlyUnlocked.add(achievement);
+            }
+        }
+    }
+
+    private void markChanged(String name, long value, LocalDateTime now) {
+        changed.put(name, new DatabaseService.ProgressValue(name, value, now));
+    }
+
+    private void load(DatabaseService.ProgressValue value) {
+        String name = value.name();
+        try {
+            if (name.equals(LONGEST_STREAK)) {
+                longestStreak = value.value();
+            } else if (name.equals(LAST_ACTIVE_DAY)) {
+                lastActiveDay = value.value();
+            } else if (name.startsWith(METRIC_PREFIX)) {
+                metrics[Achievement.Metric.valueOf(name.substring(METRIC_PREFIX.length())).ordinal()] = value.value();
+            } else if (name.startsWith(ACHIEVEMENT_PREFIX)) {
+                unlocked.put(Achievement.valueOf(name.substring(ACHIEVEMENT_PREFIX.length())), value.updatedAt());
+            }
+        } catch (IllegalArgumentException e) {
+            // Written by a version with rules this one does not have
+            System.err.println("Ignoring unknown achievement progress: " + name);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.swaraj.todolist.services;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the user configuration.
+ * Component names are the keys in config.json. Keys this version does not know are kept
+ * in {@code extras} so they survive a save. Changes are made with the {@code with...}
+ * methods and published through {@link ConfigurationService#update}.
+ */
+public record AppConfig(String theme, double windowWidth, double windowHeight, double windowX, double windowY,
+                        boolean notificationsEnabled, int notificationRepeatMinutes, int notificationMaxRepeats,
+                        int notificationSnoozeMinutes, String backupDirectory, int backupIntervalMinutes,
+                        int backupMaxDeltas, int backupRetainBases, boolean autoSave, String defaultCategory,
+                        String defaultPriority, int playerLevel, int playerXP, int totalPoints,
+                        boolean localFirst, int syncIntervalSeconds, @JsonIgnore Map<String, Object> extras) {
+
+    public static final AppConfig DEFAULTS = new AppConfig("light", 1000.0, 700.0, 100.0, 100.0,
+        true, 60, 3, 15, "backups", 60, 24, 3, true, "OTHER", "MEDIUM", 1, 0, 0, false, 30, Map.of());
+
+    public AppConfig {
+        theme = theme != null ? theme : "light";
+        backupDirectory = backupDirectory != null ? backupDirectory : "backups";
+        defaultCategory = defaultCategory != null ? defaultCategory : "OTHER";
+        defaultPriority = defaultPriority != null ? defaultPriority : "MEDIUM";
+        extras = extras != null ? Map.copyOf(extras) : Map.of();
+    }
+
+    public AppConfig withTheme(String newTheme) {
+        return new AppConfig(newTheme, windowWidth, windowHeight, windowX, windowY,
+            notificationsEnabled, notificationRepeatMinutes, notificationMaxRepeats,
+            notificationSnoozeMinutes, backupDirectory, backupIntervalMinutes,
+            backupMaxDeltas, backupRetainBases, autoSave, defaultCategory,
+            defaultPriority, playerLevel, playerXP, totalPoints, localFirst, syncIntervalSeconds, extras);
+    }
+
+    public AppConfig withWindowBounds(double x, double y, double width, double height) {
+        return new AppConfig(theme, width, height, x, y,
+            notificationsEnabled, notificationRepeatMinutes, notificationMaxRepeats,
+            notificationSnoozeMinutes, backupDirectory, backupIntervalMinutes,
+            backupMaxDeltas, backupRetainBases, autoSave, defaultCategory,
+            defaultPriority, playerLevel, playerXP, totalPoints, localFirst, syncIntervalSeconds, extras);
+    }
+
+    public AppConfig withNotificationsEnabled(boolean enabled) {
+        return new AppConfig(theme, windowWidth, windowHeight, windowX, windowY,
+            enabled, notificationRepeatMinutes, notificationMaxRepeats,
+            notificationSnoozeMinutes, backupDirectory, backupIntervalMinutes,
+            backupMaxDeltas, backupRetainBases, autoSave, defaultCategory,
+            defaultPriority, playerLevel, playerXP, totalPoints, localFirst, syncIntervalSeconds, extras);
+    }
+
+    public AppConfig withProgress(int level, int xp, int points) {
+        return new AppConfig(theme, windowWidth, windowHeight, windowX, windowY,
+            notificationsEnabled, notificationRepeatMinutes, notificationMaxRepeats,
+            notificationSnoozeMinutes, backupDirectory, backupIntervalMinutes,
+            backupMaxDeltas, backupRetainBases, autoSave, defaultCategory,
+            defaultPriority, level, xp, points, localFirst, syncIntervalSeconds, extras);
+    }
+
+    public AppConfig withExtras(Map<String, Object> newExtras) {
+        return new AppConfig(theme, windowWidth, windowHeight, windowX, windowY,
+            notificationsEnabled, notificationRepeatMinutes, notificationMaxRepeats,
+            notificationSnoozeMinutes, backupDirectory, backupIntervalMinutes,
+            backupMaxDeltas, backupRetainBases, autoSave, defaultCategory,
+            defaultPriority, playerLevel, playerXP, totalPoints, localFirst, syncIntervalSeconds, newExtras);
+    }
+
+    @JsonIgnore
+    public boolean isDarkMode() {
+        return "dark".equals(theme);
+    }
+}
@@ -0,0 +1,326 @@
+package com.swaraj.todolist.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.swaraj.todolist.dataModel.TaskRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incremental backups of the task table.
+ * A backup is either a full snapshot (base) or a delta holding only the tasks changed,
+ * and the ids deleted, since the previous backup according to the database change log.
+ * Backups are read from a consistent snapshot and written on a background thread in the
+ * compressed binary format; a manifest records the chain. A new base is taken once
+ * enough deltas pile up, and only the newest few bases with their deltas are kept.
+ */
+public class BackupService {
+    private static final String MANIFEST_FILE = "manifest.json";
+
+    public enum Kind {
+        BASE,
+        DELTA
+    }
+
+    /**
+     * One backup file. A delta covers changes in (fromSequence, toSequence].
+     */
+    public record BackupEntry(Kind kind, String file, long fromSequence, long toSequence,
+                              LocalDateTime createdAt, long taskCount, List<Long> deletedIds) {
+        @Override
+        public String toString() {
+            return createdAt.withNano(0) + " - " + (kind == Kind.BASE ? "full" : "incremental")
+                + " (" + taskCount + " tasks)";
+        }
+    }
+
+    private static BackupService instance;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ConfigurationService config;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private ScheduledFuture<?> periodicBackups;
+    private final Path directory;
+
+    // Confined to the backup thread
+    private List<BackupEntry> manifest;
+    private boolean forceBase;
+    // Published copy for readers on other threads
+    private volatile List<BackupEntry> backups = List.of();
+
+    private BackupService() {
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-backup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        config = ConfigurationService.getInstance();
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        directory = Paths.get(config.getBackupDirectory());
+    }
+
+    public static synchronized BackupService getInstance() {
+        if (instance == null) {
+            instance = new BackupService();
+        }
+        return instance;
+    }
+
+    /**
+     * Load the manifest and start periodic backups. Calling this more than once has no effect.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(this::loadManifest);
+        schedulePeriodicBackups(config.getBackupIntervalMinutes());
+        config.addListener(AppConfig::backupIntervalMinutes, (oldInterval, newInterval) -> schedulePeriodicBackups(newInterval));
+    }
+
+    /**
+     * Replace the periodic backup schedule; an interval of 0 or less disables it
+     */
+    private synchronized void schedulePeriodicBackups(int interval) {
+        if (periodicBackups != null) {
+            periodicBackups.cancel(false);
+            periodicBackups = null;
+        }
+        if (interval > 0 && !executor.isShutdown()) {
+            periodicBackups = executor.scheduleWithFixedDelay(() -> {
+                try {
+                    runBackup();
+                } catch (Exception e) {
+                    System.err.println("Scheduled backup failed: " + e.getMessage());
+                }
+            }, interval, interval, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Take a backup now on the backup thread.
+     * Completes with the new entry, or null when nothing changed since the last backup.
+     */
+    public CompletableFuture<BackupEntry> backupNow() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return runBackup();
+            } catch (IOException e) {
+                throw new RuntimeException("Backup failed: " + e.getMessage(), e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Backups on disk, oldest first
+     */
+    public List<BackupEntry> getBackups() {
+        return backups;
+    }
+
+    /**
+     * Replace all tasks with the state captured by the given backup. Its base and every
+     * delta up to it are streamed into a staging table, checking each block checksum and
+     * task count on the way; the live table is swapped only if the whole chain is intact.
+     * A fresh base is taken afterwards.
+     *
+     * @return number of tasks restored
+     */
+    public CompletableFuture<Long> restore(BackupEntry target) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<BackupEntry> chain = chain(target);
+                DatabaseService databaseService = DatabaseService.getInstance();
+                long restored = databaseService.restoreTasks(table -> {
+                    for (BackupEntry entry : chain) {
+                        replay(entry, table);
+                    }
+                });
+                databaseService.fireTasksImported();
+                // The change log does not describe a restore, so the next backup must be full
+                forceBase = true;
+                runBackup();
+                return restored;
+            } catch (IOException e) {
+                throw new RuntimeException("Restore failed: " + e.getMessage(), e);
+            }
+        }, executor);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private BackupEntry runBackup() throws IOException {
+        if (manifest == null) {
+            loadManifest();
+        }
+        Files.createDirectories(directory);
+
+        BackupEntry last = manifest.isEmpty() ? null : manifest.get(manifest.size() - 1);
+        boolean base = last == null || forceBase || shouldCompact();
+        long since = base ? -1 : last.toSequence();
+
+        Path temp = directory.resolve("backup-in-progress.tmp");
+        List<Long> deleted = new ArrayList<>();
+        long sequence;
+        long written;
+        try (TaskBinaryWriter writer = new TaskBinaryWriter(temp, true)) {
+            sequence = DatabaseService.getInstance().readBackupSnapshot(since, writer::write, deleted::add);
+            written = writer.getWritten();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        if (!base && written == 0 && deleted.isEmpty()) {
+            Files.deleteIfExists(temp);
+            return null;
+        }
+
+        String name = base ? "base-" + sequence + ".tdb" : "delta-" + since + "-" + sequence + ".tdb";
+        Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        BackupEntry entry = new BackupEntry(base ? Kind.BASE : Kind.DELTA, name, base ? 0 : since, sequence,
+            LocalDateTime.now(), written, List.copyOf(deleted));
+        manifest.add(entry);
+        applyRetention();
+        saveManifest();
+        forceBase = false;
+
+        // Changes up to this sequence are captured; older log entries are no longer needed
+        DatabaseService.getInstance().pruneTaskChanges(sequence);
+        return entry;
+    }
+
+    /**
+     * Take a new base once the current one has enough deltas or they outgrow half its size
+     */
+    private boolean shouldCompact() {
+        int deltas = 0;
+        long deltaTasks = 0;
+        for (int i = manifest.size() - 1; i >= 0; i--) {
+            BackupEntry entry = manifest.get(i);
+            if (entry.kind() == Kind.BASE) {
+                return deltas >= config.getBackupMaxDeltas() || deltaTasks > entry.taskCount() / 2;
+            }
+            deltas++;
+            deltaTasks += entry.taskCount() + entry.deletedIds().size();
+        }
+        return true;
+    }
+
+    /**
+     * Delete chains older than the newest configured number of bases
+     */
+    private void applyRetention() throws IOException {
+        int keepBases = Math.max(1, config.getBackupRetainBases());
+        int firstKept = 0;
+        int bases = 0;
+        for (int i = manifest.size() - 1; i >= 0; i--) {
+            if (manifest.get(i).kind() == Kind.BASE && ++bases == keepBases) {
+                firstKept = i;
+                break;
+            }
+        }
+        for (BackupEntry expired : manifest.subList(0, firstKept)) {
+            Files.deleteIfExists(directory.resolve(expired.file()));
+        }
+        manifest.subList(0, firstKept).clear();
+    }
+
+    /**
+     * The base a backup depends on followed by every delta up to and including it
+     */
+    private List<BackupEntry> chain(BackupEntry target) throws IOException {
+        if (manifest == null) {
+            loadManifest();
+        }
+        int end = manifest.indexOf(target);
+        if (end < 0) {
+            throw new IOException("Backup " + target.file() + " is not in the manifest");
+        }
+        int start = end;
+        while (start >= 0 && manifest.get(start).kind() != Kind.BASE) {
+            start--;
+        }
+        if (start < 0) {
+            throw new IOException("No full backup precedes " + target.file());
+        }
+
+        List<BackupEntry> chain = List.copyOf(manifest.subList(start, end + 1));
+        long sequence = 0;
+        for (BackupEntry entry : chain) {
+            if (entry.kind() == Kind.DELTA && entry.fromSequence() != sequence) {
+                throw new IOException("Backup chain is broken before " + entry.file());
+            }
+            if (!Files.isRegularFile(directory.resolve(entry.file()))) {
+                throw new IOException("Backup file " + entry.file() + " is missing");
+            }
+            sequence = entry.toSequence();
+        }
+        return chain;
+    }
+
+    /**
+     * Apply one backup file to the staging table. The reader fails on a bad block checksum
+     * or a truncated file; the task count is also checked against the manifest.
+     */
+    private void replay(BackupEntry entry, DatabaseService.RestoreTable table) throws IOException {
+        long count = 0;
+        try (TaskBinaryReader reader = new TaskBinaryReader(directory.resolve(entry.file()))) {
+            TaskRecord task;
+            while ((task = reader.next()) != null) {
+                // The row was last written no later than the backup that holds it
+                table.put(task, entry.createdAt());
+                count++;
+            }
+        }
+        if (count != entry.taskCount()) {
+            throw new IOException("Backup " + entry.file() + " holds " + count
+                + " tasks, the manifest expects " + entry.taskCount());
+        }
+        for (long deletedId : entry.deletedIds()) {
+            table.remove(deletedId);
+        }
+    }
+
+    private void loadManifest() {
+        Path file = directory.resolve(MANIFEST_FILE);
+        manifest = new ArrayList<>();
+        if (Files.exists(file)) {
+            try {
+                manifest.addAll(objectMapper.readValue(file.toFile(), new TypeReference<List<BackupEntry>>() {}));
+            } catch (IOException e) {
+                System.err.println("Error loading backup manifest, starting a new chain: " + e.getMessage());
+                forceBase = true;
+            }
+        }
+        backups = List.copyOf(manifest);
+    }
+
+    /**
+     * Write the manifest to a temporary file and move it into place, so a crash never leaves it half written
+     */
+    private void saveManifest() throws IOException {
+        Path temp = directory.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+        Files.move(temp, directory.resolve(MANIFEST_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        backups = List.copyOf(manifest);
+    }
+}
@@ -0,0 +1,100 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.Achievement;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Points and achievements for completed tasks, applied off the FX thread.
+ * The points ledger and the achievement counters live in MySQL, so completions are queued
+ * and applied in order on a background thread once the database is ready: straight away
+ * normally, and once the sync engine first reaches the server in local-first mode. A batch
+ * the database refuses is retried later. Level-ups and unlocked achievements are announced
+ * as each batch is applied. Completions still queued when the application exits are not
+ * awarded.
+ */
+public class CompletionRewards {
+    private static final long RETRY_SECONDS = 30;
+
+    private static CompletionRewards instance;
+    private final ScheduledThreadPoolExecutor executor;
+    private final CompletableFuture<?> databaseReady;
+    // Batches of completions not yet awarded, oldest first
+    private final Deque<List<ToDoItem>> pending = new ArrayDeque<>();
+
+    private CompletionRewards() {
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "completion-rewards");
+            thread.setDaemon(true);
+            return thread;
+        });
+        databaseReady = ConfigurationService.getInstance().isLocalFirst()
+            ? SyncEngine.getInstance().databaseReady()
+            : CompletableFuture.completedFuture(null);
+    }
+
+    public static synchronized CompletionRewards getInstance() {
+        if (instance == null) {
+            instance = new CompletionRewards();
+        }
+        return instance;
+    }
+
+    /**
+     * Queue newly completed tasks to be awarded as one ledger entry; returns at once
+     */
+    public void award(Collection<ToDoItem> completed) {
+        synchronized (pending) {
+            pending.add(List.copyOf(completed));
+        }
+        databaseReady.thenRunAsync(this::drain, executor);
+    }
+
+    /**
+     * Apply the queued batches in order; runs on the rewards thread only
+     */
+    private void drain() {
+        while (true) {
+            List<ToDoItem> batch;
+            synchronized (pending) {
+                batch = pending.peek();
+            }
+            if (batch == null) {
+                return;
+            }
+            try {
+                apply(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Error awarding completed tasks, retrying in " + RETRY_SECONDS + " s: "
+                    + e.getMessage());
+                executor.schedule(this::drain, RETRY_SECONDS, TimeUnit.SECONDS);
+                return;
+            }
+            synchronized (pending) {
+                pending.remove();
+            }
+        }
+    }
+
+    private void apply(List<ToDoItem> batch) {
+        // Both are loaded before the award, so a failure leaves nothing half applied
+        PointsLedger ledger = PointsLedger.getInstance();
+        AchievementService achievements = AchievementService.getInstance();
+        NotificationService notificationService = NotificationService.getInstance();
+
+        PointsLedger.AwardResult award = ledger.awardAll(batch);
+        if (award.leveledUp()) {
+            notificationService.showLevelUpNotification(award.level());
+        }
+        for (Achievement achievement : achievements.recordCompletions(batch)) {
+            notificationService.showAchievementNotification(achievement);
+        }
+    }
+}
@@ -1,247 +1,455 @@
 package com.swaraj.todolist.services;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import javafx.stage.Stage;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * Configuration service for saving user preferences like theme, window size, etc.
+ * The current configuration is an immutable {@link AppConfig} published through a single
+ * atomic reference: reads from any thread are a plain load of a consistent snapshot, and
+ * updates build a new snapshot and swap it in with compare-and-set. Listeners registered
+ * for a field are told when an update changes it.
+ * Changes are written behind: a save only marks the configuration dirty, and a
+ * background thread writes it at most once per interval, so bursts of updates
+ * cost one small write. Each write goes to a temporary file that is synced and then
+ * atomically renamed over config.json, so a crash never leaves a truncated file.
  */
 public class ConfigurationService {
     private static final String CONFIG_FILE = "config.json";
+    private static final long SAVE_DELAY_MILLIS = 500;
+    private static final Set<String> KNOWN_KEYS = Arrays.stream(AppConfig.class.getRecordComponents())
+        .map(RecordComponent::getName)
+        .collect(Collectors.toUnmodifiableSet());
     private static ConfigurationService instance;
     private final ObjectMapper objectMapper;
-    private Map<String, Object> config;
-    
+    private final AtomicReference<AppConfig> current = new AtomicReference<>(AppConfig.DEFAULTS);
+    private final CopyOnWriteArrayList<Registration<?>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledThreadPoolExecutor writer;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    // Guarded by this; the bytes of the last successful write, to skip unchanged saves
+    private byte[] lastWritten;
+
+    /**
+     * Told when an update changes the field it was registered for
+     */
+    public interface ConfigListener<T> {
+        void changed(T oldValue, T newValue);
+    }
+
+    private record Registration<T>(Function<AppConfig, T> field, ConfigListener<T> listener) {
+        void fire(AppConfig before, AppConfig after) {
+            T oldValue = field.apply(before);
+            T newValue = field.apply(after);
+            if (!Objects.equals(oldValue, newValue)) {
+                listener.changed(oldValue, newValue);
+            }
+        }
+    }
+
     private ConfigurationService() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "config-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
         loadConfiguration();
     }
-    
-    public static ConfigurationService getInstance() {
+
+    public static synchronized ConfigurationService getInstance() {
         if (instance == null) {
             instance = new ConfigurationService();
         }
         return instance;
     }
-    
+
     /**
-     * Load configuration from file
+     * Load configuration from file; missing keys take their default values
      */
     private void loadConfiguration() {
+        File configFile = new File(CONFIG_FILE);
+        if (!configFile.exists()) {
+            return;
+        }
         try {
-            File configFile = new File(CONFIG_FILE);
-            if (configFile.exists()) {
-                config = objectMapper.readValue(configFile, HashMap.class);
-            } else {
-                config = getDefaultConfiguration();
-            }
-        } catch (IOException e) {
+            Map<String, Object> values = toMap(AppConfig.DEFAULTS);
+            objectMapper.readValue(configFile, new TypeReference<Map<String, Object>>() {})
+                .forEach((key, value) -> {
+                    if (value != null) {
+                        values.put(key, value);
+                    }
+                });
+            current.set(fromMap(values));
+        } catch (IOException | IllegalArgumentException e) {
             System.err.println("Error loading configuration: " + e.getMessage());
-            config = getDefaultConfiguration();
         }
     }
-    
+
     /**
-     * Save configuration to file
+     * Schedule the configuration to be written. Calls within the save interval are
+     * coalesced into one write of the latest values.
      */
     public void saveConfiguration() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::writeScheduled, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Writer already shut down; save immediately instead
+                saveScheduled.set(false);
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Write any pending changes now, on the calling thread
+     */
+    public void flush() {
+        saveScheduled.set(false);
+        writeConfiguration();
+    }
+
+    /**
+     * Flush pending changes and stop the background writer
+     */
+    public void shutdown() {
+        writer.shutdownNow();
+        flush();
+    }
+
+    private void writeScheduled() {
+        // Cleared before taking the snapshot so a change made during the write schedules another
+        saveScheduled.set(false);
+        writeConfiguration();
+    }
+
+    /**
+     * Write a snapshot to a temporary file, force it to disk and rename it over the config file
+     */
+    private synchronized void writeConfiguration() {
         try {
-            objectMapper.writeValue(new File(CONFIG_FILE), config);
+            byte[] bytes = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(new TreeMap<>(toMap(current.get())));
+            if (Arrays.equals(bytes, lastWritten)) {
+                return;
+            }
+            Path target = Paths.get(CONFIG_FILE).toAbsolutePath();
+            Path temp = target.resolveSibling(CONFIG_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(target.getParent());
+            lastWritten = bytes;
         } catch (IOException e) {
             System.err.println("Error saving configuration: " + e.getMessage());
         }
     }
-    
+
+    /**
+     * Make the rename itself durable where the platform allows syncing a directory
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            // Not supported on every platform (e.g. Windows); the rename is still atomic
+        }
+    }
+
+    /**
+     * Flatten a snapshot into config.json keys, unknown keys included
+     */
+    private Map<String, Object> toMap(AppConfig config) {
+        Map<String, Object> values = new HashMap<>(config.extras());
+        values.putAll(objectMapper.convertValue(config, new TypeReference<Map<String, Object>>() {}));
+        return values;
+    }
+
+    private AppConfig fromMap(Map<String, Object> values) {
+        Map<String, Object> extras = new HashMap<>(values);
+        extras.keySet().removeAll(KNOWN_KEYS);
+        return objectMapper.convertValue(values, AppConfig.class).withExtras(extras);
+    }
+
+    /**
+     * Current configuration; safe to call from any thread
+     */
+    public AppConfig getConfig() {
+        return current.get();
+    }
+
     /**
-     * Get default configuration
+     * Apply a change to the configuration atomically and schedule a save.
+     * The change may be retried if another thread updates concurrently, so it must
+     * not have side effects. Listeners run on the calling thread after the swap.
+     *
+     * @return the configuration after the change
      */
-    private Map<String, Object> getDefaultConfiguration() {
-        Map<String, Object> defaultConfig = new HashMap<>();
-        defaultConfig.put("theme", "light");
-        defaultConfig.put("windowWidth", 1000.0);
-        defaultConfig.put("windowHeight", 700.0);
-        defaultConfig.put("windowX", 100.0);
-        defaultConfig.put("windowY", 100.0);
-        defaultConfig.put("notificationsEnabled", true);
-        defaultConfig.put("autoSave", true);
-        defaultConfig.put("defaultCategory", "OTHER");
-        defaultConfig.put("defaultPriority", "MEDIUM");
-        defaultConfig.put("playerLevel", 1);
-        defaultConfig.put("playerXP", 0);
-        defaultConfig.put("totalPoints", 0);
-        return defaultConfig;
+    public AppConfig update(UnaryOperator<AppConfig> change) {
+        while (true) {
+            AppConfig before = current.get();
+            AppConfig after = change.apply(before);
+            if (after.equals(before)) {
+                return before;
+            }
+            if (current.compareAndSet(before, after)) {
+                for (Registration<?> registration : listeners) {
+                    try {
+                        registration.fire(before, after);
+                    } catch (RuntimeException e) {
+                        System.err.println("Error in configuration listener: " + e.getMessage());
+                    }
+                }
+                saveConfiguration();
+                return after;
+            }
+        }
     }
-    
+
     /**
-     * Get a configuration value
+     * Be told when an update changes one field, e.g. {@code addListener(AppConfig::theme, ...)}
+     */
+    public <T> void addListener(Function<AppConfig, T> field, ConfigListener<T> listener) {
+        listeners.add(new Registration<>(field, listener));
+    }
+
+    public void removeListener(ConfigListener<?> listener) {
+        listeners.removeIf(registration -> registration.listener() == listener);
+    }
+
+    /**
+     * Get a configuration value by its config.json key
      */
     public Object get(String key) {
-        return config.get(key);
+        return toMap(current.get()).get(key);
     }
-    
+
     /**
      * Get a configuration value with default
      */
     public Object get(String key, Object defaultValue) {
-        return config.getOrDefault(key, defaultValue);
+        return toMap(current.get()).getOrDefault(key, defaultValue);
     }
-    
+
     /**
-     * Set a configuration value
+     * Set a configuration value by its config.json key; a null value removes an unknown key
+     * and resets a known one to its default
      */
     public void set(String key, Object value) {
-        config.put(key, value);
+        update(config -> {
+            Map<String, Object> values = toMap(config);
+            if (value != null) {
+                values.put(key, value);
+            } else {
+                values.remove(key);
+                values.putIfAbsent(key, toMap(AppConfig.DEFAULTS).get(key));
+                values.values().removeIf(Objects::isNull);
+            }
+            return fromMap(values);
+        });
     }
-    
+
     /**
      * Get theme (light/dark)
      */
     public String getTheme() {
-        return (String) get("theme", "light");
+        return current.get().theme();
     }
-    
+
     /**
      * Set theme
      */
     public void setTheme(String theme) {
-        set("theme", theme);
-        saveConfiguration();
+        update(config -> config.withTheme(theme));
     }
-    
+
     /**
      * Check if dark mode is enabled
      */
     public boolean isDarkMode() {
-        return "dark".equals(getTheme());
+        return current.get().isDarkMode();
     }
-    
+
     /**
      * Get window width
      */
     public double getWindowWidth() {
-        return ((Number) get("windowWidth", 1000.0)).doubleValue();
+        return current.get().windowWidth();
     }
-    
+
     /**
      * Get window height
      */
     public double getWindowHeight() {
-        return ((Number) get("windowHeight", 700.0)).doubleValue();
+        return current.get().windowHeight();
     }
-    
+
     /**
      * Set window dimensions
      */
     public void setWindowDimensions(double width, double height) {
-        set("windowWidth", width);
-        set("windowHeight", height);
-        saveConfiguration();
+        update(config -> config.withWindowBounds(config.windowX(), config.windowY(), width, height));
     }
-    
+
     /**
      * Get window X position
      */
     public double getWindowX() {
-        return ((Number) get("windowX", 100.0)).doubleValue();
+        return current.get().windowX();
     }
-    
+
     /**
      * Get window Y position
      */
     public double getWindowY() {
-        return ((Number) get("windowY", 100.0)).doubleValue();
+        return current.get().windowY();
     }
-    
+
     /**
      * Set window position
      */
     public void setWindowPosition(double x, double y) {
-        set("windowX", x);
-        set("windowY", y);
-        saveConfiguration();
+        update(config -> config.withWindowBounds(x, y, config.windowWidth(), config.windowHeight()));
     }
-    
+
     /**
      * Check if notifications are enabled
      */
     public boolean areNotificationsEnabled() {
-        return (Boolean) get("notificationsEnabled", true);
+        return current.get().notificationsEnabled();
     }
-    
+
     /**
      * Set notifications enabled
      */
     public void setNotificationsEnabled(boolean enabled) {
-        set("notificationsEnabled", enabled);
-        saveConfiguration();
+        update(config -> config.withNotificationsEnabled(enabled));
+    }
+
+    /**
+     * Minutes between repeated reminders for an overdue task (0 disables repeats)
+     */
+    public int getNotificationRepeatMinutes() {
+        return current.get().notificationRepeatMinutes();
+    }
+
+    /**
+     * Maximum number of repeated reminders for the same overdue task
+     */
+    public int getNotificationMaxRepeats() {
+        return current.get().notificationMaxRepeats();
+    }
+
+    /**
+     * Default snooze length in minutes
+     */
+    public int getNotificationSnoozeMinutes() {
+        return current.get().notificationSnoozeMinutes();
+    }
+
+    /**
+     * Directory that holds backup snapshots and their manifest
+     */
+    public String getBackupDirectory() {
+        return current.get().backupDirectory();
+    }
+
+    /**
+     * Minutes between automatic backups (0 disables them)
+     */
+    public int getBackupIntervalMinutes() {
+        return current.get().backupIntervalMinutes();
+    }
+
+    /**
+     * Incremental backups taken on top of one full snapshot before a new full snapshot is taken
+     */
+    public int getBackupMaxDeltas() {
+        return current.get().backupMaxDeltas();
     }
-    
+
+    /**
+     * Number of full snapshots, each with its incremental backups, kept on disk
+     */
+    public int getBackupRetainBases() {
+        return current.get().backupRetainBases();
+    }
+
     /**
      * Get player level for gamification
      */
     public int getPlayerLevel() {
-        return ((Number) get("playerLevel", 1)).intValue();
+        return current.get().playerLevel();
     }
-    
+
     /**
      * Get player XP for gamification
      */
     public int getPlayerXP() {
-        return ((Number) get("playerXP", 0)).intValue();
-    }
-    
-    /**
-     * Add XP and check for level up
-     */
-    public boolean addXP(int xp) {
-        int currentXP = getPlayerXP();
-        int currentLevel = getPlayerLevel();
-        int newXP = currentXP + xp;
-        
-        set("playerXP", newXP);
-        
-        // Calculate level (100 XP per level, increasing by 50 each level)
-        int requiredXP = calculateRequiredXP(currentLevel);
-        if (newXP >= requiredXP) {
-            set("playerLevel", currentLevel + 1);
-            set("playerXP", newXP - requiredXP);
-            saveConfiguration();
-            return true; // Level up occurred
-        }
-        
-        saveConfiguration();
-        return false; // No level up
+        return current.get().playerXP();
     }
-    
+
     /**
      * Calculate XP required for next level
      */
     public int calculateRequiredXP(int level) {
         return 100 + (level - 1) * 50;
     }
-    
+
     /**
      * Get total points earned
      */
     public int getTotalPoints() {
-        return ((Number) get("totalPoints", 0)).intValue();
+        return current.get().totalPoints();
     }
-    
+
+    /**
+     * Whether tasks are served from the local replica and synced to the database in the background
+     */
+    public boolean isLocalFirst() {
+        return current.get().localFirst();
+    }
+
     /**
-     * Add points to total
+     * Seconds between background syncs of the local replica
      */
-    public void addPoints(int points) {
-        int current = getTotalPoints();
-        set("totalPoints", current + points);
-        addXP(points); // XP equals points earned
-        saveConfiguration();
+    public int getSyncIntervalSeconds() {
+        return current.get().syncIntervalSeconds();
     }
 
     public boolean isDarkTheme() {
@@ -249,15 +457,14 @@ public class ConfigurationService {
     }
 
     public void restoreWindowState(Stage stage) {
-        stage.setX(getWindowX());
-        stage.setY(getWindowY());
-        stage.setWidth(getWindowWidth());
-        stage.setHeight(getWindowHeight());
+        AppConfig config = current.get();
+        stage.setX(config.windowX());
+        stage.setY(config.windowY());
+        stage.setWidth(config.windowWidth());
+        stage.setHeight(config.windowHeight());
     }
 
     public void saveWindowState(Stage stage) {
-        setWindowPosition(stage.getX(), stage.getY());
-        setWindowDimensions(stage.getWidth(), stage.getHeight());
-        saveConfiguration();
+        update(config -> config.withWindowBounds(stage.getX(), stage.getY(), stage.getWidth(), stage.getHeight()));
     }
 }
@@ -0,0 +1,171 @@
+package com.swaraj.todolist.services;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes CSV field values straight from UTF-8 bytes.
+ * Decoders report bad input through sentinel return values instead of exceptions,
+ * so a file full of malformed dates or numbers costs no more to read than a clean one.
+ */
+final class CsvFieldDecoder {
+    // Returned by the numeric and date decoders for empty or malformed input
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final int DATE_TIME_LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+    private static final int DATE_LENGTH = "yyyy-MM-dd".length();
+
+    private CsvFieldDecoder() {}
+
+    /**
+     * Decimal integer with optional sign, or INVALID
+     */
+    static long parseLong(byte[] data, int start, int end) {
+        if (start >= end) {
+            return INVALID;
+        }
+        boolean negative = data[start] == '-';
+        int i = negative || data[start] == '+' ? start + 1 : start;
+        if (i == end || end - i > 18) {
+            return INVALID;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * "yyyy-MM-dd HH:mm:ss" packed as yyyyMMddHHmmss, or INVALID.
+     * Like DateTimeFormatter's default resolver, a day past the end of the month
+     * (e.g. February 30) is clamped to the last day rather than rejected.
+     */
+    static long parseDateTime(byte[] data, int start, int end) {
+        if (end - start != DATE_TIME_LENGTH
+                || data[start + 4] != '-' || data[start + 7] != '-' || data[start + 10] != ' '
+                || data[start + 13] != ':' || data[start + 16] != ':') {
+            return INVALID;
+        }
+        int year = digits(data, start, 4);
+        int month = digits(data, start + 5, 2);
+        int day = digits(data, start + 8, 2);
+        int hour = digits(data, start + 11, 2);
+        int minute = digits(data, start + 14, 2);
+        int second = digits(data, start + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        day = Math.min(day, daysInMonth(year, month));
+        return ((((year * 100L + month) * 100 + day) * 100 + hour) * 100 + minute) * 100 + second;
+    }
+
+    /**
+     * "yyyy-MM-dd" packed like parseDateTime with a zero time, or INVALID; days are clamped the same way
+     */
+    static long parseDate(byte[] data, int start, int end) {
+        if (end - start != DATE_LENGTH || data[start + 4] != '-' || data[start + 7] != '-') {
+            return INVALID;
+        }
+        int year = digits(data, start, 4);
+        int month = digits(data, start + 5, 2);
+        int day = digits(data, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return INVALID;
+        }
+        day = Math.min(day, daysInMonth(year, month));
+        return ((year * 100L + month) * 100 + day) * 1_000_000;
+    }
+
+    static int year(long packed) { return (int) (packed / 10_000_000_000L); }
+    static int month(long packed) { return (int) (packed / 100_000_000L % 100); }
+    static int day(long packed) { return (int) (packed / 1_000_000 % 100); }
+    static int hour(long packed) { return (int) (packed / 10_000 % 100); }
+    static int minute(long packed) { return (int) (packed / 100 % 100); }
+    static int second(long packed) { return (int) (packed % 100); }
+
+    /**
+     * Index of the name matching the field exactly, or -1
+     */
+    static int parseEnum(byte[] data, int start, int end, byte[][] names) {
+        int length = end - start;
+        for (int ordinal = 0; ordinal < names.length; ordinal++) {
+            byte[] name = names[ordinal];
+            if (name.length == length && regionMatches(data, start, name)) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Same rule as Boolean.parseBoolean: "true" in any case, anything else is false
+     */
+    static boolean parseBoolean(byte[] data, int start, int end) {
+        return end - start == 4
+            && (data[start] | 0x20) == 't' && (data[start + 1] | 0x20) == 'r'
+            && (data[start + 2] | 0x20) == 'u' && (data[start + 3] | 0x20) == 'e';
+    }
+
+    /**
+     * Field text; when the field was quoted, doubled quotes are collapsed
+     */
+    static String parseString(byte[] data, int start, int end, boolean hasEscapedQuotes) {
+        if (!hasEscapedQuotes) {
+            return new String(data, start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] unescaped = new byte[end - start];
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            unescaped[length++] = data[i];
+            if (data[i] == '"') {
+                i++; // skip the second quote of the pair
+            }
+        }
+        return new String(unescaped, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Enum constant names as UTF-8, indexed by ordinal
+     */
+    static byte[][] enumNames(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = value.name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+
+    private static int digits(byte[] data, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean regionMatches(byte[] data, int start, byte[] name) {
+        for (int i = 0; i < name.length; i++) {
+            if (data[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
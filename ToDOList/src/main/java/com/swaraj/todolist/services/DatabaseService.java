@@ -1,5 +1,8 @@
 package com.swaraj.todolist.services;
 
+import com.swaraj.todolist.dataModel.NotificationState;
+import com.swaraj.todolist.dataModel.TaskFilter;
+import com.swaraj.todolist.dataModel.TaskRecord;
 import com.swaraj.todolist.dataModel.ToDoItem;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
@@ -11,21 +14,31 @@ import java.io.InputStream;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
 
 /**
  * Enhanced DatabaseService using MySQL with connection pooling
  */
-public class DatabaseService {
+public class DatabaseService implements TaskStore {
     private static DatabaseService instance;
     private HikariDataSource dataSource;
+    private final List<TaskChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    // Total from the latest unrestricted count, or -1 before the first
+    private volatile int lastTaskCount = -1;
     private static final String PROPERTIES_FILE = "/database.properties";
+    // Rows sent per JDBC batch by bulk writes
+    private static final int BULK_BATCH_SIZE = 1000;
     
     // SQL Queries
     private static final String CREATE_DATABASE = "CREATE DATABASE IF NOT EXISTS todolist_db";
-    private static final String USE_DATABASE = "USE todolist_db";
     
     private static final String CREATE_TASKS_TABLE = """
         CREATE TABLE IF NOT EXISTS tasks (
@@ -39,16 +52,236 @@ public class DatabaseService {
             created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
             completed_date DATETIME NULL,
             points INT NOT NULL DEFAULT 0,
+            identity_hash BIGINT NULL,
+            content_hash BIGINT NULL,
+            updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
             INDEX idx_deadline (deadline),
             INDEX idx_category (category),
             INDEX idx_priority (priority),
-            INDEX idx_completed (completed)
+            INDEX idx_completed (completed),
+            INDEX idx_identity_hash (identity_hash)
         )
         """;
     
+    // Tables created before import merging lack the hash columns; they are added and filled on startup
+    private static final String COUNT_HASH_COLUMNS = """
+        SELECT COUNT(*) FROM information_schema.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tasks' AND COLUMN_NAME = 'identity_hash'
+        """;
+    
+    private static final String ADD_HASH_COLUMNS = """
+        ALTER TABLE tasks
+        ADD COLUMN identity_hash BIGINT NULL,
+        ADD COLUMN content_hash BIGINT NULL,
+        ADD INDEX idx_identity_hash (identity_hash)
+        """;
+    
+    // Time of the last write to a row, compared against local edits when replicas sync
+    private static final String COUNT_UPDATED_AT_COLUMN = """
+        SELECT COUNT(*) FROM information_schema.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tasks' AND COLUMN_NAME = 'updated_at'
+        """;
+    
+    private static final String ADD_UPDATED_AT_COLUMN = """
+        ALTER TABLE tasks
+        ADD COLUMN updated_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3)
+        """;
+    
+    private static final String SELECT_UNHASHED_TASKS = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points
+        FROM tasks WHERE identity_hash IS NULL ORDER BY id LIMIT 1000
+        """;
+    
+    private static final String UPDATE_TASK_HASHES = "UPDATE tasks SET identity_hash = ?, content_hash = ? WHERE id = ?";
+    
+    private static final String SELECT_TASK_HASHES = "SELECT id, identity_hash, content_hash FROM tasks ORDER BY id";
+    
+    // Merge updates keep the stored identity and creation time; the completion time only changes with the flag
+    private static final String MERGE_UPDATE_TASK = """
+        UPDATE tasks SET
+        details = ?, category = ?, priority = ?,
+        completed_date = CASE WHEN completed = ? THEN completed_date ELSE ? END,
+        completed = ?, points = ?, content_hash = ?
+        WHERE id = ?
+        """;
+    
+    private static final String CREATE_NOTIFICATION_STATE_TABLE = """
+        CREATE TABLE IF NOT EXISTS task_notifications (
+            task_id BIGINT PRIMARY KEY,
+            deadline DATETIME,
+            last_kind VARCHAR(20),
+            last_notified DATETIME NULL,
+            snoozed_until DATETIME NULL,
+            repeat_count INT NOT NULL DEFAULT 0
+        )
+        """;
+    
+    private static final String UPSERT_NOTIFICATION_STATE = """
+        INSERT INTO task_notifications (task_id, deadline, last_kind, last_notified, snoozed_until, repeat_count)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+        deadline = VALUES(deadline),
+        last_kind = VALUES(last_kind),
+        last_notified = VALUES(last_notified),
+        snoozed_until = VALUES(snoozed_until),
+        repeat_count = VALUES(repeat_count)
+        """;
+    
+    private static final String SELECT_NOTIFICATION_STATES = """
+        SELECT task_id, deadline, last_kind, last_notified, snoozed_until, repeat_count
+        FROM task_notifications
+        """;
+    
+    private static final String DELETE_NOTIFICATION_STATE = "DELETE FROM task_notifications WHERE task_id = ?";
+    
+    // Every insert, update and delete of a task appends its id here in the same transaction,
+    // so incremental backups can find what changed after a given sequence number
+    private static final String CREATE_TASK_CHANGES_TABLE = """
+        CREATE TABLE IF NOT EXISTS task_changes (
+            seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+            task_id BIGINT NOT NULL
+        )
+        """;
+    
+    // Hands out change sequence numbers. Writers lock its one row until they commit, so
+    // sequence numbers become visible in order: a snapshot that sees a sequence number sees
+    // every smaller one too. AUTO_INCREMENT values alone can commit out of order.
+    private static final String CREATE_CHANGE_COUNTER_TABLE = """
+        CREATE TABLE IF NOT EXISTS task_change_counter (
+            id TINYINT PRIMARY KEY,
+            seq BIGINT NOT NULL
+        )
+        """;
+    
+    private static final String INIT_CHANGE_COUNTER =
+        "INSERT IGNORE INTO task_change_counter (id, seq) SELECT 1, COALESCE(MAX(seq), 0) FROM task_changes";
+    
+    private static final String LOCK_CHANGE_COUNTER = "SELECT seq FROM task_change_counter WHERE id = 1 FOR UPDATE";
+    
+    private static final String UPDATE_CHANGE_COUNTER = "UPDATE task_change_counter SET seq = ? WHERE id = 1";
+    
+    private static final String INSERT_TASK_CHANGE = "INSERT INTO task_changes (seq, task_id) VALUES (?, ?)";
+    
+    private static final String SELECT_CHANGE_SEQUENCE = "SELECT seq FROM task_change_counter WHERE id = 1";
+    
+    private static final String SELECT_CHANGED_TASKS = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points
+        FROM tasks WHERE id IN (SELECT task_id FROM task_changes WHERE seq > ? AND seq <= ?)
+        ORDER BY id ASC
+        """;
+    
+    private static final String SELECT_DELETED_TASK_IDS = """
+        SELECT DISTINCT c.task_id FROM task_changes c
+        LEFT JOIN tasks t ON t.id = c.task_id
+        WHERE c.seq > ? AND c.seq <= ? AND t.id IS NULL
+        """;
+    
+    // The newest entry is always kept so the sequence never appears to go backwards
+    private static final String PRUNE_TASK_CHANGES = "DELETE FROM task_changes WHERE seq < ?";
+    
+    private static final String SELECT_OLDEST_CHANGE_SEQUENCE = "SELECT COALESCE(MIN(seq), 0) FROM task_changes";
+    
+    // Replica sync reads and writes rows together with their last write time
+    private static final String SELECT_ALL_SYNC_TASKS = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points, updated_at
+        FROM tasks ORDER BY id ASC
+        """;
+    
+    private static final String SELECT_CHANGED_SYNC_TASKS = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points, updated_at
+        FROM tasks WHERE id IN (SELECT task_id FROM task_changes WHERE seq > ? AND seq <= ?)
+        ORDER BY id ASC
+        """;
+    
+    private static final String LOCK_SYNC_TASK = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points, updated_at
+        FROM tasks WHERE id = ? FOR UPDATE
+        """;
+    
+    private static final String INSERT_SYNC_TASK = """
+        INSERT INTO tasks (short_description, details, deadline, category, priority, completed, created_date, completed_date, points,
+                           identity_hash, content_hash, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
+    private static final String UPDATE_SYNC_TASK = """
+        UPDATE tasks SET
+        short_description = ?, details = ?, deadline = ?, category = ?,
+        priority = ?, completed = ?, completed_date = ?, points = ?,
+        identity_hash = ?, content_hash = ?, updated_at = ?
+        WHERE id = ?
+        """;
+    
+    private static final String SELECT_SERVER_TIME = "SELECT NOW(3)";
+    
+    // Append-only log of XP and points awards; a batch of completed tasks is a single entry
+    private static final String CREATE_POINTS_LEDGER_TABLE = """
+        CREATE TABLE IF NOT EXISTS points_ledger (
+            id BIGINT AUTO_INCREMENT PRIMARY KEY,
+            awarded_at DATETIME NOT NULL,
+            task_id BIGINT NULL,
+            task_count INT NOT NULL,
+            xp BIGINT NOT NULL,
+            points BIGINT NOT NULL
+        )
+        """;
+    
+    // Running totals up to a ledger entry, so loading the totals only sums the entries after the newest one
+    private static final String CREATE_POINTS_CHECKPOINTS_TABLE = """
+        CREATE TABLE IF NOT EXISTS points_checkpoints (
+            ledger_id BIGINT PRIMARY KEY,
+            entry_count BIGINT NOT NULL,
+            total_xp BIGINT NOT NULL,
+            total_points BIGINT NOT NULL,
+            created_at DATETIME NOT NULL
+        )
+        """;
+    
+    private static final String INSERT_POINTS_AWARD = """
+        INSERT INTO points_ledger (awarded_at, task_id, task_count, xp, points) VALUES (?, ?, ?, ?, ?)
+        """;
+    
+    private static final String INSERT_POINTS_CHECKPOINT = """
+        INSERT INTO points_checkpoints (ledger_id, entry_count, total_xp, total_points, created_at)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+    
+    private static final String SELECT_LATEST_POINTS_CHECKPOINT = """
+        SELECT ledger_id, entry_count, total_xp, total_points
+        FROM points_checkpoints ORDER BY ledger_id DESC LIMIT 1
+        """;
+    
+    private static final String SUM_POINTS_LEDGER = """
+        SELECT MAX(id), COUNT(*), COALESCE(SUM(xp), 0), COALESCE(SUM(points), 0)
+        FROM points_ledger WHERE id > ?
+        """;
+    
+    // A handful of named counters (metrics, streak state, unlocked achievements); the size
+    // does not grow with task history
+    private static final String CREATE_ACHIEVEMENT_PROGRESS_TABLE = """
+        CREATE TABLE IF NOT EXISTS achievement_progress (
+            name VARCHAR(64) PRIMARY KEY,
+            value BIGINT NOT NULL,
+            updated_at DATETIME NOT NULL
+        )
+        """;
+    
+    private static final String SELECT_ACHIEVEMENT_PROGRESS = "SELECT name, value, updated_at FROM achievement_progress";
+    
+    private static final String UPSERT_ACHIEVEMENT_PROGRESS = """
+        INSERT INTO achievement_progress (name, value, updated_at) VALUES (?, ?, ?)
+        ON DUPLICATE KEY UPDATE value = VALUES(value), updated_at = VALUES(updated_at)
+        """;
+    
     private static final String INSERT_TASK = """
-        INSERT INTO tasks (short_description, details, deadline, category, priority, completed, created_date, completed_date, points)
-        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        INSERT INTO tasks (short_description, details, deadline, category, priority, completed, created_date, completed_date, points,
+                           identity_hash, content_hash)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
         ON DUPLICATE KEY UPDATE
         short_description = VALUES(short_description),
         details = VALUES(details),
@@ -57,13 +290,66 @@ public class DatabaseService {
         priority = VALUES(priority),
         completed = VALUES(completed),
         completed_date = VALUES(completed_date),
-        points = VALUES(points)
+        points = VALUES(points),
+        identity_hash = VALUES(identity_hash),
+        content_hash = VALUES(content_hash)
         """;
     
+    // Restores are loaded into a staging copy of the tasks table and swapped in atomically
+    private static final String DROP_RESTORE_TABLE = "DROP TABLE IF EXISTS tasks_restore";
+    private static final String CREATE_RESTORE_TABLE = "CREATE TABLE tasks_restore LIKE tasks";
+    private static final String SWAP_RESTORE_TABLE = "RENAME TABLE tasks TO tasks_replaced, tasks_restore TO tasks";
+    private static final String DROP_REPLACED_TABLE = "DROP TABLE IF EXISTS tasks_replaced";
+    
+    // Ids handed out before the restore, including those of tasks deleted since, are not reused
+    private static final String SELECT_NEXT_TASK_ID = """
+        SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks),
+                        (SELECT COALESCE(MAX(task_id), 0) FROM task_changes)) + 1
+        """;
+    private static final String SET_RESTORE_AUTO_INCREMENT = "ALTER TABLE tasks_restore AUTO_INCREMENT = %d";
+    
+    // Notification state of tasks the restore removed, or whose deadline it changed
+    private static final String DELETE_STALE_NOTIFICATION_STATES = """
+        DELETE n FROM task_notifications n
+        LEFT JOIN tasks t ON t.id = n.task_id
+        WHERE t.id IS NULL OR NOT (t.deadline <=> n.deadline)
+        """;
+    
+    // updated_at is set explicitly so restored rows keep their age for replica conflict resolution
+    private static final String UPSERT_RESTORE_TASK = """
+        INSERT INTO tasks_restore (id, short_description, details, deadline, category, priority, completed, created_date, completed_date, points,
+                                   identity_hash, content_hash, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+        short_description = VALUES(short_description),
+        details = VALUES(details),
+        deadline = VALUES(deadline),
+        category = VALUES(category),
+        priority = VALUES(priority),
+        completed = VALUES(completed),
+        created_date = VALUES(created_date),
+        completed_date = VALUES(completed_date),
+        points = VALUES(points),
+        identity_hash = VALUES(identity_hash),
+        content_hash = VALUES(content_hash),
+        updated_at = VALUES(updated_at)
+        """;
+    
+    // Rows the restore leaves as they are keep the live table's write time
+    private static final String KEEP_UNCHANGED_UPDATED_AT = """
+        UPDATE tasks_restore r JOIN tasks t ON t.id = r.id
+        SET r.updated_at = t.updated_at
+        WHERE r.identity_hash = t.identity_hash AND r.content_hash = t.content_hash
+          AND r.completed_date <=> t.completed_date AND r.points = t.points
+        """;
+    
+    private static final String DELETE_RESTORE_TASK = "DELETE FROM tasks_restore WHERE id = ?";
+    
     private static final String UPDATE_TASK = """
         UPDATE tasks SET 
         short_description = ?, details = ?, deadline = ?, category = ?, 
-        priority = ?, completed = ?, completed_date = ?, points = ?
+        priority = ?, completed = ?, completed_date = ?, points = ?,
+        identity_hash = ?, content_hash = ?
         WHERE id = ?
         """;
     
@@ -73,8 +359,43 @@ public class DatabaseService {
         FROM tasks ORDER BY completed ASC, priority DESC, deadline ASC
         """;
     
+    // Primary key order lets the server stream rows without sorting
+    private static final String SELECT_TASKS_FOR_EXPORT = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points
+        FROM tasks ORDER BY id ASC
+        """;
+    
+    private static final String SELECT_FILTERED_TASKS = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points
+        FROM tasks WHERE %s ORDER BY id ASC
+        """;
+    
+    // Only what a deadline notification shows, for the open tasks due before a horizon
+    private static final String SELECT_PENDING_DEADLINES = """
+        SELECT id, short_description, deadline, priority
+        FROM tasks WHERE completed = 0 AND deadline IS NOT NULL AND deadline < ?
+        ORDER BY deadline ASC
+        """;
+    
     private static final String DELETE_TASK = "DELETE FROM tasks WHERE id = ?";
     
+    // Keyset pagination over (deadline, id); idx_deadline already carries the primary key
+    private static final String SELECT_TASK_PAGE = """
+        SELECT id, short_description, details, deadline, category, priority,
+               completed, created_date, completed_date, points
+        FROM tasks WHERE %s
+        ORDER BY deadline ASC, id ASC LIMIT ?
+        """;
+    
+    private static final String SELECT_TASK_PAGE_KEY = """
+        SELECT deadline, id FROM tasks WHERE %s
+        ORDER BY deadline ASC, id ASC LIMIT 1 OFFSET ?
+        """;
+    
+    private static final String COUNT_TASKS = "SELECT COUNT(*) FROM tasks WHERE %s";
+    
     private static final String SELECT_TASK_STATISTICS = """
         SELECT 
             COUNT(*) as total_tasks,
@@ -108,11 +429,19 @@ public class DatabaseService {
     private void initializeDataSource() throws IOException {
         Properties props = loadDatabaseProperties();
         
-        HikariConfig config = new HikariConfig();
-        
-        // First connect without database to create it
+        // Create the database over a single plain connection before the pool, which
+        // connects to it directly, is built
         String baseUrl = props.getProperty("db.url").replace("/todolist_db", "");
-        config.setJdbcUrl(baseUrl);
+        try (Connection conn = DriverManager.getConnection(baseUrl,
+                 props.getProperty("db.username"), props.getProperty("db.password"));
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_DATABASE);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create database", e);
+        }
+        
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(props.getProperty("db.url"));
         config.setUsername(props.getProperty("db.username"));
         config.setPassword(props.getProperty("db.password"));
         config.setDriverClassName(props.getProperty("db.driver"));
@@ -127,22 +456,10 @@ public class DatabaseService {
         // Additional settings
         config.setConnectionTestQuery("SELECT 1");
         config.setPoolName("TodoListConnectionPool");
+        // Send JDBC batches as multi-row statements
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
         
         this.dataSource = new HikariDataSource(config);
-        
-        // Create database if it doesn't exist
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(CREATE_DATABASE);
-            stmt.execute(USE_DATABASE);
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to create database", e);
-        }
-        
-        // Now reconnect to the specific database
-        dataSource.close();
-        config.setJdbcUrl(props.getProperty("db.url"));
-        this.dataSource = new HikariDataSource(config);
     }
 
     private Properties loadDatabaseProperties() throws IOException {
@@ -161,6 +478,24 @@ public class DatabaseService {
              Statement stmt = conn.createStatement()) {
             
             stmt.execute(CREATE_TASKS_TABLE);
+            stmt.execute(CREATE_NOTIFICATION_STATE_TABLE);
+            stmt.execute(CREATE_TASK_CHANGES_TABLE);
+            stmt.execute(CREATE_CHANGE_COUNTER_TABLE);
+            stmt.execute(INIT_CHANGE_COUNTER);
+            stmt.execute(CREATE_POINTS_LEDGER_TABLE);
+            stmt.execute(CREATE_POINTS_CHECKPOINTS_TABLE);
+            stmt.execute(CREATE_ACHIEVEMENT_PROGRESS_TABLE);
+            try (ResultSet rs = stmt.executeQuery(COUNT_HASH_COLUMNS)) {
+                if (rs.next() && rs.getInt(1) == 0) {
+                    stmt.execute(ADD_HASH_COLUMNS);
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(COUNT_UPDATED_AT_COLUMN)) {
+                if (rs.next() && rs.getInt(1) == 0) {
+                    stmt.execute(ADD_UPDATED_AT_COLUMN);
+                }
+            }
+            backfillTaskHashes(conn);
             System.out.println("Database tables initialized successfully");
             
         } catch (SQLException e) {
@@ -168,47 +503,321 @@ public class DatabaseService {
         }
     }
 
+    /**
+     * Fill the hash columns of rows stored before they existed, a page at a time
+     */
+    private void backfillTaskHashes(Connection conn) throws SQLException {
+        try (PreparedStatement select = conn.prepareStatement(SELECT_UNHASHED_TASKS);
+             PreparedStatement update = conn.prepareStatement(UPDATE_TASK_HASHES)) {
+            int page;
+            do {
+                page = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        TaskRecord task = createTaskRecordFromResultSet(rs);
+                        update.setLong(1, task.identityHash());
+                        update.setLong(2, task.contentHash());
+                        update.setLong(3, task.id());
+                        update.addBatch();
+                        page++;
+                    }
+                }
+                update.executeBatch();
+            } while (page > 0);
+        }
+    }
+
+    /**
+     * Register a listener notified after every task save or delete
+     */
+    public void addTaskChangeListener(TaskChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeTaskChangeListener(TaskChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
     public void saveTodoItem(ToDoItem item) {
-        if (item.getId() == 0) {
+        // New items carry a provisional timestamp id until the database assigns one
+        if (item.getId() == 0 || !updateTodoItem(item)) {
             insertTodoItem(item);
-        } else {
-            updateTodoItem(item);
+        }
+        for (TaskChangeListener listener : changeListeners) {
+            listener.taskSaved(item);
         }
     }
 
     private void insertTodoItem(ToDoItem item) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(INSERT_TASK, Statement.RETURN_GENERATED_KEYS)) {
-            
-            setTodoItemParameters(pstmt, item);
-            
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Creating todo item failed, no rows affected.");
-            }
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_TASK, Statement.RETURN_GENERATED_KEYS)) {
+                
+                setTodoItemParameters(pstmt, item);
+                
+                int affectedRows = pstmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Creating todo item failed, no rows affected.");
+                }
 
-            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    item.setId(generatedKeys.getInt(1));
-                } else {
-                    throw new SQLException("Creating todo item failed, no ID obtained.");
+                long id;
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        id = generatedKeys.getLong(1);
+                    } else {
+                        throw new SQLException("Creating todo item failed, no ID obtained.");
+                    }
                 }
+                logChanges(conn, List.of(id));
+                conn.commit();
+                item.setId(id);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to insert todo item", e);
         }
     }
 
-    private void updateTodoItem(ToDoItem item) {
+    /**
+     * Insert tasks in one transaction; ids are assigned by the database.
+     * Either every task in the batch is stored or none is.
+     */
+    public void insertTasks(List<TaskRecord> tasks) {
+        mergeTasks(tasks, List.of());
+    }
+
+    /**
+     * Insert new tasks and overwrite the content of existing ones in one transaction.
+     * Updates are matched by id and keep the stored short description, deadline and
+     * creation time; see MERGE_UPDATE_TASK.
+     *
+     * @return ids assigned to the inserted tasks, in order
+     */
+    public List<Long> mergeTasks(List<TaskRecord> inserts, List<TaskRecord> updates) {
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return List.of();
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(INSERT_TASK, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement update = conn.prepareStatement(MERGE_UPDATE_TASK)) {
+                List<Long> ids = new ArrayList<>(inserts.size());
+                if (!inserts.isEmpty()) {
+                    for (TaskRecord task : inserts) {
+                        setTaskRecordParameters(insert, task);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                    try (ResultSet generatedKeys = insert.getGeneratedKeys()) {
+                        while (generatedKeys.next()) {
+                            ids.add(generatedKeys.getLong(1));
+                        }
+                    }
+                }
+                
+                List<Long> updatedIds = new ArrayList<>(updates.size());
+                for (TaskRecord task : updates) {
+                    update.setString(1, task.details());
+                    update.setString(2, task.category().name());
+                    update.setString(3, task.priority().name());
+                    update.setBoolean(4, task.completed());
+                    if (task.completedDate() != null) {
+                        update.setTimestamp(5, Timestamp.valueOf(task.completedDate()));
+                    } else {
+                        update.setNull(5, Types.TIMESTAMP);
+                    }
+                    update.setBoolean(6, task.completed());
+                    update.setInt(7, task.points());
+                    update.setLong(8, task.contentHash());
+                    update.setLong(9, task.id());
+                    update.addBatch();
+                    updatedIds.add(task.id());
+                }
+                if (!updates.isEmpty()) {
+                    update.executeBatch();
+                }
+                
+                logChanges(conn, ids);
+                logChanges(conn, updatedIds);
+                conn.commit();
+                return ids;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to insert todo items", e);
+        }
+    }
+
+    /**
+     * Stream the id, identity hash and content hash of every task in id order
+     */
+    public void streamTaskHashes(TaskHashHandler handler) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_TASK_HASHES,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load task hashes", e);
+        }
+    }
+
+    /**
+     * Replace the whole task table. The loader fills an empty staging copy of the table
+     * through bulk multi-row statements with unique and foreign key checks off; only if
+     * it finishes without error is the copy swapped in with a single atomic RENAME.
+     * On any failure the staging table is dropped and the live table is left untouched.
+     * Task ids keep counting from where the live table was, and notification state that
+     * no longer matches a restored task is dropped.
+     *
+     * @return number of tasks in the restored table
+     */
+    public long restoreTasks(RestoreLoader loader) throws IOException {
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(UPDATE_TASK)) {
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(DROP_RESTORE_TABLE);
+            stmt.execute(CREATE_RESTORE_TABLE);
+            boolean swapped = false;
+            try {
+                stmt.execute("SET SESSION unique_checks = 0, foreign_key_checks = 0");
+                conn.setAutoCommit(false);
+                try (RestoreTable table = new RestoreTable(conn)) {
+                    loader.load(table);
+                    table.flush();
+                }
+                stmt.executeUpdate(KEEP_UNCHANGED_UPDATED_AT);
+                conn.commit();
+                conn.setAutoCommit(true);
+                stmt.execute("SET SESSION unique_checks = 1, foreign_key_checks = 1");
+
+                long count;
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM tasks_restore")) {
+                    rs.next();
+                    count = rs.getLong(1);
+                }
+                long nextId;
+                try (ResultSet rs = stmt.executeQuery(SELECT_NEXT_TASK_ID)) {
+                    rs.next();
+                    nextId = rs.getLong(1);
+                }
+                stmt.execute(String.format(SET_RESTORE_AUTO_INCREMENT, nextId));
+                stmt.execute(DROP_REPLACED_TABLE);
+                stmt.execute(SWAP_RESTORE_TABLE);
+                swapped = true;
+                stmt.execute(DROP_REPLACED_TABLE);
+                stmt.execute(DELETE_STALE_NOTIFICATION_STATES);
+                return count;
+            } finally {
+                if (!conn.getAutoCommit()) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+                // The connection goes back to the pool, so session settings must be restored
+                stmt.execute("SET SESSION unique_checks = 1, foreign_key_checks = 1");
+                if (!swapped) {
+                    stmt.execute(DROP_RESTORE_TABLE);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to restore todo items", e);
+        }
+    }
+
+    /**
+     * Tell listeners that tasks were added in bulk without individual save events
+     */
+    public void fireTasksImported() {
+        for (TaskChangeListener listener : changeListeners) {
+            listener.tasksImported();
+        }
+    }
+
+    private boolean updateTodoItem(ToDoItem item) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean updated = updateTodoItem(conn, item);
+                if (updated) {
+                    logChanges(conn, List.of(item.getId()));
+                }
+                conn.commit();
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update todo item", e);
+        }
+    }
+
+    private boolean updateTodoItem(Connection conn, ToDoItem item) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_TASK)) {
             
-            setTodoItemParameters(pstmt, item);
-            pstmt.setInt(9, item.getPoints());
+            pstmt.setString(1, item.getShortDescription());
+            pstmt.setString(2, item.getDetails());
+            if (item.getDeadline() != null) {
+                pstmt.setTimestamp(3, Timestamp.valueOf(item.getDeadline()));
+            } else {
+                pstmt.setNull(3, Types.TIMESTAMP);
+            }
+            pstmt.setString(4, item.getCategory().name());
+            pstmt.setString(5, item.getPriority().name());
+            pstmt.setBoolean(6, item.isCompleted());
+            if (item.getCompletedDate() != null) {
+                pstmt.setTimestamp(7, Timestamp.valueOf(item.getCompletedDate()));
+            } else {
+                pstmt.setNull(7, Types.TIMESTAMP);
+            }
+            pstmt.setInt(8, item.getPoints());
+            TaskRecord task = TaskRecord.of(item);
+            pstmt.setLong(9, task.identityHash());
+            pstmt.setLong(10, task.contentHash());
+            pstmt.setLong(11, item.getId());
             
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Append task ids to the change log. Takes the change counter's row lock, which is held
+     * until the caller's transaction ends, so call this after the task rows are written.
+     */
+    private void logChanges(Connection conn, List<Long> taskIds) throws SQLException {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        long sequence;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(LOCK_CHANGE_COUNTER)) {
+            rs.next();
+            sequence = rs.getLong(1);
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_CHANGE_COUNTER)) {
+            pstmt.setLong(1, sequence + taskIds.size());
             pstmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to update todo item", e);
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_TASK_CHANGE)) {
+            for (long taskId : taskIds) {
+                pstmt.setLong(1, ++sequence);
+                pstmt.setLong(2, taskId);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
         }
     }
 
@@ -234,6 +843,42 @@ public class DatabaseService {
         }
         
         pstmt.setInt(9, item.getPoints());
+        TaskRecord task = TaskRecord.of(item);
+        pstmt.setLong(10, task.identityHash());
+        pstmt.setLong(11, task.contentHash());
+    }
+
+    private void setTaskRecordParameters(PreparedStatement pstmt, TaskRecord task) throws SQLException {
+        setTaskRecordParameters(pstmt, task, 1);
+    }
+
+    /**
+     * Bind the eleven task columns of INSERT_TASK order starting at the given parameter index
+     */
+    private static void setTaskRecordParameters(PreparedStatement pstmt, TaskRecord task, int first) throws SQLException {
+        pstmt.setString(first, task.shortDescription());
+        pstmt.setString(first + 1, task.details());
+        
+        if (task.deadline() != null) {
+            pstmt.setTimestamp(first + 2, Timestamp.valueOf(task.deadline()));
+        } else {
+            pstmt.setNull(first + 2, Types.TIMESTAMP);
+        }
+        
+        pstmt.setString(first + 3, task.category().name());
+        pstmt.setString(first + 4, task.priority().name());
+        pstmt.setBoolean(first + 5, task.completed());
+        pstmt.setTimestamp(first + 6, Timestamp.valueOf(task.createdDate() != null ? task.createdDate() : LocalDateTime.now()));
+        
+        if (task.completedDate() != null) {
+            pstmt.setTimestamp(first + 7, Timestamp.valueOf(task.completedDate()));
+        } else {
+            pstmt.setNull(first + 7, Types.TIMESTAMP);
+        }
+        
+        pstmt.setInt(first + 8, task.points());
+        pstmt.setLong(first + 9, task.identityHash());
+        pstmt.setLong(first + 10, task.contentHash());
     }
 
     public ObservableList<ToDoItem> loadTodoItems() {
@@ -282,16 +927,589 @@ public class DatabaseService {
         return item;
     }
 
-    public void deleteTodoItem(long itemId) {
+    /**
+     * Pass every task to the handler in id order. Rows are streamed from the server
+     * one at a time, so memory use does not grow with the size of the table.
+     *
+     * @return number of tasks handled
+     */
+    public long streamTasks(TaskRecordHandler handler) throws IOException {
+        try (Connection conn = dataSource.getConnection()) {
+            return streamTasks(conn, SELECT_TASKS_FOR_EXPORT, -1, -1, handler);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to stream todo items", e);
+        }
+    }
+
+    /**
+     * Read tasks for a backup from one consistent snapshot. With a negative
+     * {@code sinceSequence} every task is passed to the handler; otherwise only tasks
+     * changed after that sequence, and the ids of tasks deleted since then go to
+     * {@code deletedHandler}. Tasks are streamed, so memory use stays flat.
+     *
+     * @return change sequence the snapshot reflects
+     */
+    public long readBackupSnapshot(long sinceSequence, TaskRecordHandler handler,
+                                   LongConsumer deletedHandler) throws IOException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            int isolation = conn.getTransactionIsolation();
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+                long sequence;
+                try (ResultSet rs = stmt.executeQuery(SELECT_CHANGE_SEQUENCE)) {
+                    rs.next();
+                    sequence = rs.getLong(1);
+                }
+                
+                if (sinceSequence < 0) {
+                    streamTasks(conn, SELECT_TASKS_FOR_EXPORT, -1, -1, handler);
+                } else if (sequence > sinceSequence) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(SELECT_DELETED_TASK_IDS)) {
+                        pstmt.setLong(1, sinceSequence);
+                        pstmt.setLong(2, sequence);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                deletedHandler.accept(rs.getLong(1));
+                            }
+                        }
+                    }
+                    streamTasks(conn, SELECT_CHANGED_TASKS, sinceSequence, sequence, handler);
+                }
+                conn.commit();
+                return Math.max(sequence, Math.max(sinceSequence, 0));
+            } finally {
+                conn.rollback();
+                conn.setTransactionIsolation(isolation);
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read backup snapshot", e);
+        }
+    }
+
+    /**
+     * Run a task query and pass rows to the handler as they arrive
+     *
+     * @param fromSequence change sequence bounds bound to the query, or -1 if it takes none
+     * @return number of tasks handled
+     */
+    private long streamTasks(Connection conn, String sql, long fromSequence, long toSequence,
+                             TaskRecordHandler handler) throws SQLException, IOException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            if (fromSequence >= 0) {
+                pstmt.setLong(1, fromSequence);
+                pstmt.setLong(2, toSequence);
+            }
+            return streamTasks(pstmt, handler);
+        }
+    }
+
+    private long streamTasks(PreparedStatement pstmt, TaskRecordHandler handler) throws SQLException, IOException {
+        long count = 0;
+        // Connector/J only streams row by row with this fetch size
+        pstmt.setFetchSize(Integer.MIN_VALUE);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                handler.handle(createTaskRecordFromResultSet(rs));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stream the tasks matching a filter in id order. The filter is evaluated by the
+     * database and rows are read through a streaming cursor, so only one task is in
+     * memory at a time however many match.
+     *
+     * @return number of tasks passed to the handler
+     */
+    public long streamTasks(TaskFilter filter, TaskRecordHandler handler) throws IOException {
+        List<Object> parameters = new ArrayList<>();
+        String query = String.format(SELECT_FILTERED_TASKS, filterCondition(filter, parameters));
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                pstmt.setObject(i + 1, parameters.get(i));
+            }
+            return streamTasks(pstmt, handler);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to stream filtered todo items", e);
+        }
+    }
+
+    /**
+     * SQL condition for a filter, with its parameter values appended in placeholder order
+     */
+    private String filterCondition(TaskFilter filter, List<Object> parameters) {
+        StringBuilder condition = new StringBuilder("1 = 1");
+        if (!filter.categories().isEmpty()) {
+            condition.append(" AND category IN (").append(placeholders(filter.categories().size())).append(')');
+            filter.categories().forEach(category -> parameters.add(category.name()));
+        }
+        if (!filter.priorities().isEmpty()) {
+            condition.append(" AND priority IN (").append(placeholders(filter.priorities().size())).append(')');
+            filter.priorities().forEach(priority -> parameters.add(priority.name()));
+        }
+        switch (filter.status()) {
+            case OPEN -> condition.append(" AND completed = 0");
+            case COMPLETED -> condition.append(" AND completed = 1");
+            case OVERDUE -> {
+                condition.append(" AND completed = 0 AND deadline < ?");
+                parameters.add(Timestamp.valueOf(LocalDateTime.now()));
+            }
+            case ANY -> { }
+        }
+        String dateColumn = switch (filter.dateField()) {
+            case DEADLINE -> "deadline";
+            case CREATED -> "created_date";
+            case COMPLETED -> "completed_date";
+        };
+        if (filter.from() != null) {
+            condition.append(" AND ").append(dateColumn).append(" >= ?");
+            parameters.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            condition.append(" AND ").append(dateColumn).append(" < ?");
+            parameters.add(Timestamp.valueOf(filter.to()));
+        }
+        if (filter.text() != null) {
+            // Backslash is LIKE's default escape character
+            String pattern = "%" + filter.text().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            condition.append(" AND (short_description LIKE ? OR details LIKE ?)");
+            parameters.add(pattern);
+            parameters.add(pattern);
+        }
+        return condition.toString();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Drop change log entries older than a sequence that has been backed up
+     */
+    public void pruneTaskChanges(long upToSequence) {
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(DELETE_TASK)) {
+             PreparedStatement pstmt = conn.prepareStatement(PRUNE_TASK_CHANGES)) {
             
-            pstmt.setLong(1, itemId);
+            pstmt.setLong(1, upToSequence);
             pstmt.executeUpdate();
             
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to prune task changes", e);
+        }
+    }
+
+    /**
+     * Read what a replica needs to catch up, from one consistent snapshot: the tasks changed
+     * after {@code sinceSequence} and the ids of tasks deleted since then. Every task is
+     * passed instead when {@code sinceSequence} is negative or when backups have pruned the
+     * change log past it, since deletions in the pruned range can no longer be seen.
+     *
+     * @return change sequence the snapshot reflects, and whether every task was passed
+     */
+    public TaskChanges readTaskChanges(long sinceSequence, RemoteTaskHandler handler, LongConsumer deletedHandler) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            int isolation = conn.getTransactionIsolation();
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+                long sequence;
+                try (ResultSet rs = stmt.executeQuery(SELECT_CHANGE_SEQUENCE)) {
+                    rs.next();
+                    sequence = rs.getLong(1);
+                }
+                boolean complete = sinceSequence < 0;
+                if (!complete) {
+                    try (ResultSet rs = stmt.executeQuery(SELECT_OLDEST_CHANGE_SEQUENCE)) {
+                        rs.next();
+                        complete = rs.getLong(1) > sinceSequence + 1;
+                    }
+                }
+                
+                if (complete) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL_SYNC_TASKS,
+                             ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                        streamRemoteTasks(pstmt, handler);
+                    }
+                } else if (sequence > sinceSequence) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(SELECT_DELETED_TASK_IDS)) {
+                        pstmt.setLong(1, sinceSequence);
+                        pstmt.setLong(2, sequence);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                deletedHandler.accept(rs.getLong(1));
+                            }
+                        }
+                    }
+                    try (PreparedStatement pstmt = conn.prepareStatement(SELECT_CHANGED_SYNC_TASKS,
+                             ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                        pstmt.setLong(1, sinceSequence);
+                        pstmt.setLong(2, sequence);
+                        streamRemoteTasks(pstmt, handler);
+                    }
+                }
+                conn.commit();
+                return new TaskChanges(complete ? sequence : Math.max(sequence, sinceSequence), complete);
+            } finally {
+                conn.rollback();
+                conn.setTransactionIsolation(isolation);
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read task changes", e);
+        }
+    }
+
+    private void streamRemoteTasks(PreparedStatement pstmt, RemoteTaskHandler handler) throws SQLException {
+        pstmt.setFetchSize(Integer.MIN_VALUE);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                handler.handle(createRemoteTaskFromResultSet(rs));
+            }
+        }
+    }
+
+    /**
+     * Insert a task created in a replica, stamped with the time it was written there.
+     * A task with the same identity and creation time is taken to be this one, stored by
+     * an earlier attempt whose commit was not acknowledged, and is not inserted twice.
+     *
+     * @return the id of the stored task
+     */
+    public long insertSyncedTask(TaskRecord task, LocalDateTime updatedAt) {
+        long id;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                id = findSyncedTask(conn, task);
+                if (id == 0) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SYNC_TASK, Statement.RETURN_GENERATED_KEYS)) {
+                        setTaskRecordParameters(pstmt, task);
+                        pstmt.setTimestamp(12, Timestamp.valueOf(updatedAt));
+                        pstmt.executeUpdate();
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Creating todo item failed, no ID obtained.");
+                            }
+                            id = generatedKeys.getLong(1);
+                        }
+                    }
+                    logChanges(conn, List.of(id));
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to insert synced todo item", e);
+        }
+        ToDoItem item = task.withId(id).toToDoItem();
+        for (TaskChangeListener listener : changeListeners) {
+            listener.taskSaved(item);
+        }
+        return id;
+    }
+
+    private long findSyncedTask(Connection conn, TaskRecord task) throws SQLException {
+        if (task.createdDate() == null) {
+            return 0;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                 "SELECT id FROM tasks WHERE identity_hash = ? AND created_date = ? LIMIT 1")) {
+            pstmt.setLong(1, task.identityHash());
+            pstmt.setTimestamp(2, Timestamp.valueOf(task.createdDate()));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Apply a replica's edit to a stored task under a row lock. The merger sees the row as
+     * stored and returns what to write, so no other writer can change it in between.
+     *
+     * @return the row as stored afterwards, or null if the task no longer exists
+     */
+    public RemoteTask mergeSyncedTask(long id, TaskMerger merger) {
+        RemoteTask result;
+        boolean written = false;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement lock = conn.prepareStatement(LOCK_SYNC_TASK)) {
+                    lock.setLong(1, id);
+                    try (ResultSet rs = lock.executeQuery()) {
+                        result = rs.next() ? createRemoteTaskFromResultSet(rs) : null;
+                    }
+                }
+                RemoteTask merged = result != null ? merger.merge(result) : null;
+                if (merged != null && !merged.equals(result)) {
+                    TaskRecord task = merged.task();
+                    try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SYNC_TASK)) {
+                        pstmt.setString(1, task.shortDescription());
+                        pstmt.setString(2, task.details());
+                        if (task.deadline() != null) {
+                            pstmt.setTimestamp(3, Timestamp.valueOf(task.deadline()));
+                        } else {
+                            pstmt.setNull(3, Types.TIMESTAMP);
+                        }
+                        pstmt.setString(4, task.category().name());
+                        pstmt.setString(5, task.priority().name());
+                        pstmt.setBoolean(6, task.completed());
+                        if (task.completedDate() != null) {
+                            pstmt.setTimestamp(7, Timestamp.valueOf(task.completedDate()));
+                        } else {
+                            pstmt.setNull(7, Types.TIMESTAMP);
+                        }
+                        pstmt.setInt(8, task.points());
+                        pstmt.setLong(9, task.identityHash());
+                        pstmt.setLong(10, task.contentHash());
+                        pstmt.setTimestamp(11, Timestamp.valueOf(merged.updatedAt()));
+                        pstmt.setLong(12, id);
+                        pstmt.executeUpdate();
+                    }
+                    logChanges(conn, List.of(id));
+                    result = merged;
+                    written = true;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to merge synced todo item", e);
+        }
+        if (written) {
+            ToDoItem item = result.task().toToDoItem();
+            for (TaskChangeListener listener : changeListeners) {
+                listener.taskSaved(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The database server's clock, against which replicas line up their own edit times
+     */
+    public LocalDateTime currentTime() {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_SERVER_TIME)) {
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read database time", e);
+        }
+    }
+
+    private RemoteTask createRemoteTaskFromResultSet(ResultSet rs) throws SQLException {
+        return new RemoteTask(createTaskRecordFromResultSet(rs), rs.getTimestamp("updated_at").toLocalDateTime());
+    }
+
+    private TaskRecord createTaskRecordFromResultSet(ResultSet rs) throws SQLException {
+        Timestamp deadline = rs.getTimestamp("deadline");
+        Timestamp createdDate = rs.getTimestamp("created_date");
+        Timestamp completedDate = rs.getTimestamp("completed_date");
+        return new TaskRecord(
+            rs.getLong("id"),
+            rs.getString("short_description"),
+            rs.getString("details"),
+            deadline != null ? deadline.toLocalDateTime() : null,
+            ToDoItem.Category.valueOf(rs.getString("category")),
+            ToDoItem.Priority.valueOf(rs.getString("priority")),
+            rs.getBoolean("completed"),
+            createdDate != null ? createdDate.toLocalDateTime() : null,
+            completedDate != null ? completedDate.toLocalDateTime() : null,
+            rs.getInt("points"));
+    }
+
+    /**
+     * Count tasks, optionally restricted to a deadline range [from, to)
+     */
+    public int countTasks(LocalDateTime from, LocalDateTime to) {
+        String query = String.format(COUNT_TASKS, rangeCondition(from, to));
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            setRangeParameters(pstmt, 1, from, to);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int count = rs.next() ? rs.getInt(1) : 0;
+                if (from == null && to == null) {
+                    lastTaskCount = count;
+                }
+                return count;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count tasks", e);
+        }
+    }
+
+    /**
+     * The total from the latest {@code countTasks(null, null)}, without a query; it may trail
+     * changes made since
+     *
+     * @return the count, or -1 when none has been taken yet
+     */
+    public int getLastTaskCount() {
+        return lastTaskCount;
+    }
+
+    /**
+     * Count tasks that come before the given key in (deadline, id) order, which is the
+     * key's position in a paged view of the same range
+     */
+    public int countTasksBefore(TaskPageKey key, LocalDateTime from, LocalDateTime to) {
+        // MySQL sorts null deadlines first
+        String condition = rangeCondition(from, to) + (key.deadline() == null
+            ? " AND deadline IS NULL AND id < ?"
+            : " AND (deadline IS NULL OR deadline < ? OR (deadline = ? AND id < ?))");
+        String query = String.format(COUNT_TASKS, condition);
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            int index = setRangeParameters(pstmt, 1, from, to);
+            if (key.deadline() != null) {
+                Timestamp deadline = Timestamp.valueOf(key.deadline());
+                pstmt.setTimestamp(index++, deadline);
+                pstmt.setTimestamp(index++, deadline);
+            }
+            pstmt.setLong(index, key.id());
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to locate task", e);
+        }
+    }
+
+    /**
+     * Load up to {@code limit} tasks ordered by deadline then id, starting strictly after
+     * the given key (or from the beginning when it is null)
+     */
+    public List<ToDoItem> loadTaskPage(TaskPageKey after, int limit, LocalDateTime from, LocalDateTime to) {
+        String condition = rangeCondition(from, to);
+        if (after != null) {
+            condition += after.deadline() == null
+                ? " AND ((deadline IS NULL AND id > ?) OR deadline IS NOT NULL)"
+                : " AND (deadline > ? OR (deadline = ? AND id > ?))";
+        }
+        String query = String.format(SELECT_TASK_PAGE, condition);
+        List<ToDoItem> items = new ArrayList<>(limit);
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            int index = setRangeParameters(pstmt, 1, from, to);
+            if (after != null) {
+                if (after.deadline() == null) {
+                    pstmt.setLong(index++, after.id());
+                } else {
+                    Timestamp deadline = Timestamp.valueOf(after.deadline());
+                    pstmt.setTimestamp(index++, deadline);
+                    pstmt.setTimestamp(index++, deadline);
+                    pstmt.setLong(index++, after.id());
+                }
+            }
+            pstmt.setInt(index, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(createTodoItemFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load task page", e);
+        }
+        
+        return items;
+    }
+
+    /**
+     * Find the key of the row at the given position, used to seed keyset pagination
+     * when jumping straight to a page that has not been visited yet
+     */
+    public TaskPageKey findTaskPageKey(long offset, LocalDateTime from, LocalDateTime to) {
+        String query = String.format(SELECT_TASK_PAGE_KEY, rangeCondition(from, to));
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            int index = setRangeParameters(pstmt, 1, from, to);
+            pstmt.setLong(index, offset);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Timestamp deadline = rs.getTimestamp("deadline");
+                return new TaskPageKey(deadline != null ? deadline.toLocalDateTime() : null, rs.getLong("id"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to locate task page", e);
+        }
+    }
+
+    private String rangeCondition(LocalDateTime from, LocalDateTime to) {
+        String condition = "1 = 1";
+        if (from != null) {
+            condition += " AND deadline >= ?";
+        }
+        if (to != null) {
+            condition += " AND deadline < ?";
+        }
+        return condition;
+    }
+
+    private int setRangeParameters(PreparedStatement pstmt, int index, LocalDateTime from, LocalDateTime to) throws SQLException {
+        if (from != null) {
+            pstmt.setTimestamp(index++, Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            pstmt.setTimestamp(index++, Timestamp.valueOf(to));
+        }
+        return index;
+    }
+
+    public void deleteTodoItem(long itemId) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(DELETE_TASK)) {
+                
+                pstmt.setLong(1, itemId);
+                if (pstmt.executeUpdate() > 0) {
+                    logChanges(conn, List.of(itemId));
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete todo item", e);
         }
+        for (TaskChangeListener listener : changeListeners) {
+            listener.taskDeleted(itemId);
+        }
     }
 
     public TaskStatistics getTaskStatistics() {
@@ -325,6 +1543,225 @@ public class DatabaseService {
         }
     }
 
+    /**
+     * Load the incomplete tasks whose deadline is before the given time, earliest first
+     */
+    public List<PendingDeadline> loadPendingDeadlines(LocalDateTime before) {
+        List<PendingDeadline> deadlines = new ArrayList<>();
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_PENDING_DEADLINES)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(before));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    deadlines.add(new PendingDeadline(rs.getLong("id"), rs.getString("short_description"),
+                        rs.getTimestamp("deadline").toLocalDateTime(),
+                        ToDoItem.Priority.valueOf(rs.getString("priority"))));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load pending deadlines", e);
+        }
+        
+        return deadlines;
+    }
+
+    /**
+     * Current XP and points totals: the newest checkpoint plus the ledger entries after it
+     */
+    public PointsTotals loadPointsTotals() {
+        try (Connection conn = dataSource.getConnection()) {
+            PointsTotals totals = PointsTotals.EMPTY;
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_LATEST_POINTS_CHECKPOINT);
+                 ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    totals = new PointsTotals(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(SUM_POINTS_LEDGER)) {
+                pstmt.setLong(1, totals.ledgerId());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next() && rs.getLong(2) > 0) {
+                        totals = new PointsTotals(rs.getLong(1), totals.entryCount() + rs.getLong(2),
+                            totals.xp() + rs.getLong(3), totals.points() + rs.getLong(4));
+                    }
+                }
+            }
+            return totals;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load points totals", e);
+        }
+    }
+
+    /**
+     * Append an award to the points ledger. When checkpoint is true the totals after the
+     * award are recorded as a checkpoint in the same transaction.
+     *
+     * @return the totals including the award
+     */
+    public PointsTotals appendPointsAward(PointsTotals before, PointsAward award, boolean checkpoint) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(INSERT_POINTS_AWARD, Statement.RETURN_GENERATED_KEYS)) {
+                insert.setTimestamp(1, Timestamp.valueOf(award.awardedAt()));
+                if (award.taskId() != null) {
+                    insert.setLong(2, award.taskId());
+                } else {
+                    insert.setNull(2, Types.BIGINT);
+                }
+                insert.setInt(3, award.taskCount());
+                insert.setLong(4, award.xp());
+                insert.setLong(5, award.points());
+                insert.executeUpdate();
+                
+                long ledgerId;
+                try (ResultSet generatedKeys = insert.getGeneratedKeys()) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("No id generated for points award");
+                    }
+                    ledgerId = generatedKeys.getLong(1);
+                }
+                PointsTotals after = new PointsTotals(ledgerId, before.entryCount() + 1,
+                    before.xp() + award.xp(), before.points() + award.points());
+                
+                if (checkpoint) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(INSERT_POINTS_CHECKPOINT)) {
+                        pstmt.setLong(1, after.ledgerId());
+                        pstmt.setLong(2, after.entryCount());
+                        pstmt.setLong(3, after.xp());
+                        pstmt.setLong(4, after.points());
+                        pstmt.setTimestamp(5, Timestamp.valueOf(award.awardedAt()));
+                        pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                return after;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to record points award", e);
+        }
+    }
+
+    /**
+     * Load every achievement progress counter
+     */
+    public List<ProgressValue> loadAchievementProgress() {
+        List<ProgressValue> values = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ACHIEVEMENT_PROGRESS);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                values.add(new ProgressValue(rs.getString("name"), rs.getLong("value"),
+                    rs.getTimestamp("updated_at").toLocalDateTime()));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load achievement progress", e);
+        }
+        return values;
+    }
+
+    /**
+     * Store changed achievement progress counters in one transaction
+     */
+    public void saveAchievementProgress(Collection<ProgressValue> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_ACHIEVEMENT_PROGRESS)) {
+                for (ProgressValue value : values) {
+                    pstmt.setString(1, value.name());
+                    pstmt.setLong(2, value.value());
+                    pstmt.setTimestamp(3, Timestamp.valueOf(value.updatedAt()));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to save achievement progress", e);
+        }
+    }
+
+    /**
+     * Load the persisted notification state of every task
+     */
+    public Map<Long, NotificationState> loadNotificationStates() {
+        Map<Long, NotificationState> states = new HashMap<>();
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_NOTIFICATION_STATES);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                Timestamp deadline = rs.getTimestamp("deadline");
+                NotificationState state = new NotificationState(rs.getLong("task_id"),
+                    deadline != null ? deadline.toLocalDateTime() : null);
+                
+                String lastKind = rs.getString("last_kind");
+                if (lastKind != null) {
+                    state.setLastKind(NotificationState.Kind.valueOf(lastKind));
+                }
+                Timestamp lastNotified = rs.getTimestamp("last_notified");
+                if (lastNotified != null) {
+                    state.setLastNotified(lastNotified.toLocalDateTime());
+                }
+                Timestamp snoozedUntil = rs.getTimestamp("snoozed_until");
+                if (snoozedUntil != null) {
+                    state.setSnoozedUntil(snoozedUntil.toLocalDateTime());
+                }
+                state.setRepeatCount(rs.getInt("repeat_count"));
+                
+                states.put(state.getTaskId(), state);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load notification states", e);
+        }
+        
+        return states;
+    }
+
+    public void saveNotificationState(NotificationState state) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_NOTIFICATION_STATE)) {
+            
+            pstmt.setLong(1, state.getTaskId());
+            pstmt.setTimestamp(2, state.getDeadline() != null ? Timestamp.valueOf(state.getDeadline()) : null);
+            pstmt.setString(3, state.getLastKind() != null ? state.getLastKind().name() : null);
+            pstmt.setTimestamp(4, state.getLastNotified() != null ? Timestamp.valueOf(state.getLastNotified()) : null);
+            pstmt.setTimestamp(5, state.getSnoozedUntil() != null ? Timestamp.valueOf(state.getSnoozedUntil()) : null);
+            pstmt.setInt(6, state.getRepeatCount());
+            
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to save notification state", e);
+        }
+    }
+
+    public void deleteNotificationState(long taskId) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_NOTIFICATION_STATE)) {
+            
+            pstmt.setLong(1, taskId);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to delete notification state", e);
+        }
+    }
+
     public ObservableList<ToDoItem> getTasksDueSoon(int hours) {
         String query = """
             SELECT id, short_description, details, deadline, category, priority, 
@@ -361,6 +1798,182 @@ public class DatabaseService {
         }
     }
 
+    /**
+     * Callback for task persistence events
+     */
+    public interface TaskChangeListener {
+        void taskSaved(ToDoItem item);
+        
+        void taskDeleted(long itemId);
+        
+        /**
+         * Tasks were inserted in bulk, e.g. by an import
+         */
+        default void tasksImported() {}
+    }
+
+    /**
+     * Receives the stored hashes of a task
+     */
+    public interface TaskHashHandler {
+        void handle(long id, long identityHash, long contentHash);
+    }
+
+    /**
+     * Fills the staging table during {@link #restoreTasks}
+     */
+    public interface RestoreLoader {
+        void load(RestoreTable table) throws IOException;
+    }
+
+    /**
+     * Write access to the staging table of a restore. Upserts and deletes are batched and
+     * applied in call order; work is committed every few thousand rows to keep the undo
+     * log small, which is safe because nothing else can see the staging table.
+     */
+    public static class RestoreTable implements AutoCloseable {
+        private static final int COMMIT_INTERVAL = 20_000;
+        
+        private final Connection conn;
+        private final PreparedStatement upsert;
+        private final PreparedStatement delete;
+        private int pendingUpserts;
+        private int pendingDeletes;
+        private int uncommitted;
+        
+        private RestoreTable(Connection conn) throws SQLException {
+            this.conn = conn;
+            upsert = conn.prepareStatement(UPSERT_RESTORE_TASK);
+            delete = conn.prepareStatement(DELETE_RESTORE_TASK);
+        }
+        
+        /**
+         * Insert a task with its original id, replacing an earlier version
+         *
+         * @param updatedAt when the task was last written, as far as the backup knows
+         */
+        public void put(TaskRecord task, LocalDateTime updatedAt) throws IOException {
+            try {
+                if (pendingDeletes > 0) {
+                    flush();
+                }
+                upsert.setLong(1, task.id());
+                DatabaseService.setTaskRecordParameters(upsert, task, 2);
+                upsert.setTimestamp(13, Timestamp.valueOf(updatedAt));
+                upsert.addBatch();
+                if (++pendingUpserts == BULK_BATCH_SIZE) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new IOException("Failed to stage task " + task.id(), e);
+            }
+        }
+        
+        public void remove(long taskId) throws IOException {
+            try {
+                if (pendingUpserts > 0) {
+                    flush();
+                }
+                delete.setLong(1, taskId);
+                delete.addBatch();
+                if (++pendingDeletes == BULK_BATCH_SIZE) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new IOException("Failed to stage deletion of task " + taskId, e);
+            }
+        }
+        
+        private void flush() throws SQLException {
+            if (pendingUpserts > 0) {
+                upsert.executeBatch();
+                uncommitted += pendingUpserts;
+                pendingUpserts = 0;
+            }
+            if (pendingDeletes > 0) {
+                delete.executeBatch();
+                uncommitted += pendingDeletes;
+                pendingDeletes = 0;
+            }
+            if (uncommitted >= COMMIT_INTERVAL) {
+                conn.commit();
+                uncommitted = 0;
+            }
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            upsert.close();
+            delete.close();
+        }
+    }
+
+    /**
+     * Receives tasks streamed out of the database
+     */
+    public interface TaskRecordHandler {
+        void handle(TaskRecord task) throws IOException;
+    }
+
+    /**
+     * Position of a row in (deadline, id) order, used as a keyset pagination cursor
+     */
+    public record TaskPageKey(LocalDateTime deadline, long id) {}
+
+    /**
+     * What a deadline notification needs to know about an open task
+     */
+    public record PendingDeadline(long id, String shortDescription, LocalDateTime deadline, ToDoItem.Priority priority) {
+        public static PendingDeadline of(ToDoItem item) {
+            return new PendingDeadline(item.getId(), item.getShortDescription(), item.getDeadline(), item.getPriority());
+        }
+    }
+
+    /**
+     * A stored task with the time of the last write to it
+     */
+    public record RemoteTask(TaskRecord task, LocalDateTime updatedAt) {}
+
+    /**
+     * Outcome of {@link #readTaskChanges}: the change sequence read up to, and whether every
+     * stored task was passed rather than only the changed ones
+     */
+    public record TaskChanges(long sequence, boolean complete) {}
+
+    /**
+     * Receives stored tasks with their last write time
+     */
+    public interface RemoteTaskHandler {
+        void handle(RemoteTask task);
+    }
+
+    /**
+     * Decides what a replica's edit turns a locked row into, see {@link #mergeSyncedTask}
+     */
+    public interface TaskMerger {
+        /**
+         * @return the row to write, or null to leave the stored row as it is
+         */
+        RemoteTask merge(RemoteTask stored);
+    }
+
+    /**
+     * One points ledger entry; taskId is null for batches and adjustments
+     */
+    public record PointsAward(LocalDateTime awardedAt, Long taskId, int taskCount, long xp, long points) {}
+
+    /**
+     * A named achievement progress counter
+     */
+    public record ProgressValue(String name, long value, LocalDateTime updatedAt) {}
+
+    /**
+     * Sums of the points ledger up to and including entry ledgerId
+     */
+    public record PointsTotals(long ledgerId, long entryCount, long xp, long points) {
+        public static final PointsTotals EMPTY = new PointsTotals(0, 0, 0, 0);
+    }
+
     // Statistics class
     public static class TaskStatistics {
         public int totalTasks;
@@ -3,7 +3,8 @@ package com.swaraj.todolist.services;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
+import com.swaraj.todolist.dataModel.TaskFilter;
+import com.swaraj.todolist.dataModel.TaskRecord;
 import com.swaraj.todolist.dataModel.ToDoItem;
 import javafx.collections.ObservableList;
 
@@ -17,6 +18,10 @@ import java.util.List;
  * Service for exporting and importing tasks in various formats
  */
 public class ExportImportService {
+    // Tasks committed per transaction while importing
+    private static final int IMPORT_BATCH_SIZE = 500;
+    public static final String BINARY_EXTENSION = ".tdb";
+    
     private static ExportImportService instance;
     private final ObjectMapper objectMapper;
     private final DateTimeFormatter dateTimeFormatter;
@@ -27,7 +32,7 @@ public class ExportImportService {
         dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     }
     
-    public static ExportImportService getInstance() {
+    public static synchronized ExportImportService getInstance() {
         if (instance == null) {
             instance = new ExportImportService();
         }
@@ -38,7 +43,11 @@ public class ExportImportService {
      * Export tasks to JSON file
      */
     public void exportToJSON(ObservableList<ToDoItem> tasks, File file) throws IOException {
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, tasks);
+        try (TaskJsonWriter writer = new TaskJsonWriter(file.toPath(), false)) {
+            for (ToDoItem task : tasks) {
+                writer.write(task);
+            }
+        }
     }
     
     /**
@@ -48,44 +57,113 @@ public class ExportImportService {
         ToDoItem[] tasks = objectMapper.readValue(file, ToDoItem[].class);
         List<ToDoItem> result = new ArrayList<>();
         for (ToDoItem task : tasks) {
-            // Generate new ID to avoid conflicts
-            task.setId(System.currentTimeMillis() + result.size());
+            // Clear the ID so saving inserts a new row instead of overwriting an existing one
+            task.setId(0);
             result.add(task);
         }
         return result;
     }
     
+    /**
+     * Import tasks from a JSON file straight into the database.
+     * Tasks are decoded one at a time and stored in fixed-size transactions, so memory use
+     * does not depend on the file size. Cancelling keeps the batches already committed.
+     *
+     * @param merge update or skip tasks already stored instead of adding them again
+     */
+    public ImportResult importFromJSON(File file, boolean merge, ImportMonitor monitor) throws IOException {
+        try (TaskJsonReader reader = new TaskJsonReader(file.toPath())) {
+            return importTasks(reader, file.length(), merge, monitor);
+        }
+    }
+    
+    /**
+     * Import tasks from a binary export straight into the database, like importFromJSON
+     */
+    public ImportResult importFromBinary(File file, boolean merge, ImportMonitor monitor) throws IOException {
+        try (TaskBinaryReader reader = new TaskBinaryReader(file.toPath())) {
+            return importTasks(reader, file.length(), merge, monitor);
+        }
+    }
+    
+    /**
+     * Migrate a tab-separated task list from earlier versions of the app (ToDoListItems.txt)
+     * into the database, like importFromJSON
+     */
+    public ImportResult importLegacyText(File file, boolean merge, ImportMonitor monitor) throws IOException {
+        try (LegacyTextTaskReader reader = new LegacyTextTaskReader(file.toPath())) {
+            return importTasks(reader, file.length(), merge, monitor);
+        }
+    }
+    
+    /**
+     * Store tasks from a reader in fixed-size transactions, reporting after each batch
+     */
+    private ImportResult importTasks(TaskReader reader, long totalBytes, boolean merge, ImportMonitor monitor) throws IOException {
+        DatabaseService databaseService = DatabaseService.getInstance();
+        TaskImportWriter writer = new TaskImportWriter(databaseService, merge);
+        boolean cancelled = false;
+        List<TaskRecord> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        
+        try {
+            TaskRecord task;
+            while ((task = reader.next()) != null) {
+                batch.add(task);
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    writer.write(batch);
+                    batch.clear();
+                    monitor.progress(writer.getProcessed(), reader.getBytesRead(), totalBytes);
+                    if (monitor.isCancelled()) {
+                        cancelled = true;
+                        break;
+                    }
+                }
+            }
+            if (!cancelled) {
+                writer.write(batch);
+                monitor.progress(writer.getProcessed(), totalBytes, totalBytes);
+            }
+        } finally {
+            if (writer.getProcessed() > 0) {
+                databaseService.fireTasksImported();
+            }
+        }
+        return writer.result(cancelled, reader.getInvalidFields());
+    }
+    
     /**
      * Export tasks to CSV file
      */
     public void exportToCSV(ObservableList<ToDoItem> tasks, File file) throws IOException {
-        try (FileWriter fileWriter = new FileWriter(file);
-             CSVWriter csvWriter = new CSVWriter(fileWriter)) {
-            
-            // Write header
-            String[] header = {
-                "ID", "Short Description", "Details", "Deadline", "Category", 
-                "Priority", "Completed", "Created Date", "Completed Date", "Points"
-            };
-            csvWriter.writeNext(header);
-            
-            // Write data
+        try (TaskCsvWriter writer = new TaskCsvWriter(file.toPath())) {
             for (ToDoItem task : tasks) {
-                String[] row = {
-                    String.valueOf(task.getId()),
-                    task.getShortDescription(),
-                    task.getDetails(),
-                    task.getDeadline() != null ? task.getDeadline().format(dateTimeFormatter) : "",
-                    task.getCategory().name(),
-                    task.getPriority().name(),
-                    String.valueOf(task.isCompleted()),
-                    task.getCreatedDate().format(dateTimeFormatter),
-                    task.getCompletedDate() != null ? task.getCompletedDate().format(dateTimeFormatter) : "",
-                    String.valueOf(task.getPoints())
-                };
-                csvWriter.writeNext(row);
+                writer.write(TaskRecord.of(task));
+            }
+        }
+    }
+    
+    /**
+     * Export the tasks matching a filter straight from a database cursor. The format
+     * follows the file extension: CSV, the binary backup format, or JSON otherwise.
+     *
+     * @return number of tasks written
+     */
+    public long exportTasks(TaskFilter filter, File file) throws IOException {
+        DatabaseService databaseService = DatabaseService.getInstance();
+        String name = file.getName().toLowerCase();
+        if (name.endsWith(".csv")) {
+            try (TaskCsvWriter writer = new TaskCsvWriter(file.toPath())) {
+                return databaseService.streamTasks(filter, writer::write);
             }
         }
+        if (name.endsWith(BINARY_EXTENSION)) {
+            try (TaskBinaryWriter writer = new TaskBinaryWriter(file.toPath(), true)) {
+                return databaseService.streamTasks(filter, writer::write);
+            }
+        }
+        try (TaskJsonWriter writer = new TaskJsonWriter(file.toPath(), false)) {
+            return databaseService.streamTasks(filter, writer::write);
+        }
     }
     
     /**
@@ -186,16 +264,51 @@ public class ExportImportService {
     }
     
     /**
-     * Create a simple backup of all tasks
+     * Receives progress from a running import and can ask it to stop
      */
-    public void createBackup(ObservableList<ToDoItem> tasks) {
+    public interface ImportMonitor {
+        void progress(long tasksImported, long bytesRead, long totalBytes);
+        
+        boolean isCancelled();
+    }
+    
+    /**
+     * Outcome of an import. Outside merge mode every task is inserted. Invalid fields were
+     * missing or malformed in the file and replaced by defaults.
+     */
+    public record ImportResult(long inserted, long updated, long skipped, long invalidFields, boolean cancelled) {
+        /**
+         * Tasks added or changed
+         */
+        public long imported() {
+            return inserted + updated;
+        }
+    }
+    
+    /**
+     * Import tasks from a CSV file straight into the database, parsing chunks of the
+     * file in parallel. Rows are stored in file order in fixed-size transactions;
+     * cancelling keeps the batches already committed.
+     */
+    public ImportResult importFromCSV(File file, boolean merge, ImportMonitor monitor) throws IOException {
+        DatabaseService databaseService = DatabaseService.getInstance();
+        TaskImportWriter writer = new TaskImportWriter(databaseService, merge);
+        long totalBytes = file.length();
+        
+        ParallelCsvTaskReader.Result result;
         try {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            File backupFile = new File("backup_" + timestamp + ".json");
-            exportToJSON(tasks, backupFile);
-            System.out.println("Backup created: " + backupFile.getAbsolutePath());
-        } catch (IOException e) {
-            System.err.println("Error creating backup: " + e.getMessage());
+            result = new ParallelCsvTaskReader().read(file.toPath(), (tasks, bytesRead) -> {
+                for (int from = 0; from < tasks.size(); from += IMPORT_BATCH_SIZE) {
+                    writer.write(tasks.subList(from, Math.min(from + IMPORT_BATCH_SIZE, tasks.size())));
+                }
+                monitor.progress(writer.getProcessed(), bytesRead, totalBytes);
+                return !monitor.isCancelled();
+            });
+        } finally {
+            if (writer.getProcessed() > 0) {
+                databaseService.fireTasksImported();
+            }
         }
+        return writer.result(result.stopped(), result.invalidFields());
     }
 }
@@ -0,0 +1,199 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Reads the tab-separated task list kept by earlier versions of the app
+ * (ToDoListItems.txt): one task per line as short description, details and a
+ * yyyy-MM-dd deadline. The file is memory-mapped in large windows and scanned
+ * byte by byte for tabs and line ends; only the three known fields are ever turned
+ * into objects, and extra columns and blank lines are skipped in place.
+ * Legacy tasks have no category, priority or completion, so they come in as
+ * OTHER / MEDIUM, open, created now and due at the end of their deadline day.
+ * A missing or malformed deadline falls back to tomorrow, like the CSV import.
+ */
+public class LegacyTextTaskReader implements TaskReader {
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+    private static final int FIELDS = 3;
+    private static final int SHORT_DESCRIPTION = 0;
+    private static final int DETAILS = 1;
+    private static final int DEADLINE = 2;
+
+    private final FileChannel channel;
+    private final long size;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final int points = ToDoItem.Priority.MEDIUM.getValue() * 10;
+    // Start and end offsets, relative to the line, of the fields on the current line
+    private final int[] fieldStart = new int[FIELDS];
+    private final int[] fieldEnd = new int[FIELDS];
+    private byte[] scratch = new byte[1024];
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    // Offset of the current line within the window
+    private int lineBase;
+    private long invalidFields;
+
+    public LegacyTextTaskReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            size = channel.size();
+            if (size > 0) {
+                mapFrom(0, 0);
+                if (size >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB && window.get(2) == (byte) 0xBF) {
+                    position = 3; // UTF-8 byte order mark
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public TaskRecord next() throws IOException {
+        while (position < size) {
+            int fields = scanLine();
+            if (fields == 1 && fieldStart[0] == fieldEnd[0]) {
+                continue; // blank line
+            }
+
+            String shortDescription = string(SHORT_DESCRIPTION, fields);
+            String details = string(DETAILS, fields);
+            LocalDateTime deadline = null;
+            if (fields > DEADLINE) {
+                int length = copy(DEADLINE);
+                long packed = CsvFieldDecoder.parseDate(scratch, 0, length);
+                if (packed != CsvFieldDecoder.INVALID) {
+                    deadline = LocalDateTime.of(CsvFieldDecoder.year(packed), CsvFieldDecoder.month(packed),
+                        CsvFieldDecoder.day(packed), 23, 59, 59);
+                }
+            }
+            if (deadline == null) {
+                invalidFields++;
+                deadline = now.plusDays(1);
+            }
+            return new TaskRecord(0, shortDescription, details, deadline, ToDoItem.Category.OTHER,
+                ToDoItem.Priority.MEDIUM, false, now, null, points);
+        }
+        return null;
+    }
+
+    @Override
+    public long getBytesRead() {
+        return position;
+    }
+
+    /**
+     * Number of lines whose deadline was missing or malformed and replaced by the default
+     */
+    @Override
+    public long getInvalidFields() {
+        return invalidFields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Find the field boundaries of the line at the current position and move past it.
+     * The window is moved so the whole line lies inside it.
+     *
+     * @return number of fields recorded, at most FIELDS
+     */
+    private int scanLine() throws IOException {
+        long lineStart = position;
+        if (lineStart < windowStart || lineStart >= windowStart + window.limit()) {
+            mapFrom(lineStart, 0);
+        }
+        long lineLimit = size - lineStart;
+        int base = (int) (lineStart - windowStart);
+        int fields = 0;
+        int fieldBegin = 0;
+        int offset = 0;
+        while (offset < lineLimit) {
+            while (base + offset == window.limit()) {
+                // The line runs past the window: remap starting at the line, growing if it already did
+                if (base == 0) {
+                    growWindow();
+                } else {
+                    mapFrom(lineStart, offset + 1L);
+                    base = 0;
+                }
+            }
+            byte b = window.get(base + offset);
+            if (b == '\n') {
+                break;
+            }
+            if (b == '\t') {
+                if (fields < FIELDS) {
+                    fieldStart[fields] = fieldBegin;
+                    fieldEnd[fields] = offset;
+                    fields++;
+                }
+                fieldBegin = offset + 1;
+            }
+            offset++;
+        }
+
+        if (fields < FIELDS) {
+            int end = offset;
+            if (end > fieldBegin && window.get(base + end - 1) == '\r') {
+                end--;
+            }
+            fieldStart[fields] = fieldBegin;
+            fieldEnd[fields] = end;
+            fields++;
+        }
+        lineBase = base;
+        position = lineStart + Math.min(offset + 1L, lineLimit);
+        return fields;
+    }
+
+    private String string(int field, int fields) {
+        if (field >= fields) {
+            return "";
+        }
+        int length = copy(field);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copy a field's bytes into the scratch buffer
+     *
+     * @return number of bytes copied
+     */
+    private int copy(int field) {
+        int length = fieldEnd[field] - fieldStart[field];
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.get(lineBase + fieldStart[field], scratch, 0, length);
+        return length;
+    }
+
+    private void mapFrom(long offset, long minLength) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(Math.max(MAP_WINDOW, minLength), size - offset));
+        windowStart = offset;
+    }
+
+    private void growWindow() throws IOException {
+        long length = Math.min((long) window.limit() * 2, size - windowStart);
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Line at offset " + windowStart + " is too long");
+        }
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+    }
+}
@@ -0,0 +1,856 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * In-process replica of the task table used in local-first mode.
+ * Reads are served from memory and writes are applied here at once, then recorded in a
+ * queue of pending operations that {@link SyncEngine} replays to MySQL. The queue holds
+ * at most one operation per task: later edits are folded into it, remembering when each
+ * field was last edited so conflicts can be settled field by field. Tasks created here get
+ * negative ids until the database assigns real ones; the old ids stay resolvable.
+ * The replica, queue included, is written behind to task-replica.dat and replaced
+ * atomically, so it survives restarts while the database is unreachable.
+ */
+public class LocalTaskStore implements TaskStore {
+    private static final Path REPLICA_FILE = Paths.get("task-replica.dat");
+    private static final int MAGIC = 0x54444C52; // "TDLR"
+    private static final int VERSION = 2;
+    // Magic, version and body length, ahead of the replica header body
+    private static final int HEADER_PREFIX_SIZE = 12;
+    // Records written to the task file for an entry
+    private static final int HAS_BASE = 1;
+    private static final int HAS_LOCAL = 2;
+    private static final int LOCAL_IS_BASE = 4;
+    private static final long SAVE_DELAY_MILLIS = 200;
+
+    /**
+     * Unit of conflict resolution. Completion covers the flag, its time and the points
+     * awarded for it, which only make sense together.
+     */
+    public enum Field {
+        SHORT_DESCRIPTION, DETAILS, DEADLINE, CATEGORY, PRIORITY, COMPLETION;
+
+        int bit() {
+            return 1 << ordinal();
+        }
+
+        boolean differs(TaskRecord a, TaskRecord b) {
+            return switch (this) {
+                case SHORT_DESCRIPTION -> !Objects.equals(a.shortDescription(), b.shortDescription());
+                case DETAILS -> !Objects.equals(a.details(), b.details());
+                case DEADLINE -> !Objects.equals(a.deadline(), b.deadline());
+                case CATEGORY -> a.category() != b.category();
+                case PRIORITY -> a.priority() != b.priority();
+                // Points follow from priority, deadline and completion, so a change to them
+                // alone is not a completion edit
+                case COMPLETION -> a.completed() != b.completed()
+                    || !Objects.equals(a.completedDate(), b.completedDate());
+            };
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    /**
+     * Told when the replica changed other than through this store's own save and delete:
+     * database changes were pulled in, or tasks created here received their database ids.
+     * Called on the sync thread.
+     */
+    public interface ReplicaListener {
+        void replicaChanged();
+    }
+
+    /**
+     * A pending operation as handed to the sync engine: the task as last seen in the
+     * database (null if it was created here), as it is now (null if deleted here), and
+     * when each field was edited (0 for fields not edited)
+     */
+    record Push(long taskId, TaskRecord base, TaskRecord local, long[] editTimes, long queuedAt) {
+        /**
+         * Local edit time of the most recently edited field
+         */
+        long lastEdit() {
+            long last = queuedAt;
+            for (long time : editTimes) {
+                last = Math.max(last, time);
+            }
+            return last;
+        }
+    }
+
+    /**
+     * Outcome of merging a local edit into a database row: the merged task, the fields
+     * whose local value won, and how many fields had been changed on both sides
+     */
+    record Resolution(TaskRecord merged, int localFields, int conflicts) {}
+
+    private static final class Entry {
+        // As last seen in the database; null until a task created here is stored
+        TaskRecord base;
+        // As shown; null once deleted here
+        TaskRecord local;
+
+        Entry(TaskRecord base, TaskRecord local) {
+            this.base = base;
+            this.local = local;
+        }
+    }
+
+    private static final class PendingOp {
+        final long queuedAt;
+        final long[] editTimes = new long[FIELDS.length];
+
+        PendingOp(long queuedAt) {
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private static LocalTaskStore instance;
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>();
+    // Oldest first, keyed by task id
+    private final LinkedHashMap<Long, PendingOp> pending = new LinkedHashMap<>();
+    // Ids given to tasks created here, mapped to the ids the database assigned
+    private final Map<Long, Long> assignedIds = new HashMap<>();
+    private final List<ReplicaListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledThreadPoolExecutor writer;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private long nextLocalId = -1;
+    // Change sequence the replica has caught up to; -1 until it has read the whole table once
+    private long sequence = -1;
+    // Database clock minus local clock, as last measured
+    private long clockOffsetMillis;
+    private volatile Runnable pushRequest;
+
+    private LocalTaskStore() {
+        writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-replica-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        load();
+    }
+
+    public static synchronized LocalTaskStore getInstance() {
+        if (instance == null) {
+            instance = new LocalTaskStore();
+        }
+        return instance;
+    }
+
+    @Override
+    public synchronized ObservableList<ToDoItem> loadTodoItems() {
+        ObservableList<ToDoItem> items = FXCollections.observableArrayList();
+        for (Entry entry : entries.values()) {
+            if (entry.local != null) {
+                items.add(entry.local.toToDoItem());
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Apply a save to the replica and queue it for the database. New tasks receive a
+     * local id, which is set on the item.
+     */
+    @Override
+    public void saveTodoItem(ToDoItem item) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            long id = resolveId(item.getId());
+            Entry entry = entries.get(id);
+            if (entry == null || entry.local == null) {
+                id = nextLocalId--;
+                entry = new Entry(null, null);
+                entries.put(id, entry);
+            }
+            TaskRecord task = asStored(TaskRecord.of(item).withId(id));
+            item.setId(id);
+            // Keep the shown item identical to the replica so refreshes do not see a change
+            item.setCreatedDate(task.createdDate());
+            item.setCompletedDate(task.completedDate());
+
+            int changed = entry.local == null ? allFields() : changedFields(entry.local, task);
+            if (changed == 0) {
+                return;
+            }
+            entry.local = task;
+            PendingOp op = pending.computeIfAbsent(id, key -> new PendingOp(now));
+            for (Field field : FIELDS) {
+                if ((changed & field.bit()) != 0) {
+                    op.editTimes[field.ordinal()] = now;
+                }
+            }
+        }
+        scheduleSave();
+        requestPush();
+    }
+
+    @Override
+    public void deleteTodoItem(long itemId) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            long id = resolveId(itemId);
+            Entry entry = entries.get(id);
+            if (entry == null || entry.local == null) {
+                return;
+            }
+            if (entry.base == null) {
+                // Never reached the database, so there is nothing to delete there
+                entries.remove(id);
+                pending.remove(id);
+            } else {
+                entry.local = null;
+                pending.computeIfAbsent(id, key -> new PendingOp(now));
+            }
+        }
+        scheduleSave();
+        requestPush();
+    }
+
+    /**
+     * The current id of a task, following ids replaced when the database stored it
+     */
+    public synchronized long resolveId(long id) {
+        Long assigned = assignedIds.get(id);
+        return assigned != null ? assigned : id;
+    }
+
+    public void addReplicaListener(ReplicaListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeReplicaListener(ReplicaListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Operations not yet confirmed by the database
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * How long the oldest unconfirmed operation has been waiting, or 0 with none pending
+     */
+    public synchronized long getOldestPendingAgeMillis() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        return System.currentTimeMillis() - pending.values().iterator().next().queuedAt;
+    }
+
+    /**
+     * Write the replica now and stop the background writer
+     */
+    public void shutdown() {
+        writer.shutdownNow();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveScheduled.set(false);
+        save();
+    }
+
+    // ---- Sync engine side ----
+
+    void setPushRequest(Runnable request) {
+        pushRequest = request;
+    }
+
+    synchronized long getSequence() {
+        return sequence;
+    }
+
+    synchronized long getClockOffsetMillis() {
+        return clockOffsetMillis;
+    }
+
+    synchronized void setClockOffsetMillis(long offset) {
+        clockOffsetMillis = offset;
+    }
+
+    /**
+     * Read the whole table on the next pull, for changes that bypassed the change log
+     */
+    synchronized void resetSequence() {
+        sequence = -1;
+    }
+
+    /**
+     * The oldest pending operation, or null when the replica is in sync
+     */
+    synchronized Push nextPush() {
+        Iterator<Map.Entry<Long, PendingOp>> iterator = pending.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Map.Entry<Long, PendingOp> next = iterator.next();
+        Entry entry = entries.get(next.getKey());
+        PendingOp op = next.getValue();
+        return new Push(next.getKey(), entry.base, entry.local, op.editTimes.clone(), op.queuedAt);
+    }
+
+    /**
+     * A task created here was stored under a database id
+     */
+    void created(Push push, long id) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            assignedIds.put(push.taskId(), id);
+            Entry entry = entries.remove(push.taskId());
+            PendingOp op = pending.remove(push.taskId());
+            TaskRecord stored = push.local().withId(id);
+            if (entry == null) {
+                // Deleted here while it was being stored; delete it there too
+                entries.put(id, new Entry(stored, null));
+                pending.put(id, new PendingOp(now));
+            } else {
+                if (entry.local != null) {
+                    entry.local = entry.local.withId(id);
+                }
+                entries.put(id, entry);
+                if (op != null) {
+                    pending.put(id, op);
+                }
+                confirm(id, push, stored);
+            }
+        }
+        scheduleSave();
+        fireReplicaChanged();
+    }
+
+    /**
+     * An edit was merged into the database row, which now reads {@code stored}; null if the
+     * task had been deleted there, which wins over the edit
+     */
+    void updated(Push push, TaskRecord stored) {
+        boolean shownChanged;
+        synchronized (this) {
+            Entry entry = entries.get(push.taskId());
+            TaskRecord before = entry != null ? entry.local : null;
+            if (stored == null) {
+                entries.remove(push.taskId());
+                pending.remove(push.taskId());
+            } else if (entry != null) {
+                confirm(push.taskId(), push, stored);
+            }
+            shownChanged = entry != null && !Objects.equals(before, entry.local) || stored == null;
+        }
+        scheduleSave();
+        if (shownChanged) {
+            fireReplicaChanged();
+        }
+    }
+
+    /**
+     * A delete reached the database
+     */
+    synchronized void deleted(Push push) {
+        Entry entry = entries.get(push.taskId());
+        if (entry != null && entry.local == null) {
+            entries.remove(push.taskId());
+            pending.remove(push.taskId());
+        }
+        scheduleSave();
+    }
+
+    /**
+     * The database refused an operation for good; drop it and show the task as stored
+     */
+    void rejected(Push push) {
+        synchronized (this) {
+            pending.remove(push.taskId());
+            Entry entry = entries.get(push.taskId());
+            if (entry != null) {
+                if (entry.base == null) {
+                    entries.remove(push.taskId());
+                } else {
+                    entry.local = entry.base;
+                }
+            }
+        }
+        scheduleSave();
+        fireReplicaChanged();
+    }
+
+    /**
+     * Apply changes read from the database. Tasks with no pending operation take the
+     * stored values; pending edits are merged field by field with {@link #resolve}.
+     * A task deleted in the database is removed here even if it has pending edits.
+     *
+     * @return number of fields changed on both sides
+     */
+    int applyChanges(List<DatabaseService.RemoteTask> changed, List<Long> deletedIds,
+                     DatabaseService.TaskChanges changes) {
+        int conflicts = 0;
+        boolean shownChanged = false;
+        synchronized (this) {
+            Set<Long> seen = changes.complete() ? new HashSet<>() : null;
+            for (DatabaseService.RemoteTask remote : changed) {
+                TaskRecord stored = remote.task();
+                long id = stored.id();
+                if (seen != null) {
+                    seen.add(id);
+                }
+                Entry entry = entries.get(id);
+                PendingOp op = pending.get(id);
+                if (entry == null) {
+                    entries.put(id, new Entry(stored, stored));
+                    shownChanged = true;
+                } else if (op == null) {
+                    shownChanged |= !stored.equals(entry.local);
+                    entry.base = stored;
+                    entry.local = stored;
+                } else if (entry.local == null) {
+                    // Deleted here; the delete still goes ahead
+                    entry.base = stored;
+                } else {
+                    Resolution resolution = resolve(stored, entry.base, entry.local, op.editTimes,
+                        toLocalMillis(remote.updatedAt()));
+                    conflicts += resolution.conflicts();
+                    shownChanged |= !resolution.merged().equals(entry.local);
+                    entry.base = stored;
+                    entry.local = resolution.merged();
+                    for (Field field : FIELDS) {
+                        if ((resolution.localFields() & field.bit()) == 0) {
+                            op.editTimes[field.ordinal()] = 0;
+                        }
+                    }
+                    if (resolution.localFields() == 0) {
+                        pending.remove(id);
+                    }
+                }
+            }
+
+            List<Long> removed = new ArrayList<>(deletedIds);
+            if (seen != null) {
+                for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+                    if (entry.getValue().base != null && !seen.contains(entry.getKey())) {
+                        removed.add(entry.getKey());
+                    }
+                }
+            }
+            for (long id : removed) {
+                Entry entry = entries.remove(id);
+                pending.remove(id);
+                shownChanged |= entry != null && entry.local != null;
+            }
+            sequence = changes.sequence();
+        }
+        scheduleSave();
+        if (shownChanged) {
+            fireReplicaChanged();
+        }
+        return conflicts;
+    }
+
+    /**
+     * Per-field last-writer-wins merge of local edits into a database row. A field edited
+     * here keeps the local value unless the database changed it too since {@code base} and
+     * that write came later than the local edit. Untouched fields take the stored value.
+     *
+     * @param editTimes local edit time of each field, 0 for fields not edited here
+     * @param storedAt time of the last write to the row, on the local clock
+     */
+    static Resolution resolve(TaskRecord stored, TaskRecord base, TaskRecord local, long[] editTimes, long storedAt) {
+        int localFields = 0;
+        int conflicts = 0;
+        for (Field field : FIELDS) {
+            long editedAt = editTimes[field.ordinal()];
+            if (editedAt == 0) {
+                continue;
+            }
+            boolean changedThere = base == null || field.differs(stored, base);
+            if (changedThere && field.differs(stored, local)) {
+                conflicts++;
+            }
+            if (!changedThere || editedAt >= storedAt) {
+                localFields |= field.bit();
+            }
+        }
+        return new Resolution(combine(stored, local, localFields), localFields, conflicts);
+    }
+
+    /**
+     * Convert a database timestamp to the local clock using the last measured offset
+     */
+    synchronized long toLocalMillis(LocalDateTime databaseTime) {
+        return databaseTime.toInstant(ZoneOffset.UTC).toEpochMilli() - clockOffsetMillis;
+    }
+
+    /**
+     * Convert a local time to a database timestamp using the last measured offset
+     */
+    synchronized LocalDateTime toDatabaseTime(long localMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis + clockOffsetMillis, 1000),
+            Math.floorMod(localMillis + clockOffsetMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Settle the replica after the database confirmed a push: the stored row becomes the
+     * base, and only fields edited again while the push was in flight stay pending
+     */
+    private void confirm(long id, Push push, TaskRecord stored) {
+        Entry entry = entries.get(id);
+        PendingOp op = pending.get(id);
+        entry.base = stored;
+        if (entry.local == null) {
+            return;
+        }
+        int editedSince = 0;
+        if (op != null) {
+            for (Field field : FIELDS) {
+                if (op.editTimes[field.ordinal()] > push.editTimes()[field.ordinal()]) {
+                    editedSince |= field.bit();
+                } else {
+                    op.editTimes[field.ordinal()] = 0;
+                }
+            }
+        }
+        entry.local = combine(stored, entry.local, editedSince);
+        if (editedSince == 0) {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * The stored task with the given fields taken from the local one. Points are derived
+     * again when the result mixes both sides, since they depend on priority, deadline and
+     * completion together.
+     */
+    private static TaskRecord combine(TaskRecord stored, TaskRecord local, int localFields) {
+        if (localFields == 0) {
+            return stored;
+        }
+        boolean completion = (localFields & Field.COMPLETION.bit()) != 0;
+        TaskRecord merged = new TaskRecord(stored.id(),
+            (localFields & Field.SHORT_DESCRIPTION.bit()) != 0 ? local.shortDescription() : stored.shortDescription(),
+            (localFields & Field.DETAILS.bit()) != 0 ? local.details() : stored.details(),
+            (localFields & Field.DEADLINE.bit()) != 0 ? local.deadline() : stored.deadline(),
+            (localFields & Field.CATEGORY.bit()) != 0 ? local.category() : stored.category(),
+            (localFields & Field.PRIORITY.bit()) != 0 ? local.priority() : stored.priority(),
+            completion ? local.completed() : stored.completed(),
+            stored.createdDate(),
+            completion ? local.completedDate() : stored.completedDate(),
+            completion ? local.points() : stored.points());
+        if (merged.equals(local.withId(stored.id())) || merged.equals(stored)) {
+            return merged;
+        }
+        ToDoItem item = new ToDoItem(merged.shortDescription(), merged.details(), merged.deadline(),
+            merged.category(), merged.priority());
+        item.setCompletedDate(merged.completedDate());
+        item.setCompleted(merged.completed());
+        return new TaskRecord(merged.id(), merged.shortDescription(), merged.details(), merged.deadline(),
+            merged.category(), merged.priority(), merged.completed(), merged.createdDate(),
+            merged.completedDate(), item.getPoints());
+    }
+
+    private static int changedFields(TaskRecord before, TaskRecord after) {
+        int changed = 0;
+        for (Field field : FIELDS) {
+            if (field.differs(before, after)) {
+                changed |= field.bit();
+            }
+        }
+        return changed;
+    }
+
+    private static int allFields() {
+        return (1 << FIELDS.length) - 1;
+    }
+
+    /**
+     * The task as the database will store it: DATETIME columns keep whole seconds, rounded
+     */
+    private static TaskRecord asStored(TaskRecord task) {
+        return new TaskRecord(task.id(), task.shortDescription(), task.details(), asStored(task.deadline()),
+            task.category(), task.priority(), task.completed(),
+            asStored(task.createdDate() != null ? task.createdDate() : LocalDateTime.now()),
+            asStored(task.completedDate()), task.points());
+    }
+
+    private static LocalDateTime asStored(LocalDateTime time) {
+        return time != null ? time.plusNanos(500_000_000).truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
+    private void requestPush() {
+        Runnable request = pushRequest;
+        if (request != null) {
+            request.run();
+        }
+    }
+
+    private void fireReplicaChanged() {
+        for (ReplicaListener listener : listeners) {
+            try {
+                listener.replicaChanged();
+            } catch (RuntimeException e) {
+                System.err.println("Error in replica listener: " + e.getMessage());
+            }
+        }
+    }
+
+    // ---- Persistence ----
+
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(() -> {
+                    // Cleared first so a change made during the write schedules another
+                    saveScheduled.set(false);
+                    save();
+                }, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Writer already shut down; the final save on shutdown writes this change
+                saveScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write the replica to a temporary file, force it to disk and rename it into place.
+     * The state is copied under the lock and encoded outside it.
+     * <pre>
+     * header: u32 magic "TDLR", u32 version, u32 body length,
+     *         body: u64 sequence, u64 next local id, u64 clock offset,
+     *               u32 count, then per assigned id: u64 local id, u64 database id,
+     *               u32 count, then per task: u64 id, u8 which records follow,
+     *               u32 count, then per pending operation: u64 task id, u64 queued at,
+     *               u64 edit time per field,
+     *         u64 CRC32 of the header up to here
+     * tasks:  the base and local records of each task, in header order, as a task file
+     *         (see {@link TaskBinaryFormat}); a local record equal to its base is not repeated
+     * </pre>
+     */
+    private void save() {
+        List<Entry> entryCopies;
+        Map<Long, long[]> opCopies = new LinkedHashMap<>();
+        Map<Long, Long> queuedAt = new HashMap<>();
+        Map<Long, Long> assignedCopy;
+        List<Long> ids;
+        long localId;
+        long seq;
+        long offset;
+        synchronized (this) {
+            ids = new ArrayList<>(entries.keySet());
+            entryCopies = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                entryCopies.add(new Entry(entry.base, entry.local));
+            }
+            for (Map.Entry<Long, PendingOp> op : pending.entrySet()) {
+                opCopies.put(op.getKey(), op.getValue().editTimes.clone());
+                queuedAt.put(op.getKey(), op.getValue().queuedAt);
+            }
+            assignedCopy = new HashMap<>(assignedIds);
+            localId = nextLocalId;
+            seq = sequence;
+            offset = clockOffsetMillis;
+        }
+
+        Path temp = REPLICA_FILE.resolveSibling(REPLICA_FILE.getFileName() + ".tmp");
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeLong(seq);
+            out.writeLong(localId);
+            out.writeLong(offset);
+            out.writeInt(assignedCopy.size());
+            for (Map.Entry<Long, Long> assigned : assignedCopy.entrySet()) {
+                out.writeLong(assigned.getKey());
+                out.writeLong(assigned.getValue());
+            }
+            out.writeInt(entryCopies.size());
+            for (int i = 0; i < entryCopies.size(); i++) {
+                out.writeLong(ids.get(i));
+                out.writeByte(records(entryCopies.get(i)));
+            }
+            out.writeInt(opCopies.size());
+            for (Map.Entry<Long, long[]> op : opCopies.entrySet()) {
+                out.writeLong(op.getKey());
+                out.writeLong(queuedAt.get(op.getKey()));
+                for (long time : op.getValue()) {
+                    out.writeLong(time);
+                }
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_PREFIX_SIZE + body.size() + Long.BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(body.size()).put(body.toByteArray());
+            CRC32 crc = new CRC32();
+            crc.update(header.array(), 0, header.position());
+            header.putLong(crc.getValue()).flip();
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                try (TaskBinaryWriter tasks = new TaskBinaryWriter(channel, false)) {
+                    for (Entry entry : entryCopies) {
+                        int records = records(entry);
+                        if ((records & HAS_BASE) != 0) {
+                            tasks.write(entry.base);
+                        }
+                        if ((records & HAS_LOCAL) != 0) {
+                            tasks.write(entry.local);
+                        }
+                    }
+                }
+                channel.force(true);
+            }
+            Files.move(temp, REPLICA_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing task replica: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                // Overwritten by the next save
+            }
+        }
+    }
+
+    /**
+     * Which of an entry's records are written to the task file
+     */
+    private static int records(Entry entry) {
+        int records = 0;
+        if (entry.base != null) {
+            records |= HAS_BASE;
+        }
+        if (entry.local != null) {
+            records |= entry.local.equals(entry.base) ? LOCAL_IS_BASE : HAS_LOCAL;
+        }
+        return records;
+    }
+
+    /**
+     * Read the replica written by the last run. A missing or damaged file leaves the
+     * replica empty, to be filled from the database by the first sync.
+     */
+    private void load() {
+        if (!Files.isRegularFile(REPLICA_FILE)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(REPLICA_FILE, StandardOpenOption.READ)) {
+            ByteBuffer prefix = readFully(channel, 0, HEADER_PREFIX_SIZE);
+            if (prefix.getInt() != MAGIC || prefix.getInt() != VERSION) {
+                throw new IOException("not a task replica of this version");
+            }
+            int bodyLength = prefix.getInt();
+            if (bodyLength < 0 || HEADER_PREFIX_SIZE + (long) bodyLength + Long.BYTES > channel.size()) {
+                throw new IOException("header is truncated");
+            }
+            ByteBuffer in = readFully(channel, HEADER_PREFIX_SIZE, bodyLength + Long.BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(prefix.flip());
+            crc.update(in.duplicate().limit(bodyLength));
+            if (in.getLong(bodyLength) != crc.getValue()) {
+                throw new IOException("checksum mismatch");
+            }
+
+            long seq = in.getLong();
+            long localId = in.getLong();
+            long offset = in.getLong();
+            Map<Long, Long> assigned = new HashMap<>();
+            for (int count = in.getInt(); count > 0; count--) {
+                assigned.put(in.getLong(), in.getLong());
+            }
+            int entryCount = in.getInt();
+            long[] entryIds = new long[entryCount];
+            int[] entryRecords = new int[entryCount];
+            for (int i = 0; i < entryCount; i++) {
+                entryIds[i] = in.getLong();
+                entryRecords[i] = in.get();
+            }
+            LinkedHashMap<Long, PendingOp> loadedOps = new LinkedHashMap<>();
+            for (int count = in.getInt(); count > 0; count--) {
+                long id = in.getLong();
+                PendingOp op = new PendingOp(in.getLong());
+                for (int i = 0; i < FIELDS.length; i++) {
+                    op.editTimes[i] = in.getLong();
+                }
+                loadedOps.put(id, op);
+            }
+
+            Map<Long, Entry> loadedEntries = new LinkedHashMap<>();
+            try (TaskBinaryReader tasks = new TaskBinaryReader(channel, HEADER_PREFIX_SIZE + bodyLength + Long.BYTES)) {
+                for (int i = 0; i < entryCount; i++) {
+                    TaskRecord base = (entryRecords[i] & HAS_BASE) != 0 ? nextTask(tasks) : null;
+                    TaskRecord local = (entryRecords[i] & HAS_LOCAL) != 0 ? nextTask(tasks)
+                        : (entryRecords[i] & LOCAL_IS_BASE) != 0 ? base : null;
+                    loadedEntries.put(entryIds[i], new Entry(base, local));
+                }
+                if (tasks.next() != null) {
+                    throw new IOException("more tasks than the header lists");
+                }
+            }
+
+            synchronized (this) {
+                sequence = seq;
+                nextLocalId = localId;
+                clockOffsetMillis = offset;
+                assignedIds.putAll(assigned);
+                entries.putAll(loadedEntries);
+                pending.putAll(loadedOps);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable task replica: " + e.getMessage());
+        }
+    }
+
+    private static TaskRecord nextTask(TaskBinaryReader tasks) throws IOException {
+        TaskRecord task = tasks.next();
+        if (task == null) {
+            throw new IOException("fewer tasks than the header lists");
+        }
+        return task;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("replica is truncated");
+            }
+        }
+        return buffer.flip();
+    }
+}
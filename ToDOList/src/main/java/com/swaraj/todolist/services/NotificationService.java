@@ -1,33 +1,69 @@
 package com.swaraj.todolist.services;
 
+import com.swaraj.todolist.dataModel.Achievement;
+import com.swaraj.todolist.dataModel.NotificationState;
 import com.swaraj.todolist.dataModel.ToDoItem;
-import javafx.application.Platform;
+import com.swaraj.todolist.utils.FxDispatcher;
+import com.swaraj.todolist.utils.NotificationCenter;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Service for managing notifications and alerts for upcoming deadlines
+ * Service for managing notifications and alerts for upcoming deadlines.
+ * Each pending task has one timer armed for its next due-soon, overdue or reminder moment;
+ * timers are re-armed from task save/delete events instead of polling the database.
+ * Only the tasks with an event in the current window are read and armed, so start-up
+ * cost follows what is due soon rather than the size of the task table.
+ * All deadline bookkeeping runs on the single notifier thread, and what was already shown
+ * is persisted per task so reminders are neither repeated forever nor lost on restart.
  */
-public class NotificationService {
+public class NotificationService implements DatabaseService.TaskChangeListener {
+    private static final Duration DUE_SOON_WINDOW = Duration.ofHours(1);
+    // Timers are armed only for events inside this window; the next window is loaded when it ends
+    private static final Duration ARM_WINDOW = Duration.ofHours(12);
+    // Notifications raised within this window are shown together as one digest
+    private static final long DIGEST_WINDOW_MILLIS = 300;
+    private static final int DIGEST_MAX_LINES = 5;
+    private static final DateTimeFormatter DEADLINE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm");
+    
     private static NotificationService instance;
-    private final ScheduledExecutorService scheduler;
+    private final ScheduledThreadPoolExecutor scheduler;
     private final ConfigurationService config;
+    private final AtomicBoolean started = new AtomicBoolean();
+    
+    // Confined to the notifier thread
+    private final Map<Long, ScheduledFuture<?>> deadlineTimers = new HashMap<>();
+    private final Map<Long, NotificationState> notificationStates = new HashMap<>();
+    private final List<PendingNotification> pendingDigest = new ArrayList<>();
+    private LocalDateTime windowEnd = LocalDateTime.MIN;
+    private ScheduledFuture<?> windowTimer;
+    private DatabaseService databaseService;
     
     private NotificationService() {
-        scheduler = Executors.newScheduledThreadPool(1);
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "deadline-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
         config = ConfigurationService.getInstance();
-        startNotificationChecker();
     }
     
-    public static NotificationService getInstance() {
+    public static synchronized NotificationService getInstance() {
         if (instance == null) {
             instance = new NotificationService();
         }
@@ -35,127 +71,339 @@ public class NotificationService {
     }
     
     /**
-     * Start the background notification checker
+     * Start deadline notifications: arm timers for the tasks due in the first window,
+     * then follow task change events. Calling this more than once has no effect.
      */
     public void startNotificationChecker() {
-        scheduler.scheduleAtFixedRate(this::checkForDueTasks, 0, 30, TimeUnit.SECONDS);
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        databaseService = DatabaseService.getInstance();
+        databaseService.addTaskChangeListener(this);
+        config.addListener(AppConfig::notificationsEnabled, (wasEnabled, enabled) -> scheduler.execute(this::reload));
+        scheduler.execute(this::reload);
+    }
+    
+    @Override
+    public void taskSaved(ToDoItem item) {
+        // Copy what the timers need now; the item may change on the FX thread later
+        long itemId = item.getId();
+        DatabaseService.PendingDeadline task = item.isCompleted() || item.getDeadline() == null
+            ? null : DatabaseService.PendingDeadline.of(item);
+        scheduler.execute(() -> {
+            if (task == null) {
+                cancelDeadline(itemId);
+                forgetState(itemId);
+            } else {
+                scheduleDeadline(task);
+            }
+        });
+    }
+    
+    @Override
+    public void tasksImported() {
+        // Imports change tasks without save events and restores replace the table and
+        // its notification state, so everything is read again
+        scheduler.execute(this::reload);
+    }
+    
+    @Override
+    public void taskDeleted(long itemId) {
+        scheduler.execute(() -> {
+            cancelDeadline(itemId);
+            forgetState(itemId);
+        });
     }
     
     /**
-     * Check for tasks that are due soon or overdue
+     * Snooze the tasks of a shown notification by the configured snooze length,
+     * skipping any completed, deleted or rescheduled since it was shown
      */
-    private void checkForDueTasks() {
+    private void snooze(List<DatabaseService.PendingDeadline> tasks) {
+        Duration duration = Duration.ofMinutes(config.getNotificationSnoozeMinutes());
+        scheduler.execute(() -> {
+            LocalDateTime snoozedUntil = LocalDateTime.now().plus(duration);
+            for (DatabaseService.PendingDeadline task : tasks) {
+                NotificationState state = notificationStates.get(task.id());
+                if (state == null || !task.deadline().equals(state.getDeadline())) {
+                    continue;
+                }
+                state.setSnoozedUntil(snoozedUntil);
+                persistState(state);
+                armTimer(task, snoozedUntil);
+            }
+        });
+    }
+    
+    /**
+     * Drop every timer and cached state and read them again, starting a new window.
+     * While notifications are disabled nothing is armed or recorded.
+     */
+    private void reload() {
+        deadlineTimers.values().forEach(timer -> timer.cancel(false));
+        deadlineTimers.clear();
+        notificationStates.clear();
+        if (windowTimer != null) {
+            windowTimer.cancel(false);
+            windowTimer = null;
+        }
         if (!config.areNotificationsEnabled()) {
             return;
         }
-        
         try {
-            List<ToDoItem> allTasks = DatabaseService.getInstance().loadTodoItems();
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime oneHourFromNow = now.plusHours(1);
-            
-            for (ToDoItem task : allTasks) {
-                if (task.isCompleted() || task.getDeadline() == null) {
-                    continue;
-                }
-                
-                LocalDateTime deadline = task.getDeadline();
-                
-                // Check if task is due within the next hour
-                if (deadline.isAfter(now) && deadline.isBefore(oneHourFromNow)) {
-                    showDueSoonNotification(task);
-                }
-                // Check if task is overdue
-                else if (deadline.isBefore(now)) {
-                    showOverdueNotification(task);
-                }
+            notificationStates.putAll(databaseService.loadNotificationStates());
+        } catch (Exception e) {
+            System.err.println("Error loading notification state: " + e.getMessage());
+        }
+        loadWindow();
+    }
+    
+    /**
+     * Arm timers for the open tasks with an event before the end of the next window.
+     * Tasks due later are not read until a later window reaches them.
+     */
+    private void loadWindow() {
+        windowEnd = LocalDateTime.now().plus(ARM_WINDOW);
+        try {
+            // A due-soon event is one window ahead of its deadline
+            for (DatabaseService.PendingDeadline task : databaseService.loadPendingDeadlines(windowEnd.plus(DUE_SOON_WINDOW))) {
+                scheduleDeadline(task);
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading task deadlines: " + e.getMessage());
+        }
+        if (windowTimer != null) {
+            windowTimer.cancel(false);
+        }
+        windowTimer = scheduler.schedule(this::loadWindow, ARM_WINDOW.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Re-evaluate a task after it changed, replacing any previous timer
+     */
+    private void scheduleDeadline(DatabaseService.PendingDeadline task) {
+        cancelDeadline(task.id());
+        NotificationState state = notificationStates.get(task.id());
+        if (state != null && !task.deadline().equals(state.getDeadline())) {
+            // A moved deadline starts a fresh notification cycle
+            state.reset(task.deadline());
+            persistState(state);
+        }
+        evaluateDeadline(task);
+    }
+    
+    /**
+     * Notify about a task if it is due, then arm the timer for its next event
+     */
+    private void evaluateDeadline(DatabaseService.PendingDeadline task) {
+        deadlineTimers.remove(task.id());
+        if (!config.areNotificationsEnabled()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime deadline = task.deadline();
+        LocalDateTime dueSoonAt = deadline.minus(DUE_SOON_WINDOW);
+        NotificationState state = notificationStates.get(task.id());
+        
+        if (state != null && state.getSnoozedUntil() != null && now.isBefore(state.getSnoozedUntil())) {
+            armTimer(task, state.getSnoozedUntil());
+            return;
+        }
+        if (now.isBefore(dueSoonAt)) {
+            armTimer(task, dueSoonAt);
+            return;
+        }
+        
+        if (now.isBefore(deadline)) {
+            if (state == null || state.getLastKind() == null) {
+                notify(task, NotificationState.Kind.DUE_SOON, now);
+            }
+            armTimer(task, deadline);
+            return;
+        }
+        
+        // Overdue: notify once, then repeat at the configured interval up to the limit
+        int repeatMinutes = config.getNotificationRepeatMinutes();
+        boolean firstOverdue = state == null || state.getLastKind() != NotificationState.Kind.OVERDUE;
+        if (firstOverdue) {
+            state = notify(task, NotificationState.Kind.OVERDUE, now);
+        } else if (repeatMinutes > 0 && state.getRepeatCount() < config.getNotificationMaxRepeats()) {
+            LocalDateTime repeatAt = state.getLastNotified().plusMinutes(repeatMinutes);
+            if (now.isBefore(repeatAt)) {
+                armTimer(task, repeatAt);
+                return;
+            }
+            state = notify(task, NotificationState.Kind.OVERDUE, now);
+        }
+        if (repeatMinutes > 0 && state.getRepeatCount() < config.getNotificationMaxRepeats()) {
+            armTimer(task, state.getLastNotified().plusMinutes(repeatMinutes));
+        }
+    }
+    
+    private void armTimer(DatabaseService.PendingDeadline task, LocalDateTime fireAt) {
+        cancelDeadline(task.id());
+        if (fireAt.isAfter(windowEnd)) {
+            // Armed again by the window that contains it
+            return;
+        }
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), fireAt).toMillis());
+        ScheduledFuture<?> timer = scheduler.schedule(() -> evaluateDeadline(task), delayMillis, TimeUnit.MILLISECONDS);
+        deadlineTimers.put(task.id(), timer);
+    }
+    
+    private void cancelDeadline(long taskId) {
+        ScheduledFuture<?> timer = deadlineTimers.remove(taskId);
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+    
+    /**
+     * Record the notification and queue it for the next digest
+     */
+    private NotificationState notify(DatabaseService.PendingDeadline task, NotificationState.Kind kind, LocalDateTime now) {
+        NotificationState state = stateFor(task);
+        state.recordNotified(kind, now);
+        persistState(state);
+        
+        if (pendingDigest.isEmpty()) {
+            scheduler.schedule(this::flushDigest, DIGEST_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        pendingDigest.add(new PendingNotification(task, kind));
+        return state;
+    }
+    
+    /**
+     * Show everything that triggered in the last digest window as a single notification
+     */
+    private void flushDigest() {
+        if (pendingDigest.isEmpty()) {
+            return;
+        }
+        List<PendingNotification> batch = new ArrayList<>(pendingDigest);
+        pendingDigest.clear();
+        
+        if (batch.size() == 1) {
+            PendingNotification only = batch.get(0);
+            if (only.kind() == NotificationState.Kind.OVERDUE) {
+                showOverdueNotification(only.task());
+            } else {
+                showDueSoonNotification(only.task());
+            }
+        } else {
+            showDigestNotification(batch);
+        }
+    }
+    
+    private NotificationState stateFor(DatabaseService.PendingDeadline task) {
+        return notificationStates.computeIfAbsent(task.id(),
+            id -> new NotificationState(id, task.deadline()));
+    }
+    
+    private void forgetState(long taskId) {
+        if (notificationStates.remove(taskId) != null) {
+            try {
+                databaseService.deleteNotificationState(taskId);
+            } catch (Exception e) {
+                System.err.println("Error deleting notification state: " + e.getMessage());
             }
+        }
+    }
+    
+    private void persistState(NotificationState state) {
+        try {
+            databaseService.saveNotificationState(state);
         } catch (Exception e) {
-            System.err.println("Error checking for due tasks: " + e.getMessage());
+            System.err.println("Error saving notification state: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Show one notification summarising several due-soon and overdue tasks
+     */
+    private void showDigestNotification(List<PendingNotification> batch) {
+        long overdueCount = batch.stream().filter(n -> n.kind() == NotificationState.Kind.OVERDUE).count();
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < batch.size() && i < DIGEST_MAX_LINES; i++) {
+            PendingNotification notification = batch.get(i);
+            message.append(notification.kind() == NotificationState.Kind.OVERDUE ? "🚨 Overdue: " : "⏰ Due soon: ")
+                .append(notification.task().shortDescription())
+                .append('\n');
+        }
+        if (batch.size() > DIGEST_MAX_LINES) {
+            message.append("…and ").append(batch.size() - DIGEST_MAX_LINES).append(" more");
         }
+        String header = String.format("%d tasks need attention (%d overdue)", batch.size(), overdueCount);
+        
+        List<DatabaseService.PendingDeadline> tasks = batch.stream().map(PendingNotification::task).toList();
+        present(overdueCount > 0 ? Alert.AlertType.ERROR : Alert.AlertType.WARNING,
+            "Task Reminders", header, message.toString().trim(), "Snooze all", () -> snooze(tasks));
     }
     
+    private record PendingNotification(DatabaseService.PendingDeadline task, NotificationState.Kind kind) {}
+    
     /**
      * Show notification for task due soon
      */
-    private void showDueSoonNotification(ToDoItem task) {
-        Platform.runLater(() -> {
-            Alert alert = new Alert(Alert.AlertType.WARNING);
-            alert.setTitle("Task Due Soon");
-            alert.setHeaderText("⏰ Upcoming Deadline");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm");
-            String message = String.format(
-                "Task: %s\nDue: %s\nPriority: %s",
-                task.getShortDescription(),
-                task.getDeadline().format(formatter),
-                task.getPriority().getDisplayName()
-            );
-            
-            alert.setContentText(message);
-            alert.show();
-        });
+    private void showDueSoonNotification(DatabaseService.PendingDeadline task) {
+        String message = String.format(
+            "Task: %s\nDue: %s\nPriority: %s",
+            task.shortDescription(),
+            task.deadline().format(DEADLINE_FORMATTER),
+            task.priority().getDisplayName()
+        );
+        present(Alert.AlertType.WARNING, "Task Due Soon", "⏰ Upcoming Deadline", message,
+            "Snooze", () -> snooze(List.of(task)));
     }
     
     /**
      * Show notification for overdue task
      */
-    private void showOverdueNotification(ToDoItem task) {
-        Platform.runLater(() -> {
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Overdue Task");
-            alert.setHeaderText("🚨 Task Overdue!");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' HH:mm");
-            String message = String.format(
-                "Task: %s\nWas Due: %s\nPriority: %s",
-                task.getShortDescription(),
-                task.getDeadline().format(formatter),
-                task.getPriority().getDisplayName()
-            );
-            
-            alert.setContentText(message);
-            alert.show();
-        });
+    private void showOverdueNotification(DatabaseService.PendingDeadline task) {
+        String message = String.format(
+            "Task: %s\nWas Due: %s\nPriority: %s",
+            task.shortDescription(),
+            task.deadline().format(DEADLINE_FORMATTER),
+            task.priority().getDisplayName()
+        );
+        present(Alert.AlertType.ERROR, "Overdue Task", "🚨 Task Overdue!", message,
+            "Snooze", () -> snooze(List.of(task)));
     }
     
     /**
      * Show completion notification with points earned
      */
     public void showTaskCompletedNotification(ToDoItem task) {
-        Platform.runLater(() -> {
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Task Completed!");
-            alert.setHeaderText("🎉 Great Job!");
-            
-            String message = String.format(
-                "Task: %s\nPoints Earned: %d\n\nKeep up the excellent work!",
-                task.getShortDescription(),
-                task.getPoints()
-            );
-            
-            alert.setContentText(message);
-            alert.show();
-        });
+        String message = String.format(
+            "Task: %s\nPoints Earned: %d\n\nKeep up the excellent work!",
+            task.getShortDescription(),
+            task.getPoints()
+        );
+        present(Alert.AlertType.INFORMATION, "Task Completed!", "🎉 Great Job!", message);
     }
     
     /**
      * Show level up notification
      */
     public void showLevelUpNotification(int newLevel) {
-        Platform.runLater(() -> {
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Level Up!");
-            alert.setHeaderText("🌟 Congratulations!");
-            
-            String message = String.format(
-                "You've reached Level %d!\n\nYour productivity is amazing!",
-                newLevel
-            );
-            
-            alert.setContentText(message);
-            alert.show();
-        });
+        String message = String.format(
+            "You've reached Level %d!\n\nYour productivity is amazing!",
+            newLevel
+        );
+        present(Alert.AlertType.INFORMATION, "Level Up!", "🌟 Congratulations!", message);
+    }
+    
+    /**
+     * Show achievement unlocked notification
+     */
+    public void showAchievementNotification(Achievement achievement) {
+        String message = String.format(
+            "%s\n\n%s",
+            achievement.getTitle(),
+            achievement.getDescription()
+        );
+        present(Alert.AlertType.INFORMATION, "Achievement Unlocked!", "🏆 New Achievement!", message);
     }
     
     /**
@@ -175,24 +423,53 @@ public class NotificationService {
      * Show information alert
      */
     public void showInfo(String title, String header, String content) {
-        Platform.runLater(() -> {
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle(title);
-            alert.setHeaderText(header);
-            alert.setContentText(content);
-            alert.show();
-        });
+        present(Alert.AlertType.INFORMATION, title, header, content);
     }
     
     /**
      * Show error alert
      */
     public void showError(String title, String header, String content) {
-        Platform.runLater(() -> {
-            Alert alert = new Alert(Alert.AlertType.ERROR);
+        present(Alert.AlertType.ERROR, title, header, content);
+    }
+    
+    /**
+     * Post a non-blocking notification to the in-window notification center,
+     * falling back to a separate alert window before the main window exists
+     */
+    private void present(Alert.AlertType type, String title, String header, String content) {
+        present(type, title, header, content, null, null);
+    }
+    
+    /**
+     * Show a notification offering one action, which runs on the FX thread when chosen
+     */
+    private void present(Alert.AlertType type, String title, String header, String content,
+                         String actionLabel, Runnable action) {
+        NotificationCenter center = NotificationCenter.getInstance();
+        if (center.isInstalled()) {
+            NotificationCenter.Level level = switch (type) {
+                case ERROR -> NotificationCenter.Level.ERROR;
+                case WARNING -> NotificationCenter.Level.WARNING;
+                default -> NotificationCenter.Level.INFO;
+            };
+            center.post(level, header != null ? header : title, content, actionLabel, action);
+            return;
+        }
+        FxDispatcher.getInstance().dispatch(() -> {
+            Alert alert = new Alert(type);
             alert.setTitle(title);
             alert.setHeaderText(header);
             alert.setContentText(content);
+            if (action != null) {
+                ButtonType actionButton = new ButtonType(actionLabel, ButtonBar.ButtonData.OTHER);
+                alert.getButtonTypes().add(actionButton);
+                alert.setOnHidden(event -> {
+                    if (alert.getResult() == actionButton) {
+                        action.run();
+                    }
+                });
+            }
             alert.show();
         });
     }
@@ -201,6 +478,9 @@ public class NotificationService {
      * Shutdown the notification service
      */
     public void shutdown() {
+        if (started.get()) {
+            DatabaseService.getInstance().removeTaskChangeListener(this);
+        }
         scheduler.shutdown();
         try {
             if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -0,0 +1,352 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads task CSV files in the layout written by {@link ExportImportService#exportToCSV}
+ * using all cores. The file is read sequentially and cut into chunks that end on a
+ * record boundary (newlines inside quoted fields are respected); chunks are parsed on a
+ * fork-join pool and handed back in file order. Only a few chunks are in flight at a
+ * time, so memory stays bounded regardless of file size.
+ * <p>
+ * Invalid values get the same defaults as the serial CSV import: deadline tomorrow,
+ * category OTHER, priority MEDIUM, creation date now and points recalculated.
+ */
+public class ParallelCsvTaskReader {
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final byte[][] CATEGORY_NAMES = CsvFieldDecoder.enumNames(ToDoItem.Category.values());
+    private static final byte[][] PRIORITY_NAMES = CsvFieldDecoder.enumNames(ToDoItem.Priority.values());
+    private static final ToDoItem.Category[] CATEGORIES = ToDoItem.Category.values();
+    private static final ToDoItem.Priority[] PRIORITIES = ToDoItem.Priority.values();
+
+    // Column positions as written by exportToCSV; column 0 (ID) is not imported
+    private static final int SHORT_DESCRIPTION = 1;
+    private static final int DETAILS = 2;
+    private static final int DEADLINE = 3;
+    private static final int CATEGORY = 4;
+    private static final int PRIORITY = 5;
+    private static final int COMPLETED = 6;
+    private static final int CREATED_DATE = 7;
+    private static final int COMPLETED_DATE = 8;
+    private static final int POINTS = 9;
+    private static final int COLUMNS = 10;
+
+    /**
+     * Receives parsed chunks in file order
+     */
+    public interface ChunkHandler {
+        /**
+         * @param bytesRead bytes of the file covered by this and all earlier chunks
+         * @return false to stop reading
+         */
+        boolean handle(List<TaskRecord> tasks, long bytesRead);
+    }
+
+    /**
+     * Rows read, fields that were invalid and replaced by a default, and whether the handler stopped early
+     */
+    public record Result(long rows, long invalidFields, boolean stopped) {}
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    // Totals for the read in progress, updated on the calling thread only
+    private long rowsHandled;
+    private long invalidFieldsHandled;
+
+    public ParallelCsvTaskReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelCsvTaskReader(ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Read every task in the file, skipping the header row
+     */
+    public Result read(Path file, ChunkHandler handler) throws IOException {
+        int maxInFlight = pool.getParallelism() * 2;
+        ArrayDeque<ForkJoinTask<ParsedChunk>> inFlight = new ArrayDeque<>();
+        rowsHandled = 0;
+        invalidFieldsHandled = 0;
+        long bytesRead = 0;
+        boolean firstChunk = true;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] buffer = new byte[chunkSize];
+            int filled = 0;
+            boolean endOfFile = false;
+
+            while (!endOfFile || filled > 0) {
+                // Top up the buffer; the carried-over partial record is already at the front
+                ByteBuffer target = ByteBuffer.wrap(buffer, filled, buffer.length - filled);
+                while (!endOfFile && target.hasRemaining()) {
+                    if (channel.read(target) < 0) {
+                        endOfFile = true;
+                    }
+                }
+                filled = target.position();
+                if (endOfFile && filled == 0) {
+                    break;
+                }
+
+                int boundary = endOfFile ? filled : lastRecordEnd(buffer, filled);
+                if (boundary == 0) {
+                    // A single record is larger than the buffer
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+
+                byte[] chunk = Arrays.copyOf(buffer, boundary);
+                boolean skipHeader = firstChunk;
+                bytesRead += boundary;
+                long chunkEnd = bytesRead;
+                inFlight.addLast(pool.submit(() -> parseChunk(chunk, skipHeader, chunkEnd)));
+                firstChunk = false;
+
+                byte[] next = new byte[Math.max(chunkSize, filled - boundary)];
+                System.arraycopy(buffer, boundary, next, 0, filled - boundary);
+                filled -= boundary;
+                buffer = next;
+
+                if (inFlight.size() >= maxInFlight && !drain(inFlight, maxInFlight - 1, handler)) {
+                    return new Result(rowsHandled, invalidFieldsHandled, true);
+                }
+            }
+        }
+        if (!drain(inFlight, 0, handler)) {
+            return new Result(rowsHandled, invalidFieldsHandled, true);
+        }
+        return new Result(rowsHandled, invalidFieldsHandled, false);
+    }
+
+    /**
+     * Hand finished chunks to the handler, oldest first, until at most {@code keep} remain
+     *
+     * @return false if the handler asked to stop
+     */
+    private boolean drain(ArrayDeque<ForkJoinTask<ParsedChunk>> inFlight, int keep, ChunkHandler handler) {
+        while (inFlight.size() > keep) {
+            ParsedChunk parsed = inFlight.removeFirst().join();
+            rowsHandled += parsed.tasks().size();
+            invalidFieldsHandled += parsed.invalidFields();
+            if (!handler.handle(parsed.tasks(), parsed.endOffset())) {
+                inFlight.forEach(task -> task.cancel(false));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Offset just past the last newline that is outside quotes, or 0 if there is none
+     */
+    private static int lastRecordEnd(byte[] data, int length) {
+        boolean inQuotes = false;
+        int boundary = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = data[i];
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes) {
+                boundary = i + 1;
+            }
+        }
+        return boundary;
+    }
+
+    private static ParsedChunk parseChunk(byte[] data, boolean skipHeader, long endOffset) {
+        RowParser parser = new RowParser(data);
+        if (skipHeader) {
+            parser.skipByteOrderMark();
+            parser.nextRecord();
+        }
+        List<TaskRecord> tasks = new ArrayList<>();
+        while (parser.nextRecord()) {
+            if (parser.fieldCount == 1 && parser.fieldStart[0] == parser.fieldEnd[0]) {
+                continue; // blank line
+            }
+            tasks.add(parser.toTask());
+        }
+        return new ParsedChunk(tasks, parser.invalidFields, endOffset);
+    }
+
+    private record ParsedChunk(List<TaskRecord> tasks, long invalidFields, long endOffset) {}
+
+    /**
+     * Splits one chunk into records and fields; per-record state is reused between rows
+     */
+    private static final class RowParser {
+        private final byte[] data;
+        private final LocalDateTime now = LocalDateTime.now();
+        private final int[] fieldStart = new int[COLUMNS];
+        private final int[] fieldEnd = new int[COLUMNS];
+        private final boolean[] fieldEscaped = new boolean[COLUMNS];
+        private int fieldCount;
+        private int position;
+        private long invalidFields;
+
+        RowParser(byte[] data) {
+            this.data = data;
+        }
+
+        void skipByteOrderMark() {
+            if (data.length >= 3 && data[0] == (byte) 0xEF && data[1] == (byte) 0xBB && data[2] == (byte) 0xBF) {
+                position = 3;
+            }
+        }
+
+        /**
+         * Locate the fields of the next record; false at the end of the chunk
+         */
+        boolean nextRecord() {
+            if (position >= data.length) {
+                return false;
+            }
+            fieldCount = 0;
+            while (true) {
+                int start = position;
+                int end;
+                boolean escaped = false;
+                if (position < data.length && data[position] == '"') {
+                    start = ++position;
+                    while (position < data.length) {
+                        if (data[position] == '"') {
+                            if (position + 1 < data.length && data[position + 1] == '"') {
+                                escaped = true;
+                                position += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        position++;
+                    }
+                    end = position;
+                    // Step over the closing quote and anything up to the delimiter
+                    while (position < data.length && data[position] != ',' && data[position] != '\n') {
+                        position++;
+                    }
+                } else {
+                    while (position < data.length && data[position] != ',' && data[position] != '\n') {
+                        position++;
+                    }
+                    end = position;
+                    if (end > start && data[end - 1] == '\r' && (end == data.length || data[end] == '\n')) {
+                        end--;
+                    }
+                }
+                if (fieldCount < COLUMNS) {
+                    fieldStart[fieldCount] = start;
+                    fieldEnd[fieldCount] = end;
+                    fieldEscaped[fieldCount] = escaped;
+                    fieldCount++;
+                }
+                if (position >= data.length || data[position] == '\n') {
+                    position++;
+                    return true;
+                }
+                position++; // comma
+            }
+        }
+
+        TaskRecord toTask() {
+            String shortDescription = has(SHORT_DESCRIPTION) ? string(SHORT_DESCRIPTION) : "";
+            String details = has(DETAILS) ? string(DETAILS) : "";
+
+            LocalDateTime deadline = has(DEADLINE) ? dateTime(DEADLINE) : null;
+            if (deadline == null) {
+                deadline = now.plusDays(1);
+            }
+
+            ToDoItem.Category category = ToDoItem.Category.OTHER;
+            if (has(CATEGORY)) {
+                int ordinal = CsvFieldDecoder.parseEnum(data, fieldStart[CATEGORY], fieldEnd[CATEGORY], CATEGORY_NAMES);
+                if (ordinal >= 0) {
+                    category = CATEGORIES[ordinal];
+                } else {
+                    invalidFields++;
+                }
+            }
+
+            ToDoItem.Priority priority = ToDoItem.Priority.MEDIUM;
+            if (has(PRIORITY)) {
+                int ordinal = CsvFieldDecoder.parseEnum(data, fieldStart[PRIORITY], fieldEnd[PRIORITY], PRIORITY_NAMES);
+                if (ordinal >= 0) {
+                    priority = PRIORITIES[ordinal];
+                } else {
+                    invalidFields++;
+                }
+            }
+
+            boolean completed = has(COMPLETED)
+                && CsvFieldDecoder.parseBoolean(data, fieldStart[COMPLETED], fieldEnd[COMPLETED]);
+
+            LocalDateTime createdDate = has(CREATED_DATE) ? dateTime(CREATED_DATE) : null;
+            if (createdDate == null) {
+                createdDate = now;
+            }
+
+            LocalDateTime completedDate = has(COMPLETED_DATE) ? dateTime(COMPLETED_DATE) : null;
+            if (completedDate == null && completed) {
+                completedDate = now;
+            }
+
+            int points;
+            long parsedPoints = has(POINTS)
+                ? CsvFieldDecoder.parseLong(data, fieldStart[POINTS], fieldEnd[POINTS]) : CsvFieldDecoder.INVALID;
+            if (parsedPoints >= Integer.MIN_VALUE && parsedPoints <= Integer.MAX_VALUE) {
+                points = (int) parsedPoints;
+            } else {
+                if (has(POINTS)) {
+                    invalidFields++;
+                }
+                // Same rule as ToDoItem: priority based, doubled when completed on time
+                points = priority.getValue() * 10;
+                if (completed && !completedDate.isAfter(deadline)) {
+                    points *= 2;
+                }
+            }
+
+            return new TaskRecord(0, shortDescription, details, deadline, category, priority,
+                completed, createdDate, completedDate, points);
+        }
+
+        /**
+         * Whether the column is present and not empty
+         */
+        private boolean has(int column) {
+            return column < fieldCount && fieldEnd[column] > fieldStart[column];
+        }
+
+        private String string(int column) {
+            return CsvFieldDecoder.parseString(data, fieldStart[column], fieldEnd[column], fieldEscaped[column]);
+        }
+
+        private LocalDateTime dateTime(int column) {
+            long packed = CsvFieldDecoder.parseDateTime(data, fieldStart[column], fieldEnd[column]);
+            if (packed == CsvFieldDecoder.INVALID) {
+                invalidFields++;
+                return null;
+            }
+            return LocalDateTime.of(CsvFieldDecoder.year(packed), CsvFieldDecoder.month(packed),
+                CsvFieldDecoder.day(packed), CsvFieldDecoder.hour(packed), CsvFieldDecoder.minute(packed),
+                CsvFieldDecoder.second(packed));
+        }
+    }
+}
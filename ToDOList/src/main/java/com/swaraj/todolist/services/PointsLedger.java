@@ -0,0 +1,150 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * XP and points earned by completing tasks.
+ * Every award is appended to the points ledger in the database and the running totals are
+ * kept in memory, so an award costs one insert. Every CHECKPOINT_INTERVAL entries the totals
+ * are checkpointed, which keeps loading them at startup independent of the ledger length.
+ * The level is derived from total XP in closed form and published to the configuration
+ * for display.
+ */
+public class PointsLedger {
+    private static final int CHECKPOINT_INTERVAL = 500;
+
+    /**
+     * Outcome of an award
+     */
+    public record AwardResult(int previousLevel, int level, long xp, long points) {
+        public boolean leveledUp() {
+            return level > previousLevel;
+        }
+    }
+
+    private static PointsLedger instance;
+    private final DatabaseService databaseService;
+    private final ConfigurationService config;
+    private DatabaseService.PointsTotals totals;
+
+    private PointsLedger() {
+        databaseService = DatabaseService.getInstance();
+        config = ConfigurationService.getInstance();
+        totals = databaseService.loadPointsTotals();
+        if (totals.entryCount() == 0) {
+            postOpeningBalance();
+        }
+        publish();
+    }
+
+    public static synchronized PointsLedger getInstance() {
+        if (instance == null) {
+            instance = new PointsLedger();
+        }
+        return instance;
+    }
+
+    /**
+     * Award the points of one completed task
+     */
+    public AwardResult award(ToDoItem item) {
+        return post(item.getId(), 1, item.getPoints());
+    }
+
+    /**
+     * Award the points of several completed tasks as a single ledger entry
+     */
+    public AwardResult awardAll(Collection<ToDoItem> items) {
+        if (items.size() == 1) {
+            return award(items.iterator().next());
+        }
+        long points = 0;
+        for (ToDoItem item : items) {
+            points += item.getPoints();
+        }
+        return post(null, items.size(), points);
+    }
+
+    public synchronized long getTotalXP() {
+        return totals.xp();
+    }
+
+    public synchronized long getTotalPoints() {
+        return totals.points();
+    }
+
+    public synchronized int getLevel() {
+        return levelForXP(totals.xp());
+    }
+
+    /**
+     * Total XP needed to reach a level from level 1: the sum of
+     * {@link ConfigurationService#calculateRequiredXP} over levels 1 to level - 1,
+     * which for 100 + (n - 1) * 50 per level is 25 * (level - 1) * (level + 2).
+     */
+    public static long xpForLevel(int level) {
+        long n = Math.max(level, 1) - 1L;
+        return 25 * n * (n + 3);
+    }
+
+    /**
+     * Level reached with the given total XP, inverting {@link #xpForLevel} by solving
+     * 25n² + 75n = xp; the correction steps absorb floating point rounding
+     */
+    public static int levelForXP(long totalXP) {
+        if (totalXP <= 0) {
+            return 1;
+        }
+        int level = (int) ((Math.sqrt(9.0 + 0.16 * totalXP) - 3.0) / 2.0) + 1;
+        while (level > 1 && xpForLevel(level) > totalXP) {
+            level--;
+        }
+        while (xpForLevel(level + 1) <= totalXP) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Append one entry worth the given points; XP equals points earned
+     */
+    private synchronized AwardResult post(Long taskId, int taskCount, long points) {
+        int previousLevel = levelForXP(totals.xp());
+        if (taskCount > 0 && points != 0) {
+            DatabaseService.PointsAward award = new DatabaseService.PointsAward(
+                LocalDateTime.now(), taskId, taskCount, points, points);
+            boolean checkpoint = (totals.entryCount() + 1) % CHECKPOINT_INTERVAL == 0;
+            totals = databaseService.appendPointsAward(totals, award, checkpoint);
+            publish();
+        }
+        return new AwardResult(previousLevel, levelForXP(totals.xp()), totals.xp(), totals.points());
+    }
+
+    /**
+     * Carry progress kept in config.json by earlier versions into the empty ledger
+     */
+    private void postOpeningBalance() {
+        AppConfig current = config.getConfig();
+        long xp = xpForLevel(current.playerLevel()) + current.playerXP();
+        long points = current.totalPoints();
+        if (xp > 0 || points > 0) {
+            DatabaseService.PointsAward award = new DatabaseService.PointsAward(
+                LocalDateTime.now(), null, 0, xp, points);
+            totals = databaseService.appendPointsAward(totals, award, true);
+        }
+    }
+
+    /**
+     * Mirror the totals into the configuration, which the UI reads
+     */
+    private void publish() {
+        long xp = totals.xp();
+        int level = levelForXP(xp);
+        int levelXP = (int) Math.min(xp - xpForLevel(level), Integer.MAX_VALUE);
+        int points = (int) Math.min(totals.points(), Integer.MAX_VALUE);
+        config.update(current -> current.withProgress(level, levelXP, points));
+    }
+}
@@ -0,0 +1,289 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.sql.SQLDataException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the {@link LocalTaskStore} replica and MySQL in step in local-first mode.
+ * A sync round measures the offset between the local and database clocks, replays the
+ * pending operations oldest first, then pulls what other writers changed since the last
+ * round from the task change log. Edits to a task both sides changed are merged per field,
+ * last writer wins, under a row lock (see {@link LocalTaskStore#resolve}). Rounds run every
+ * sync interval and shortly after a local edit. While the database is unreachable the
+ * rounds back off exponentially, up to the sync interval, and the queue simply waits; an
+ * operation the database refuses outright is dropped so it cannot block the rest.
+ * Imports and restores bypass the change log, so after one the whole table is read again.
+ */
+public class SyncEngine implements DatabaseService.TaskChangeListener {
+    // Lets a burst of edits go out in one round
+    private static final long PUSH_DELAY_MILLIS = 100;
+
+    /**
+     * Point-in-time sync figures. Push lag is the time from a local edit being queued to
+     * the database confirming it; ages are -1 when there is nothing to measure.
+     */
+    public record SyncMetrics(boolean online, int pendingOperations, long oldestPendingAgeMillis,
+                              long lastSyncAgeMillis, long lastPushLagMillis, long maxPushLagMillis,
+                              long pushedOperations, long pulledTasks, long conflicts,
+                              int consecutiveFailures, String lastError) {}
+
+    private static SyncEngine instance;
+    private final LocalTaskStore store;
+    private final ScheduledThreadPoolExecutor executor;
+    private final CompletableFuture<DatabaseService> database = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean pushScheduled = new AtomicBoolean();
+    private final AtomicLong pushed = new AtomicLong();
+    private final AtomicLong pulled = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    // Written on the sync thread only
+    private volatile boolean online;
+    private volatile long lastSyncAt;
+    private volatile long lastPushLag = -1;
+    private volatile long maxPushLag = -1;
+    private volatile int consecutiveFailures;
+    private volatile String lastError;
+
+    private SyncEngine() {
+        store = LocalTaskStore.getInstance();
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized SyncEngine getInstance() {
+        if (instance == null) {
+            instance = new SyncEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Run the first round now and keep syncing. Calling this more than once has no effect.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        store.setPushRequest(this::requestSync);
+        executor.execute(this::periodicRound);
+    }
+
+    /**
+     * Stop syncing. Operations still pending stay in the replica for the next start.
+     */
+    public void shutdown() {
+        store.setPushRequest(null);
+        if (database.isDone()) {
+            database.join().removeTaskChangeListener(this);
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Completes with the database service once a sync round has reached it. Services that
+     * keep their own state in MySQL start from this in local-first mode.
+     */
+    public CompletableFuture<DatabaseService> databaseReady() {
+        // A copy, so callers cannot complete or cancel the engine's own future
+        return database.copy();
+    }
+
+    @Override
+    public void taskSaved(ToDoItem item) {
+        // Written by this engine; the next pull sees it in the change log anyway
+    }
+
+    @Override
+    public void taskDeleted(long itemId) {
+    }
+
+    @Override
+    public void tasksImported() {
+        store.resetSequence();
+        requestSync();
+    }
+
+    public SyncMetrics getMetrics() {
+        long now = System.currentTimeMillis();
+        int waiting = store.getPendingCount();
+        return new SyncMetrics(online, waiting, waiting > 0 ? store.getOldestPendingAgeMillis() : -1,
+            lastSyncAt > 0 ? now - lastSyncAt : -1, lastPushLag, maxPushLag,
+            pushed.get(), pulled.get(), conflicts.get(), consecutiveFailures, lastError);
+    }
+
+    /**
+     * Sync soon after a local edit. Ignored while the database is failing; the periodic
+     * retry picks the edit up.
+     */
+    private void requestSync() {
+        if (consecutiveFailures == 0 && pushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(() -> {
+                    pushScheduled.set(false);
+                    round();
+                }, PUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Shut down; the edit is synced on the next start
+                pushScheduled.set(false);
+            }
+        }
+    }
+
+    private void periodicRound() {
+        round();
+        long interval = Math.max(1, ConfigurationService.getInstance().getSyncIntervalSeconds());
+        long delay = consecutiveFailures == 0 ? interval
+            : Math.min(interval, 1L << Math.min(consecutiveFailures - 1, 16));
+        try {
+            executor.schedule(this::periodicRound, delay, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            // Shut down
+        }
+    }
+
+    private void round() {
+        try {
+            DatabaseService service = connect();
+            measureClockOffset(service);
+            push(service);
+            pull(service);
+            online = true;
+            consecutiveFailures = 0;
+            lastError = null;
+            lastSyncAt = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            online = false;
+            consecutiveFailures++;
+            lastError = rootMessage(e);
+            System.err.println("Task sync failed (" + consecutiveFailures + " in a row, "
+                + store.getPendingCount() + " changes waiting): " + lastError);
+        }
+    }
+
+    /**
+     * The database service, created by the first round that can reach the server
+     */
+    private DatabaseService connect() {
+        DatabaseService service = DatabaseService.getInstance();
+        if (database.complete(service)) {
+            service.addTaskChangeListener(this);
+        }
+        return service;
+    }
+
+    /**
+     * Line the local clock up with the database's, halving the round trip
+     */
+    private void measureClockOffset(DatabaseService service) {
+        long before = System.currentTimeMillis();
+        LocalDateTime databaseTime = service.currentTime();
+        long after = System.currentTimeMillis();
+        store.setClockOffsetMillis(databaseTime.toInstant(ZoneOffset.UTC).toEpochMilli() - (before + after) / 2);
+    }
+
+    /**
+     * Replay pending operations oldest first until the queue is empty
+     */
+    private void push(DatabaseService service) {
+        LocalTaskStore.Push push;
+        while ((push = store.nextPush()) != null) {
+            try {
+                if (push.local() == null) {
+                    service.deleteTodoItem(push.taskId());
+                    store.deleted(push);
+                } else if (push.base() == null) {
+                    LocalDateTime updatedAt = store.toDatabaseTime(push.lastEdit());
+                    store.created(push, service.insertSyncedTask(push.local(), updatedAt));
+                } else {
+                    LocalTaskStore.Push edit = push;
+                    DatabaseService.RemoteTask stored = service.mergeSyncedTask(push.taskId(), row -> merge(edit, row));
+                    store.updated(push, stored != null ? stored.task() : null);
+                }
+            } catch (RuntimeException e) {
+                if (!isRefused(e)) {
+                    throw e;
+                }
+                System.err.println("Dropping change to task " + push.taskId() + " refused by the database: " + rootMessage(e));
+                store.rejected(push);
+                continue;
+            }
+            long lag = System.currentTimeMillis() - push.queuedAt();
+            lastPushLag = lag;
+            maxPushLag = Math.max(maxPushLag, lag);
+            pushed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Merge a pending edit into the locked row; the row keeps the later of its own write
+     * time and the newest local edit that won
+     */
+    private DatabaseService.RemoteTask merge(LocalTaskStore.Push push, DatabaseService.RemoteTask row) {
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(row.task(), push.base(), push.local(),
+            push.editTimes(), store.toLocalMillis(row.updatedAt()));
+        conflicts.addAndGet(resolution.conflicts());
+        if (resolution.merged().equals(row.task())) {
+            return null;
+        }
+        long latest = 0;
+        for (LocalTaskStore.Field field : LocalTaskStore.Field.values()) {
+            if ((resolution.localFields() & field.bit()) != 0) {
+                latest = Math.max(latest, push.editTimes()[field.ordinal()]);
+            }
+        }
+        LocalDateTime editedAt = store.toDatabaseTime(latest);
+        return new DatabaseService.RemoteTask(resolution.merged(),
+            editedAt.isAfter(row.updatedAt()) ? editedAt : row.updatedAt());
+    }
+
+    /**
+     * Bring in changes other writers made since the last round
+     */
+    private void pull(DatabaseService service) {
+        List<DatabaseService.RemoteTask> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        DatabaseService.TaskChanges changes = service.readTaskChanges(store.getSequence(), changed::add, deleted::add);
+        conflicts.addAndGet(store.applyChanges(changed, deleted, changes));
+        pulled.addAndGet(changed.size() + deleted.size());
+    }
+
+    /**
+     * Whether the database rejected the task's data (too long, violates a constraint) rather
+     * than failing to run the statement; retrying would fail the same way
+     */
+    private static boolean isRefused(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLDataException || cause instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout shared by {@link TaskBinaryWriter} and {@link TaskBinaryReader}.
+ * <pre>
+ * header:  magic "TDLB", u16 version, u16 flags,
+ *          varint field count, then per field: string name, u8 type
+ *          (enum fields are followed by their constant names), u32 CRC32 of the header
+ * blocks:  u32 raw length, u32 stored length, u32 task count, u32 CRC32 of the raw bytes,
+ *          stored bytes (deflated when FLAG_DEFLATE is set)
+ * end:     a block frame of zeros followed by u64 total task count
+ * </pre>
+ * Tasks are stored field by field in schema order. Readers match fields by name and skip
+ * unknown ones, and map enum ordinals through the stored names, so fields and constants
+ * can be added without breaking older files.
+ */
+final class TaskBinaryFormat {
+    static final int MAGIC = 0x54444C42; // "TDLB"
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+
+    static final int FRAME_SIZE = 16;
+    static final int TRAILER_SIZE = 8;
+    // Raw bytes collected before a block is written
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    // Field types; nullable types reserve the encoded value 0 for null
+    static final int TYPE_VARINT = 1;     // unsigned varint
+    static final int TYPE_ZIGZAG = 2;     // signed varint
+    static final int TYPE_STRING = 3;     // varint (length + 1), UTF-8 bytes
+    static final int TYPE_TIMESTAMP = 4;  // varint (zigzag(epoch seconds, UTC) + 1)
+    static final int TYPE_ENUM = 5;       // varint (ordinal + 1)
+    static final int TYPE_BOOLEAN = 6;    // one byte
+
+    static final int FIELD_ID = 0;
+    static final int FIELD_SHORT_DESCRIPTION = 1;
+    static final int FIELD_DETAILS = 2;
+    static final int FIELD_DEADLINE = 3;
+    static final int FIELD_CATEGORY = 4;
+    static final int FIELD_PRIORITY = 5;
+    static final int FIELD_COMPLETED = 6;
+    static final int FIELD_CREATED_DATE = 7;
+    static final int FIELD_COMPLETED_DATE = 8;
+    static final int FIELD_POINTS = 9;
+
+    // Current schema, written in this order
+    static final String[] FIELD_NAMES = {
+        "id", "shortDescription", "details", "deadline", "category",
+        "priority", "completed", "createdDate", "completedDate", "points"
+    };
+    static final int[] FIELD_TYPES = {
+        TYPE_VARINT, TYPE_STRING, TYPE_STRING, TYPE_TIMESTAMP, TYPE_ENUM,
+        TYPE_ENUM, TYPE_BOOLEAN, TYPE_TIMESTAMP, TYPE_TIMESTAMP, TYPE_ZIGZAG
+    };
+
+    private TaskBinaryFormat() {}
+
+    static Enum<?>[] enumConstants(int field) {
+        return field == FIELD_CATEGORY ? ToDoItem.Category.values() : ToDoItem.Priority.values();
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static String readString(ByteBuffer buffer) throws IOException {
+        long length = readVarint(buffer);
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        if (size > buffer.remaining()) {
+            throw new IOException("String runs past the end of its block");
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), size, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[size];
+            buffer.get(buffer.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + size);
+        return value;
+    }
+}
@@ -0,0 +1,309 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.swaraj.todolist.services.TaskBinaryFormat.*;
+
+/**
+ * Reads tasks written by {@link TaskBinaryWriter} one at a time.
+ * The file is memory-mapped in large windows; uncompressed blocks are decoded in place,
+ * compressed ones are inflated into a reused buffer. Every block's checksum is verified
+ * before any of its tasks are returned.
+ */
+public class TaskBinaryReader implements TaskReader {
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+    private static final int MAX_HEADER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    // Offset of the task file within the channel
+    private final long start;
+    private final long size;
+    private final boolean compressed;
+    private final Inflater inflater;
+    private final CRC32 crc = new CRC32();
+    // Per stored field: index into FIELD_NAMES or -1 when unknown, and its type
+    private int[] fieldIds;
+    private int[] fieldTypes;
+    // Stored enum ordinal to current constant, per stored field
+    private Enum<?>[][] enumMappings;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private ByteBuffer blockData;
+    private byte[] inflated = new byte[0];
+    private int blockTasksRemaining;
+    private long tasksRead;
+    private boolean finished;
+
+    public TaskBinaryReader(Path file) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.READ), 0, true);
+    }
+
+    /**
+     * Read tasks written at the given offset of a channel, after content of the caller's
+     * own. Closing the reader leaves the channel open.
+     */
+    TaskBinaryReader(FileChannel channel, long start) throws IOException {
+        this(channel, start, false);
+    }
+
+    private TaskBinaryReader(FileChannel channel, long start, boolean ownsChannel) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.start = start;
+        try {
+            size = channel.size();
+            compressed = (readHeader() & FLAG_DEFLATE) != 0;
+            inflater = compressed ? new Inflater() : null;
+        } catch (IOException | RuntimeException e) {
+            if (ownsChannel) {
+                channel.close();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public TaskRecord next() throws IOException {
+        while (blockTasksRemaining == 0) {
+            if (finished || !nextBlock()) {
+                return null;
+            }
+        }
+        blockTasksRemaining--;
+        tasksRead++;
+        try {
+            return decodeTask(blockData);
+        } catch (RuntimeException e) {
+            // Buffer underflow and similar mean the block does not match its schema
+            throw new IOException("Malformed task in block ending at offset " + position, e);
+        }
+    }
+
+    @Override
+    public long getBytesRead() {
+        return position;
+    }
+
+    private int readHeader() throws IOException {
+        ByteBuffer header = map(start, (int) Math.max(0, Math.min(size - start, MAX_HEADER_SIZE)));
+        if (header.remaining() < 8 || header.getInt() != MAGIC) {
+            throw new IOException("Not a task backup file");
+        }
+        int version = header.getShort() & 0xFFFF;
+        if (version > VERSION) {
+            throw new IOException("Unsupported task file version " + version);
+        }
+        int flags = header.getShort() & 0xFFFF;
+
+        int fieldCount = (int) readVarint(header);
+        fieldIds = new int[fieldCount];
+        fieldTypes = new int[fieldCount];
+        enumMappings = new Enum<?>[fieldCount][];
+        for (int i = 0; i < fieldCount; i++) {
+            String name = readString(header);
+            int type = header.get();
+            int id = indexOf(name);
+            if (id >= 0 && FIELD_TYPES[id] != type) {
+                throw new IOException("Field " + name + " has unexpected type " + type);
+            }
+            fieldIds[i] = id;
+            fieldTypes[i] = type;
+            if (type == TYPE_ENUM) {
+                int count = (int) readVarint(header);
+                enumMappings[i] = new Enum<?>[count];
+                for (int ordinal = 0; ordinal < count; ordinal++) {
+                    String constantName = readString(header);
+                    enumMappings[i][ordinal] = id >= 0 ? constantNamed(enumConstants(id), constantName) : null;
+                }
+            }
+        }
+
+        int headerLength = header.position();
+        crc.reset();
+        crc.update(header.duplicate().position(0).limit(headerLength));
+        if (header.getInt() != (int) crc.getValue()) {
+            throw new IOException("Task file header is corrupt");
+        }
+        position = start + header.position();
+        return flags;
+    }
+
+    private boolean nextBlock() throws IOException {
+        ByteBuffer frame = map(position, FRAME_SIZE);
+        int rawLength = frame.getInt();
+        int storedLength = frame.getInt();
+        int taskCount = frame.getInt();
+        int checksum = frame.getInt();
+        position += FRAME_SIZE;
+
+        if (taskCount == 0) {
+            long total = map(position, TRAILER_SIZE).getLong();
+            position += TRAILER_SIZE;
+            finished = true;
+            if (total != tasksRead) {
+                throw new IOException("Task file is incomplete: expected " + total + " tasks, read " + tasksRead);
+            }
+            return false;
+        }
+        if (rawLength < 0 || storedLength < 0) {
+            throw new IOException("Corrupt block frame at offset " + (position - FRAME_SIZE));
+        }
+
+        ByteBuffer stored = map(position, storedLength);
+        position += storedLength;
+        if (compressed) {
+            if (inflated.length < rawLength) {
+                inflated = new byte[rawLength];
+            }
+            inflater.reset();
+            inflater.setInput(stored);
+            try {
+                int length = 0;
+                while (length < rawLength && !inflater.finished()) {
+                    int count = inflater.inflate(inflated, length, rawLength - length);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += count;
+                }
+                if (length != rawLength) {
+                    throw new IOException("Compressed block is truncated");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Compressed block is corrupt", e);
+            }
+            blockData = ByteBuffer.wrap(inflated, 0, rawLength);
+        } else {
+            blockData = stored;
+        }
+
+        crc.reset();
+        crc.update(blockData.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch in block ending at offset " + position);
+        }
+        blockTasksRemaining = taskCount;
+        return true;
+    }
+
+    private TaskRecord decodeTask(ByteBuffer data) throws IOException {
+        long id = 0;
+        String shortDescription = "";
+        String details = "";
+        LocalDateTime deadline = null;
+        ToDoItem.Category category = ToDoItem.Category.OTHER;
+        ToDoItem.Priority priority = ToDoItem.Priority.MEDIUM;
+        boolean completed = false;
+        LocalDateTime createdDate = null;
+        LocalDateTime completedDate = null;
+        int points = 0;
+
+        for (int i = 0; i < fieldIds.length; i++) {
+            switch (fieldIds[i]) {
+                case FIELD_ID -> id = readVarint(data);
+                case FIELD_SHORT_DESCRIPTION -> shortDescription = orEmpty(readString(data));
+                case FIELD_DETAILS -> details = orEmpty(readString(data));
+                case FIELD_DEADLINE -> deadline = readTimestamp(data);
+                case FIELD_CATEGORY -> {
+                    Enum<?> value = readEnum(data, i);
+                    category = value != null ? (ToDoItem.Category) value : ToDoItem.Category.OTHER;
+                }
+                case FIELD_PRIORITY -> {
+                    Enum<?> value = readEnum(data, i);
+                    priority = value != null ? (ToDoItem.Priority) value : ToDoItem.Priority.MEDIUM;
+                }
+                case FIELD_COMPLETED -> completed = data.get() != 0;
+                case FIELD_CREATED_DATE -> createdDate = readTimestamp(data);
+                case FIELD_COMPLETED_DATE -> completedDate = readTimestamp(data);
+                case FIELD_POINTS -> points = (int) unzigzag(readVarint(data));
+                default -> skipField(data, fieldTypes[i]);
+            }
+        }
+        return new TaskRecord(id, shortDescription, details, deadline, category, priority,
+            completed, createdDate, completedDate, points);
+    }
+
+    private Enum<?> readEnum(ByteBuffer data, int field) throws IOException {
+        long stored = readVarint(data);
+        Enum<?>[] mapping = enumMappings[field];
+        return stored > 0 && stored <= mapping.length ? mapping[(int) stored - 1] : null;
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer data) throws IOException {
+        long stored = readVarint(data);
+        return stored == 0 ? null : LocalDateTime.ofEpochSecond(unzigzag(stored - 1), 0, ZoneOffset.UTC);
+    }
+
+    private static void skipField(ByteBuffer data, int type) throws IOException {
+        switch (type) {
+            case TYPE_STRING -> readString(data);
+            case TYPE_BOOLEAN -> data.get();
+            case TYPE_VARINT, TYPE_ZIGZAG, TYPE_TIMESTAMP, TYPE_ENUM -> readVarint(data);
+            default -> throw new IOException("Unknown field type " + type);
+        }
+    }
+
+    /**
+     * View of [offset, offset + length) of the file, remapping the window when needed
+     */
+    private ByteBuffer map(long offset, int length) throws IOException {
+        if (offset + length > size) {
+            throw new EOFException("Task file is truncated");
+        }
+        if (window == null || offset < windowStart || offset + length > windowStart + window.capacity()) {
+            long mapLength = Math.min(Math.max(MAP_WINDOW, length), size - offset);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, mapLength);
+            windowStart = offset;
+        }
+        return window.slice((int) (offset - windowStart), length);
+    }
+
+    private static int indexOf(String name) {
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            if (FIELD_NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Enum<?> constantNamed(Enum<?>[] constants, String name) {
+        for (Enum<?> constant : constants) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inflater != null) {
+            inflater.end();
+        }
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+}
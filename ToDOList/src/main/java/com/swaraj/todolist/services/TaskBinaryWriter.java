@@ -0,0 +1,237 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static com.swaraj.todolist.services.TaskBinaryFormat.*;
+
+/**
+ * Writes tasks in the compact binary format described in {@link TaskBinaryFormat}.
+ * Tasks are encoded into an in-memory block that is checksummed, optionally deflated
+ * and written to a FileChannel once full, so memory use is independent of task count.
+ */
+public class TaskBinaryWriter implements Closeable {
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private byte[] block = new byte[BLOCK_SIZE * 2];
+    private byte[] compressed = new byte[0];
+    private int blockLength;
+    private int blockTasks;
+    private long written;
+
+    /**
+     * Open a writer on a file, replacing any existing content
+     *
+     * @param compress deflate each block
+     */
+    public TaskBinaryWriter(Path file, boolean compress) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING), compress, true);
+    }
+
+    /**
+     * Open a writer that starts at the channel's current position, after whatever the
+     * caller wrote there. Closing the writer leaves the channel open.
+     */
+    TaskBinaryWriter(FileChannel channel, boolean compress) throws IOException {
+        this(channel, compress, false);
+    }
+
+    private TaskBinaryWriter(FileChannel channel, boolean compress, boolean ownsChannel) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try {
+            writeHeader();
+        } catch (IOException e) {
+            if (ownsChannel) {
+                channel.close();
+            }
+            throw e;
+        }
+    }
+
+    public void write(ToDoItem item) throws IOException {
+        writeTask(item.getId(), item.getShortDescription(), item.getDetails(), item.getDeadline(),
+            item.getCategory(), item.getPriority(), item.isCompleted(), item.getCreatedDate(),
+            item.getCompletedDate(), item.getPoints());
+    }
+
+    public void write(TaskRecord task) throws IOException {
+        writeTask(task.id(), task.shortDescription(), task.details(), task.deadline(),
+            task.category(), task.priority(), task.completed(), task.createdDate(),
+            task.completedDate(), task.points());
+    }
+
+    /**
+     * Number of tasks written so far
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    private void writeTask(long id, String shortDescription, String details, LocalDateTime deadline,
+                           ToDoItem.Category category, ToDoItem.Priority priority, boolean completed,
+                           LocalDateTime createdDate, LocalDateTime completedDate, int points) throws IOException {
+        // Fields in FIELD_NAMES order
+        putVarint(id);
+        putString(shortDescription);
+        putString(details);
+        putTimestamp(deadline);
+        putVarint(category != null ? category.ordinal() + 1 : 0);
+        putVarint(priority != null ? priority.ordinal() + 1 : 0);
+        ensureCapacity(1);
+        block[blockLength++] = (byte) (completed ? 1 : 0);
+        putTimestamp(createdDate);
+        putTimestamp(completedDate);
+        putVarint(zigzag(points));
+
+        blockTasks++;
+        written++;
+        if (blockLength >= BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        putInt(MAGIC);
+        putShort(VERSION);
+        putShort(deflater != null ? FLAG_DEFLATE : 0);
+        putVarint(FIELD_NAMES.length);
+        for (int field = 0; field < FIELD_NAMES.length; field++) {
+            putString(FIELD_NAMES[field]);
+            ensureCapacity(1);
+            block[blockLength++] = (byte) FIELD_TYPES[field];
+            if (FIELD_TYPES[field] == TYPE_ENUM) {
+                Enum<?>[] constants = enumConstants(field);
+                putVarint(constants.length);
+                for (Enum<?> constant : constants) {
+                    putString(constant.name());
+                }
+            }
+        }
+        crc.reset();
+        crc.update(block, 0, blockLength);
+        putInt((int) crc.getValue());
+        writeFully(ByteBuffer.wrap(block, 0, blockLength));
+        blockLength = 0;
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockTasks == 0) {
+            return;
+        }
+        crc.reset();
+        crc.update(block, 0, blockLength);
+
+        byte[] stored = block;
+        int storedLength = blockLength;
+        if (deflater != null) {
+            deflater.reset();
+            deflater.setInput(block, 0, blockLength);
+            deflater.finish();
+            if (compressed.length < blockLength + 64) {
+                compressed = new byte[blockLength + blockLength / 8 + 64];
+            }
+            storedLength = 0;
+            while (!deflater.finished()) {
+                if (storedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                storedLength += deflater.deflate(compressed, storedLength, compressed.length - storedLength);
+            }
+            stored = compressed;
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+        frame.putInt(blockLength).putInt(storedLength).putInt(blockTasks).putInt((int) crc.getValue()).flip();
+        writeFully(frame);
+        writeFully(ByteBuffer.wrap(stored, 0, storedLength));
+        blockLength = 0;
+        blockTasks = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void putTimestamp(LocalDateTime value) {
+        putVarint(value != null ? zigzag(value.toEpochSecond(ZoneOffset.UTC)) + 1 : 0);
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            putVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, block, blockLength, bytes.length);
+        blockLength += bytes.length;
+    }
+
+    private void putVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            block[blockLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        block[blockLength++] = (byte) value;
+    }
+
+    private void putInt(int value) {
+        putShort(value >>> 16);
+        putShort(value);
+    }
+
+    private void putShort(int value) {
+        ensureCapacity(2);
+        block[blockLength++] = (byte) (value >>> 8);
+        block[blockLength++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (blockLength + extra > block.length) {
+            block = Arrays.copyOf(block, Math.max(block.length * 2, blockLength + extra));
+        }
+    }
+
+    /**
+     * Write the last block and the end marker
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            ByteBuffer end = ByteBuffer.allocate(FRAME_SIZE + TRAILER_SIZE);
+            end.position(FRAME_SIZE);
+            end.putLong(written).flip();
+            writeFully(end);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            if (ownsChannel) {
+                channel.close();
+            }
+        }
+    }
+}
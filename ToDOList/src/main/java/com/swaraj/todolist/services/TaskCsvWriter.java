@@ -0,0 +1,86 @@
+package com.swaraj.todolist.services;
+
+import com.opencsv.CSVWriter;
+import com.swaraj.todolist.dataModel.TaskRecord;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Writes tasks to a CSV file one row at a time, in the column layout the CSV import reads.
+ * Rows go through a reused array into a buffered UTF-8 stream, so memory use does not
+ * depend on the number of tasks. CSVWriter keeps write errors to itself, so they are
+ * checked after each row and when closing, and rethrown.
+ */
+public class TaskCsvWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] HEADER = {
+        "ID", "Short Description", "Details", "Deadline", "Category",
+        "Priority", "Completed", "Created Date", "Completed Date", "Points"
+    };
+
+    private final CSVWriter csvWriter;
+    private final String[] row = new String[HEADER.length];
+    private long written;
+
+    /**
+     * Open a writer on a file, replacing any existing content, and write the header row
+     */
+    public TaskCsvWriter(Path file) throws IOException {
+        csvWriter = new CSVWriter(new BufferedWriter(
+            new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE));
+        csvWriter.writeNext(HEADER);
+    }
+
+    public void write(TaskRecord task) throws IOException {
+        row[0] = String.valueOf(task.id());
+        row[1] = task.shortDescription();
+        row[2] = task.details();
+        row[3] = format(task.deadline());
+        row[4] = task.category().name();
+        row[5] = task.priority().name();
+        row[6] = String.valueOf(task.completed());
+        row[7] = format(task.createdDate());
+        row[8] = format(task.completedDate());
+        row[9] = String.valueOf(task.points());
+        csvWriter.writeNext(row);
+        // Cheap check of the last write; checkError() would flush the buffer on every row
+        throwIfFailed();
+        written++;
+    }
+
+    /**
+     * Number of tasks written so far
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Flushes the rows still buffered and reports whether any write failed
+        boolean failed = csvWriter.checkError();
+        IOException error = csvWriter.getException();
+        csvWriter.close();
+        if (failed) {
+            throw error != null ? error : new IOException("Failed to write CSV file");
+        }
+    }
+
+    private void throwIfFailed() throws IOException {
+        IOException error = csvWriter.getException();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? TaskJsonWriter.DATE_TIME_FORMATTER.format(value) : "";
+    }
+}
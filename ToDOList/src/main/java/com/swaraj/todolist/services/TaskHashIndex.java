@@ -0,0 +1,93 @@
+package com.swaraj.todolist.services;
+
+/**
+ * Open-addressing index of stored tasks by identity hash, holding each task's id and
+ * content hash in parallel arrays with linear probing, so a lookup costs a few array
+ * reads and no boxing. A zero id marks a free slot; the table doubles at 75% load.
+ */
+class TaskHashIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] identities;
+    private long[] contents;
+    private int[] ids;
+    private int size;
+
+    TaskHashIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @return the slot holding the identity, or -1 when it is not indexed
+     */
+    int find(long identity) {
+        int mask = ids.length - 1;
+        for (int slot = spread(identity) & mask; ids[slot] != 0; slot = (slot + 1) & mask) {
+            if (identities[slot] == identity) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index an identity that is not indexed yet
+     */
+    void put(long identity, long id, long content) {
+        if ((size + 1) * 4L > ids.length * 3L) {
+            grow();
+        }
+        int mask = ids.length - 1;
+        int slot = spread(identity) & mask;
+        while (ids[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        identities[slot] = identity;
+        contents[slot] = content;
+        ids[slot] = (int) id;
+        size++;
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    long content(int slot) {
+        return contents[slot];
+    }
+
+    void setContent(int slot, long content) {
+        contents[slot] = content;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+
+    private void grow() {
+        long[] oldIdentities = identities;
+        long[] oldContents = contents;
+        int[] oldIds = ids;
+        allocate(oldIds.length * 2);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                put(oldIdentities[i], oldIds[i], oldContents[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        identities = new long[capacity];
+        contents = new long[capacity];
+        ids = new int[capacity];
+        size = 0;
+    }
+
+    private static int spread(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
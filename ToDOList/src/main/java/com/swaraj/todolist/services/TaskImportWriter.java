@@ -0,0 +1,139 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores imported tasks batch by batch, either appending every task or merging.
+ * When merging, each incoming task is looked up by its identity hash: unknown tasks are
+ * inserted, known ones with a different content hash are updated in place and exact
+ * copies are skipped, so importing the same file again changes nothing. The identity
+ * and content hashes of stored tasks are loaded once into a {@link TaskHashIndex}, so a
+ * lookup costs a few array reads rather than a database round trip.
+ */
+class TaskImportWriter {
+
+    /**
+     * Where the tasks go: the database, or a stand-in in tests
+     */
+    interface Store {
+        void streamTaskHashes(DatabaseService.TaskHashHandler handler);
+
+        void insertTasks(List<TaskRecord> tasks);
+
+        List<Long> mergeTasks(List<TaskRecord> inserts, List<TaskRecord> updates);
+    }
+
+    private final Store store;
+    private final boolean merge;
+    private final TaskHashIndex index;
+
+    private long inserted;
+    private long updated;
+    private long skipped;
+
+    TaskImportWriter(DatabaseService databaseService, boolean merge) {
+        this(new Store() {
+            @Override
+            public void streamTaskHashes(DatabaseService.TaskHashHandler handler) {
+                databaseService.streamTaskHashes(handler);
+            }
+
+            @Override
+            public void insertTasks(List<TaskRecord> tasks) {
+                databaseService.insertTasks(tasks);
+            }
+
+            @Override
+            public List<Long> mergeTasks(List<TaskRecord> inserts, List<TaskRecord> updates) {
+                return databaseService.mergeTasks(inserts, updates);
+            }
+        }, merge);
+    }
+
+    TaskImportWriter(Store store, boolean merge) {
+        this.store = store;
+        this.merge = merge;
+        this.index = merge ? new TaskHashIndex() : null;
+        if (merge) {
+            // The oldest copy wins when the table already holds duplicates
+            store.streamTaskHashes((id, identity, content) -> {
+                if (index.find(identity) < 0) {
+                    index.put(identity, id, content);
+                }
+            });
+        }
+    }
+
+    /**
+     * Store one batch in a single transaction
+     */
+    void write(List<TaskRecord> batch) {
+        if (!merge) {
+            store.insertTasks(batch);
+            inserted += batch.size();
+            return;
+        }
+
+        List<TaskRecord> inserts = new ArrayList<>();
+        List<Long> insertContents = new ArrayList<>();
+        Map<Long, Integer> pending = new HashMap<>();
+        List<TaskRecord> updates = new ArrayList<>();
+        int batchUpdated = 0;
+        int batchSkipped = 0;
+
+        for (TaskRecord task : batch) {
+            long identity = task.identityHash();
+            long content = task.contentHash();
+
+            // A task repeated within the batch: the later copy replaces the pending insert
+            Integer position = pending.get(identity);
+            if (position != null) {
+                if (insertContents.get(position) == content) {
+                    batchSkipped++;
+                } else {
+                    inserts.set(position, task);
+                    insertContents.set(position, content);
+                    batchUpdated++;
+                }
+                continue;
+            }
+
+            int slot = index.find(identity);
+            if (slot < 0) {
+                pending.put(identity, inserts.size());
+                inserts.add(task);
+                insertContents.add(content);
+            } else if (index.content(slot) == content) {
+                batchSkipped++;
+            } else {
+                updates.add(task.withId(index.id(slot)));
+                index.setContent(slot, content);
+                batchUpdated++;
+            }
+        }
+
+        List<Long> newIds = store.mergeTasks(inserts, updates);
+        for (int i = 0; i < Math.min(newIds.size(), inserts.size()); i++) {
+            index.put(inserts.get(i).identityHash(), newIds.get(i), insertContents.get(i));
+        }
+        inserted += inserts.size();
+        updated += batchUpdated;
+        skipped += batchSkipped;
+    }
+
+    /**
+     * Number of incoming tasks handled so far
+     */
+    long getProcessed() {
+        return inserted + updated + skipped;
+    }
+
+    ExportImportService.ImportResult result(boolean cancelled, long invalidFields) {
+        return new ExportImportService.ImportResult(inserted, updated, skipped, invalidFields, cancelled);
+    }
+}
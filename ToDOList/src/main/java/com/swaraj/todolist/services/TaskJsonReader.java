@@ -0,0 +1,155 @@
+package com.swaraj.todolist.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads tasks from a JSON array one at a time.
+ * Only the task being decoded is held in memory, so arbitrarily large exports can be
+ * read with a fixed-size buffer. Accepts files written by {@link TaskJsonWriter} as well
+ * as older ObjectMapper exports; unknown fields are skipped.
+ */
+public class TaskJsonReader implements TaskReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final LocalDateTime now = LocalDateTime.now();
+    private boolean finished;
+    private long invalidFields;
+
+    public TaskJsonReader(Path file) throws IOException {
+        this(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * Open a reader on a stream; the stream is closed with the reader
+     */
+    public TaskJsonReader(InputStream in) throws IOException {
+        parser = JSON_FACTORY.createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array of tasks");
+        }
+    }
+
+    @Override
+    public TaskRecord next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY || token == null) {
+            finished = true;
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a task object but found " + token);
+        }
+
+        long id = 0;
+        String shortDescription = "";
+        String details = "";
+        LocalDateTime deadline = null;
+        ToDoItem.Category category = ToDoItem.Category.OTHER;
+        ToDoItem.Priority priority = ToDoItem.Priority.MEDIUM;
+        boolean completed = false;
+        LocalDateTime createdDate = null;
+        LocalDateTime completedDate = null;
+        int points = 0;
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = value.isNumeric() ? parser.getLongValue() : 0;
+                case "shortDescription" -> shortDescription = textOrDefault(value, "");
+                case "details" -> details = textOrDefault(value, "");
+                case "deadline" -> deadline = readDateTime(value);
+                case "category" -> category = readEnum(value, ToDoItem.Category.class, ToDoItem.Category.OTHER);
+                case "priority" -> priority = readEnum(value, ToDoItem.Priority.class, ToDoItem.Priority.MEDIUM);
+                case "completed" -> completed = value == JsonToken.VALUE_TRUE;
+                case "createdDate" -> createdDate = readDateTime(value);
+                case "completedDate" -> completedDate = readDateTime(value);
+                case "points" -> points = value.isNumeric() ? parser.getIntValue() : 0;
+                default -> { }
+            }
+            // Unknown fields and unexpected nested values are skipped whole
+            parser.skipChildren();
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Unterminated task object");
+        }
+        // The list sorts and filters on the deadline, so a task always has one
+        if (deadline == null) {
+            invalidFields++;
+            deadline = now.plusDays(1);
+        }
+        return new TaskRecord(id, shortDescription, details, deadline, category, priority,
+            completed, createdDate, completedDate, points);
+    }
+
+    @Override
+    public long getBytesRead() {
+        return parser.currentLocation().getByteOffset();
+    }
+
+    /**
+     * Number of tasks whose deadline was missing or malformed and replaced by the default
+     */
+    @Override
+    public long getInvalidFields() {
+        return invalidFields;
+    }
+
+    private String textOrDefault(JsonToken value, String defaultValue) throws IOException {
+        if (value == JsonToken.VALUE_NULL || value.isStructStart()) {
+            return defaultValue;
+        }
+        return parser.getText();
+    }
+
+    private LocalDateTime readDateTime(JsonToken value) throws IOException {
+        String text = textOrDefault(value, null);
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(text, TaskJsonWriter.DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(text);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private <E extends Enum<E>> E readEnum(JsonToken value, Class<E> type, E defaultValue) throws IOException {
+        String text = textOrDefault(value, null);
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, text);
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,132 @@
+package com.swaraj.todolist.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes tasks to a JSON array one at a time.
+ * Fields are emitted directly through a {@link JsonGenerator} rather than by reflecting
+ * over ToDoItem, so output is produced at I/O speed with constant memory. The layout
+ * matches what the ObjectMapper-based import reads back.
+ */
+public class TaskJsonWriter implements Closeable {
+    // Shared with ToDoItem's @JsonFormat so files round-trip through the object mapper
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Field names are escaped once instead of for every task
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString SHORT_DESCRIPTION = new SerializedString("shortDescription");
+    static final SerializableString DETAILS = new SerializedString("details");
+    static final SerializableString DEADLINE = new SerializedString("deadline");
+    static final SerializableString CATEGORY = new SerializedString("category");
+    static final SerializableString PRIORITY = new SerializedString("priority");
+    static final SerializableString COMPLETED = new SerializedString("completed");
+    static final SerializableString CREATED_DATE = new SerializedString("createdDate");
+    static final SerializableString COMPLETED_DATE = new SerializedString("completedDate");
+    static final SerializableString POINTS = new SerializedString("points");
+
+    private final JsonGenerator generator;
+    private long written;
+
+    /**
+     * Open a writer on a file, replacing any existing content
+     *
+     * @param compact skip indentation and line breaks
+     */
+    public TaskJsonWriter(Path file, boolean compact) throws IOException {
+        this(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE), compact);
+    }
+
+    /**
+     * Open a writer on a stream; the stream is closed with the writer
+     */
+    public TaskJsonWriter(OutputStream out, boolean compact) throws IOException {
+        generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        if (!compact) {
+            generator.useDefaultPrettyPrinter();
+        }
+        generator.writeStartArray();
+    }
+
+    public void write(ToDoItem item) throws IOException {
+        writeTask(item.getId(), item.getShortDescription(), item.getDetails(), item.getDeadline(),
+            item.getCategory(), item.getPriority(), item.isCompleted(), item.getCreatedDate(),
+            item.getCompletedDate(), item.getPoints());
+    }
+
+    public void write(TaskRecord task) throws IOException {
+        writeTask(task.id(), task.shortDescription(), task.details(), task.deadline(),
+            task.category(), task.priority(), task.completed(), task.createdDate(),
+            task.completedDate(), task.points());
+    }
+
+    /**
+     * Number of tasks written so far
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    private void writeTask(long id, String shortDescription, String details, LocalDateTime deadline,
+                           ToDoItem.Category category, ToDoItem.Priority priority, boolean completed,
+                           LocalDateTime createdDate, LocalDateTime completedDate, int points) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(id);
+        generator.writeFieldName(SHORT_DESCRIPTION);
+        generator.writeString(shortDescription);
+        generator.writeFieldName(DETAILS);
+        generator.writeString(details);
+        writeDateTime(DEADLINE, deadline);
+        generator.writeFieldName(CATEGORY);
+        generator.writeString(category != null ? category.name() : null);
+        generator.writeFieldName(PRIORITY);
+        generator.writeString(priority != null ? priority.name() : null);
+        generator.writeFieldName(COMPLETED);
+        generator.writeBoolean(completed);
+        writeDateTime(CREATED_DATE, createdDate);
+        writeDateTime(COMPLETED_DATE, completedDate);
+        generator.writeFieldName(POINTS);
+        generator.writeNumber(points);
+        generator.writeEndObject();
+        written++;
+    }
+
+    private void writeDateTime(SerializableString name, LocalDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value != null) {
+            generator.writeString(DATE_TIME_FORMATTER.format(value));
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    /**
+     * Close the array and flush everything to disk
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            generator.writeEndArray();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential source of tasks decoded from an export file
+ */
+public interface TaskReader extends Closeable {
+    /**
+     * Decode the next task, or return null at the end of the file
+     */
+    TaskRecord next() throws IOException;
+
+    /**
+     * Bytes of the file consumed so far
+     */
+    long getBytesRead();
+
+    /**
+     * Fields read so far that were missing or malformed and replaced by a default
+     */
+    default long getInvalidFields() {
+        return 0;
+    }
+}
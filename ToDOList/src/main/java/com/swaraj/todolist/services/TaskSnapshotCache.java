@@ -0,0 +1,147 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.PagedToDoList;
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local copy of the task list used to paint the window before the database is up.
+ * The snapshot is an uncompressed file in the binary task format, so loading it is a
+ * memory-mapped read with no database round trip. It is rewritten in the background
+ * when tasks have changed, periodically and on shutdown, and replaced atomically so a
+ * crash leaves the previous snapshot intact. It is only a cache: the list shown from it
+ * is reconciled against the database as soon as that is available, and an unreadable
+ * snapshot is ignored. Task tables too large to load in full are not snapshotted, since
+ * the list view pages them from the database anyway.
+ */
+public class TaskSnapshotCache implements DatabaseService.TaskChangeListener {
+    private static final Path SNAPSHOT_FILE = Paths.get("task-snapshot" + ExportImportService.BINARY_EXTENSION);
+    private static final long SAVE_INTERVAL_MINUTES = 5;
+
+    private static TaskSnapshotCache instance;
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicBoolean started = new AtomicBoolean();
+    // The first write after start-up brings the snapshot in line with the database
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private DatabaseService databaseService;
+
+    private TaskSnapshotCache() {
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized TaskSnapshotCache getInstance() {
+        if (instance == null) {
+            instance = new TaskSnapshotCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Read the last snapshot
+     *
+     * @return the tasks, or null when there is no usable snapshot
+     */
+    public List<ToDoItem> load() {
+        if (!Files.isRegularFile(SNAPSHOT_FILE)) {
+            return null;
+        }
+        List<ToDoItem> items = new ArrayList<>();
+        try (TaskBinaryReader reader = new TaskBinaryReader(SNAPSHOT_FILE)) {
+            TaskRecord task;
+            while ((task = reader.next()) != null) {
+                items.add(task.toToDoItem());
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable task snapshot: " + e.getMessage());
+            return null;
+        }
+        return items;
+    }
+
+    /**
+     * Follow task changes and rewrite the snapshot periodically. Calling this more than
+     * once has no effect.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        databaseService = DatabaseService.getInstance();
+        databaseService.addTaskChangeListener(this);
+        executor.scheduleWithFixedDelay(this::saveIfChanged, 0, SAVE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Write a final snapshot if tasks changed since the last one, then stop
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (databaseService != null) {
+            databaseService.removeTaskChangeListener(this);
+            saveIfChanged();
+        }
+    }
+
+    @Override
+    public void taskSaved(ToDoItem item) {
+        dirty.set(true);
+    }
+
+    @Override
+    public void taskDeleted(long itemId) {
+        dirty.set(true);
+    }
+
+    @Override
+    public void tasksImported() {
+        dirty.set(true);
+    }
+
+    private synchronized void saveIfChanged() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            System.err.println("Error writing task snapshot: " + e.getMessage());
+        }
+    }
+
+    private void save() throws IOException {
+        if (databaseService.countTasks(null, null) > PagedToDoList.PAGED_VIEW_THRESHOLD) {
+            Files.deleteIfExists(SNAPSHOT_FILE);
+            return;
+        }
+        Path temp = SNAPSHOT_FILE.resolveSibling(SNAPSHOT_FILE.getFileName() + ".tmp");
+        try {
+            try (TaskBinaryWriter writer = new TaskBinaryWriter(temp, false)) {
+                databaseService.streamTasks(writer::write);
+            }
+            Files.move(temp, SNAPSHOT_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.ToDoItem;
+import javafx.collections.ObservableList;
+
+/**
+ * Where the task list is read and edited: the database itself, or in local-first mode
+ * the in-process replica that is synced to it in the background
+ */
+public interface TaskStore {
+    ObservableList<ToDoItem> loadTodoItems();
+
+    void saveTodoItem(ToDoItem item);
+
+    void deleteTodoItem(long itemId);
+
+    /**
+     * The store for the configured mode
+     */
+    static TaskStore current() {
+        if (ConfigurationService.getInstance().isLocalFirst()) {
+            return LocalTaskStore.getInstance();
+        }
+        return DatabaseService.getInstance();
+    }
+}
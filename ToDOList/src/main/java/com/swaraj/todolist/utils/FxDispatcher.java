@@ -0,0 +1,148 @@
+package com.swaraj.todolist.utils;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Funnels background-to-UI updates onto the FX thread in batches.
+ * Updates are collected in a lock-free queue and drained once per pulse by an
+ * AnimationTimer with a fixed time budget, so bursts of background work cannot
+ * flood the FX event queue and starve input handling. The timer only runs while
+ * there is work pending.
+ */
+public class FxDispatcher {
+
+    /**
+     * Point-in-time dispatcher metrics
+     */
+    public record Metrics(int queueDepth, long dispatched, double lastLatencyMillis,
+                          double maxLatencyMillis, double lastDrainMillis) {}
+
+    // Leave most of a 16 ms frame to layout, rendering and input
+    private static final long FRAME_BUDGET_NANOS = 4_000_000;
+
+    private static FxDispatcher instance;
+
+    private final ConcurrentLinkedQueue<PendingUpdate> queue = new ConcurrentLinkedQueue<>();
+    private final Map<Object, PendingUpdate> coalesced = new ConcurrentHashMap<>();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong dispatched = new AtomicLong();
+    private volatile long lastLatencyNanos;
+    private volatile long maxLatencyNanos;
+    private volatile long lastDrainNanos;
+    private AnimationTimer timer;
+
+    private FxDispatcher() {}
+
+    public static synchronized FxDispatcher getInstance() {
+        if (instance == null) {
+            instance = new FxDispatcher();
+        }
+        return instance;
+    }
+
+    /**
+     * Run an update on the FX thread during the next pulse; safe to call from any thread
+     */
+    public void dispatch(Runnable update) {
+        queue.add(new PendingUpdate(update, System.nanoTime()));
+        queueDepth.incrementAndGet();
+        arm();
+    }
+
+    /**
+     * Run an update on the FX thread, replacing any not-yet-run update with the same key.
+     * Use for state refreshes where only the latest value matters.
+     */
+    public void dispatch(Object key, Runnable update) {
+        PendingUpdate previous = coalesced.put(key, new PendingUpdate(update, System.nanoTime()));
+        if (previous == null) {
+            queueDepth.incrementAndGet();
+        }
+        arm();
+    }
+
+    /**
+     * Current queue depth and latency figures
+     */
+    public Metrics getMetrics() {
+        return new Metrics(queueDepth.get(), dispatched.get(),
+            lastLatencyNanos / 1_000_000.0, maxLatencyNanos / 1_000_000.0, lastDrainNanos / 1_000_000.0);
+    }
+
+    private void arm() {
+        if (armed.compareAndSet(false, true)) {
+            Platform.runLater(this::startTimer);
+        }
+    }
+
+    private void startTimer() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    drain();
+                }
+            };
+        }
+        timer.start();
+    }
+
+    /**
+     * Run pending updates until the frame budget is spent; stop the timer once empty
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        long deadline = start + FRAME_BUDGET_NANOS;
+
+        Iterator<Map.Entry<Object, PendingUpdate>> keyed = coalesced.entrySet().iterator();
+        while (keyed.hasNext() && System.nanoTime() < deadline) {
+            Map.Entry<Object, PendingUpdate> entry = keyed.next();
+            if (coalesced.remove(entry.getKey(), entry.getValue())) {
+                run(entry.getValue());
+            }
+        }
+
+        PendingUpdate update;
+        while (System.nanoTime() < deadline && (update = queue.poll()) != null) {
+            run(update);
+        }
+        lastDrainNanos = System.nanoTime() - start;
+
+        if (queue.isEmpty() && coalesced.isEmpty()) {
+            timer.stop();
+            armed.set(false);
+            // An update may have been added after the emptiness check but before disarming
+            if ((!queue.isEmpty() || !coalesced.isEmpty()) && armed.compareAndSet(false, true)) {
+                timer.start();
+            }
+        }
+    }
+
+    private void run(PendingUpdate update) {
+        queueDepth.decrementAndGet();
+        long latency = System.nanoTime() - update.enqueuedAt();
+        lastLatencyNanos = latency;
+        if (latency > maxLatencyNanos) {
+            maxLatencyNanos = latency;
+        }
+        try {
+            update.action().run();
+        } catch (RuntimeException e) {
+            System.err.println("Error running UI update: " + e.getMessage());
+            e.printStackTrace();
+        }
+        dispatched.incrementAndGet();
+    }
+
+    private record PendingUpdate(Runnable action, long enqueuedAt) {}
+}
@@ -3,204 +3,510 @@ package com.swaraj.todolist.utils;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Natural language date/time parser for parsing user input like
  * "tomorrow at 6pm", "next Friday", "in 3 days", etc.
+ * <p>
+ * The input is tokenized once and a small grammar is matched over the tokens,
+ * producing both the deadline and the task description with the date phrases
+ * removed. Parsed expressions are kept relative ("tomorrow at 6pm") in a small
+ * LRU cache and resolved against the current time on every call.
  */
 public class NaturalLanguageDateParser {
-    
-    // Common patterns for natural language dates
-    private static final Pattern TOMORROW_PATTERN = Pattern.compile("(?i)tomorrow(\\s+at\\s+(\\d{1,2})(:\\d{2})?(\\s*[ap]m)?)?");
-    private static final Pattern TODAY_PATTERN = Pattern.compile("(?i)today(\\s+at\\s+(\\d{1,2})(:\\d{2})?(\\s*[ap]m)?)?");
-    private static final Pattern IN_DAYS_PATTERN = Pattern.compile("(?i)in\\s+(\\d+)\\s+days?(\\s+at\\s+(\\d{1,2})(:\\d{2})?(\\s*[ap]m)?)?");
-    private static final Pattern NEXT_WEEK_PATTERN = Pattern.compile("(?i)next\\s+(monday|tuesday|wednesday|thursday|friday|saturday|sunday)(\\s+at\\s+(\\d{1,2})(:\\d{2})?(\\s*[ap]m)?)?");
-    private static final Pattern TIME_PATTERN = Pattern.compile("(?i)(\\d{1,2})(:\\d{2})?(\\s*[ap]m)?");
-    private static final Pattern DATE_PATTERN = Pattern.compile("(\\d{1,2})/(\\d{1,2})/(\\d{4})");
-    
+
+    /**
+     * Deadline and cleaned-up description extracted from one input
+     */
+    public record ParseResult(LocalDateTime dateTime, String description, boolean recognized) {}
+
+    private static final int CACHE_SIZE = 128;
+    private static final int DEFAULT_HOUR = 9;
+
+    private static final Map<String, Expression> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    // Token kinds
+    private static final int WORD = 0;
+    private static final int NUMBER = 1;
+    private static final int DATE = 2;
+    private static final int KW_TOMORROW = 3;
+    private static final int KW_TODAY = 4;
+    private static final int KW_IN = 5;
+    private static final int KW_DAY = 6;
+    private static final int KW_NEXT = 7;
+    private static final int KW_AT = 8;
+    private static final int KW_WEEKDAY = 9;
+
+    private static final String[] WEEKDAYS = {
+        "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"
+    };
+
+    // Date expression kinds, in the order they take precedence
+    private enum Kind {
+        TOMORROW,
+        TODAY,
+        IN_DAYS,
+        NEXT_WEEKDAY,
+        ABSOLUTE_DATE,
+        TIME_ONLY,
+        NONE
+    }
+
     /**
      * Parse natural language date/time input
      */
     public static LocalDateTime parseDateTime(String input) {
-        if (input == null || input.trim().isEmpty()) {
-            return LocalDateTime.now().plusDays(1); // Default to tomorrow
-        }
-        
-        input = input.trim().toLowerCase();
-        
-        // Try to parse "tomorrow" patterns
-        Matcher matcher = TOMORROW_PATTERN.matcher(input);
-        if (matcher.find()) {
-            LocalDate tomorrow = LocalDate.now().plusDays(1);
-            LocalTime time = parseTime(matcher.group(2), matcher.group(3), matcher.group(4));
-            return LocalDateTime.of(tomorrow, time);
-        }
-        
-        // Try to parse "today" patterns
-        matcher = TODAY_PATTERN.matcher(input);
-        if (matcher.find()) {
-            LocalDate today = LocalDate.now();
-            LocalTime time = parseTime(matcher.group(2), matcher.group(3), matcher.group(4));
-            return LocalDateTime.of(today, time);
-        }
-        
-        // Try to parse "in X days" patterns
-        matcher = IN_DAYS_PATTERN.matcher(input);
-        if (matcher.find()) {
-            int days = Integer.parseInt(matcher.group(1));
-            LocalDate futureDate = LocalDate.now().plusDays(days);
-            LocalTime time = parseTime(matcher.group(3), matcher.group(4), matcher.group(5));
-            return LocalDateTime.of(futureDate, time);
-        }
-        
-        // Try to parse "next [day of week]" patterns
-        matcher = NEXT_WEEK_PATTERN.matcher(input);
-        if (matcher.find()) {
-            String dayName = matcher.group(1);
-            LocalDate nextDay = getNextDayOfWeek(dayName);
-            LocalTime time = parseTime(matcher.group(3), matcher.group(4), matcher.group(5));
-            return LocalDateTime.of(nextDay, time);
-        }
-        
-        // Try to parse MM/dd/yyyy format
-        matcher = DATE_PATTERN.matcher(input);
-        if (matcher.find()) {
-            try {
-                int month = Integer.parseInt(matcher.group(1));
-                int day = Integer.parseInt(matcher.group(2));
-                int year = Integer.parseInt(matcher.group(3));
-                LocalDate date = LocalDate.of(year, month, day);
-                
-                // Look for time in the rest of the string
-                String remaining = input.substring(matcher.end());
-                LocalTime time = parseTimeFromString(remaining);
-                return LocalDateTime.of(date, time);
-            } catch (Exception e) {
-                // Fall through to default
-            }
-        }
-        
-        // Try to parse just time (assume today)
-        matcher = TIME_PATTERN.matcher(input);
-        if (matcher.find()) {
-            LocalTime time = parseTime(matcher.group(1), matcher.group(2), matcher.group(3));
-            LocalDate date = LocalDate.now();
-            // If the time has already passed today, use tomorrow
-            if (time.isBefore(LocalTime.now())) {
-                date = date.plusDays(1);
-            }
-            return LocalDateTime.of(date, time);
-        }
-        
-        // Try standard date/time formats
-        try {
-            return LocalDateTime.parse(input, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-        } catch (DateTimeParseException e) {
-            // Try other formats
-            try {
-                return LocalDateTime.parse(input, DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm"));
-            } catch (DateTimeParseException e2) {
-                // Default to tomorrow at 9 AM
-                return LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
-            }
-        }
+        return parse(input).dateTime();
     }
-    
+
     /**
-     * Parse time from captured groups
+     * Extract task description from input that contains date/time information
      */
-    private static LocalTime parseTime(String hourStr, String minuteStr, String ampmStr) {
-        if (hourStr == null) {
-            return LocalTime.of(9, 0); // Default to 9 AM
-        }
-        
-        int hour = Integer.parseInt(hourStr);
-        int minute = 0;
-        
-        if (minuteStr != null) {
-            minute = Integer.parseInt(minuteStr.substring(1)); // Remove the ':'
-        }
-        
-        // Handle AM/PM
-        if (ampmStr != null) {
-            ampmStr = ampmStr.trim().toLowerCase();
-            if (ampmStr.contains("pm") && hour != 12) {
-                hour += 12;
-            } else if (ampmStr.contains("am") && hour == 12) {
-                hour = 0;
-            }
-        } else if (hour < 8) {
-            // Assume PM for hours less than 8 (e.g., "6" probably means 6 PM)
-            hour += 12;
-        }
-        
-        // Ensure valid hour range
-        if (hour >= 24) hour = 23;
-        if (hour < 0) hour = 0;
-        if (minute >= 60) minute = 59;
-        if (minute < 0) minute = 0;
-        
-        return LocalTime.of(hour, minute);
+    public static String extractTaskDescription(String input) {
+        if (input == null || input.trim().isEmpty()) {
+            return "";
+        }
+        return parse(input).description();
     }
-    
+
     /**
-     * Parse time from a string
+     * Parse the deadline and the task description in a single pass
      */
-    private static LocalTime parseTimeFromString(String input) {
-        Matcher matcher = TIME_PATTERN.matcher(input);
-        if (matcher.find()) {
-            return parseTime(matcher.group(1), matcher.group(2), matcher.group(3));
+    public static ParseResult parse(String input) {
+        if (input == null || input.trim().isEmpty()) {
+            return new ParseResult(LocalDateTime.now().plusDays(1), "", false); // Default to tomorrow
         }
-        return LocalTime.of(9, 0); // Default to 9 AM
+
+        Expression expression = CACHE.get(input);
+        if (expression == null) {
+            expression = new Scanner(input).scan();
+            CACHE.put(input, expression);
+        }
+        return new ParseResult(expression.resolve(LocalDateTime.now()), expression.description,
+            expression.kind != Kind.NONE);
     }
-    
+
     /**
-     * Get the next occurrence of a day of the week
+     * A parsed, still relative date expression
      */
-    private static LocalDate getNextDayOfWeek(String dayName) {
-        LocalDate today = LocalDate.now();
-        int targetDay = switch (dayName.toLowerCase()) {
-            case "monday" -> 1;
-            case "tuesday" -> 2;
-            case "wednesday" -> 3;
-            case "thursday" -> 4;
-            case "friday" -> 5;
-            case "saturday" -> 6;
-            case "sunday" -> 7;
-            default -> 1; // Default to Monday
-        };
-        
-        int currentDay = today.getDayOfWeek().getValue();
-        int daysToAdd = (targetDay - currentDay + 7) % 7;
-        if (daysToAdd == 0) {
-            daysToAdd = 7; // Next week
-        }
-        
-        return today.plusDays(daysToAdd);
+    private static final class Expression {
+        Kind kind = Kind.NONE;
+        int amount;            // days for IN_DAYS, ISO day-of-week for NEXT_WEEKDAY
+        LocalDate date;        // ABSOLUTE_DATE
+        int hour = -1;         // -1 means the default time
+        int minute;
+        String description = "";
+
+        LocalDateTime resolve(LocalDateTime now) {
+            LocalDate today = now.toLocalDate();
+            LocalTime time = hour < 0 ? LocalTime.of(DEFAULT_HOUR, 0) : LocalTime.of(hour, minute);
+            return switch (kind) {
+                case TOMORROW -> LocalDateTime.of(today.plusDays(1), time);
+                case TODAY -> LocalDateTime.of(today, time);
+                case IN_DAYS -> LocalDateTime.of(today.plusDays(amount), time);
+                case NEXT_WEEKDAY -> {
+                    int daysToAdd = (amount - today.getDayOfWeek().getValue() + 7) % 7;
+                    yield LocalDateTime.of(today.plusDays(daysToAdd == 0 ? 7 : daysToAdd), time);
+                }
+                case ABSOLUTE_DATE -> LocalDateTime.of(date, time);
+                case TIME_ONLY -> {
+                    // If the time has already passed today, use tomorrow
+                    LocalDate day = time.isBefore(now.toLocalTime()) ? today.plusDays(1) : today;
+                    yield LocalDateTime.of(day, time);
+                }
+                // Default to tomorrow at 9 AM
+                case NONE -> LocalDateTime.of(today.plusDays(1), LocalTime.of(DEFAULT_HOUR, 0));
+            };
+        }
     }
-    
+
     /**
-     * Extract task description from input that contains date/time information
+     * Tokenizer plus grammar over one input string
      */
-    public static String extractTaskDescription(String input) {
-        if (input == null || input.trim().isEmpty()) {
-            return "";
+    private static final class Scanner {
+        private final String text;
+        private final int length;
+
+        // Token table, filled by tokenize()
+        private int count;
+        private int[] kinds = new int[16];
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int[] values = new int[16];     // number value, weekday, or packed date
+        private int[] minutes = new int[16];    // -1 when absent
+        private int[] meridiems = new int[16];  // 0 none, 1 am, 2 pm
+        private int[] digitCounts = new int[16];
+
+        private final List<int[]> removedSpans = new ArrayList<>();
+
+        Scanner(String text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        Expression scan() {
+            tokenize();
+
+            Expression best = new Expression();
+            int firstTime = -1;
+            // First unambiguous time ("at 6", "6pm", "18:30"), for a day named elsewhere
+            int explicitTime = -1;
+            boolean explicitTimeRemoved = false;
+
+            for (int i = 0; i < count; i++) {
+                int kind = kinds[i];
+                if (kind == KW_TOMORROW || kind == KW_TODAY) {
+                    int end = withAtTime(i + 1);
+                    offer(best, kind == KW_TOMORROW ? Kind.TOMORROW : Kind.TODAY, 0, null, end > i + 1 ? i + 2 : -1);
+                    remove(i, end - 1);
+                    i = end - 1;
+                } else if (kind == KW_IN && is(i + 1, NUMBER) && is(i + 2, KW_DAY)) {
+                    int end = withAtTime(i + 3);
+                    offer(best, Kind.IN_DAYS, values[i + 1], null, end > i + 3 ? i + 4 : -1);
+                    remove(i, end - 1);
+                    i = end - 1;
+                } else if (kind == KW_NEXT && is(i + 1, KW_WEEKDAY)) {
+                    int end = withAtTime(i + 2);
+                    offer(best, Kind.NEXT_WEEKDAY, values[i + 1], null, end > i + 2 ? i + 3 : -1);
+                    remove(i, end - 1);
+                    i = end - 1;
+                } else if (kind == DATE) {
+                    LocalDate date = toDate(values[i]);
+                    int end = i + 1;
+                    if (isTime(end) && minutes[end] >= 0 && meridiems[end] == 0) {
+                        end++; // "12/25/2025 10:30"
+                    }
+                    if (date != null && best.kind.ordinal() > Kind.ABSOLUTE_DATE.ordinal()) {
+                        // The time is the first time-like token after the date
+                        int timeToken = -1;
+                        for (int j = i + 1; j < count && timeToken < 0; j++) {
+                            if (isTime(j)) {
+                                timeToken = j;
+                            }
+                        }
+                        offer(best, Kind.ABSOLUTE_DATE, 0, date, timeToken);
+                    }
+                    remove(i, end - 1);
+                    i = end - 1;
+                } else if (kind == KW_AT && isTime(i + 1)) {
+                    if (firstTime < 0) {
+                        firstTime = i + 1;
+                    }
+                    if (explicitTime < 0) {
+                        explicitTime = i + 1;
+                        explicitTimeRemoved = true;
+                    }
+                    remove(i, i + 1);
+                    i++;
+                } else if (isTime(i)) {
+                    if (firstTime < 0) {
+                        firstTime = i;
+                    }
+                    if (explicitTime < 0 && (meridiems[i] != 0 || minutes[i] >= 0)) {
+                        explicitTime = i;
+                    }
+                }
+            }
+
+            if (best.kind == Kind.NONE && firstTime >= 0) {
+                offer(best, Kind.TIME_ONLY, 0, null, firstTime);
+            } else if (best.kind != Kind.NONE && best.hour < 0 && explicitTime >= 0) {
+                // The day came without a time of its own, as in "at 6pm tomorrow"
+                setTime(best, explicitTime);
+                if (!explicitTimeRemoved) {
+                    remove(explicitTime, explicitTime);
+                }
+            }
+            best.description = describe();
+            return best;
+        }
+
+        /**
+         * Keep the expression with the highest precedence; the first of each kind wins
+         */
+        private void offer(Expression best, Kind kind, int amount, LocalDate date, int timeToken) {
+            if (kind.ordinal() >= best.kind.ordinal()) {
+                return;
+            }
+            best.kind = kind;
+            best.amount = amount;
+            best.date = date;
+            if (timeToken >= 0) {
+                setTime(best, timeToken);
+            } else {
+                best.hour = -1;
+                best.minute = 0;
+            }
+        }
+
+        /**
+         * Convert a time token to 24h time, assuming PM for bare hours before 8
+         */
+        private void setTime(Expression expression, int token) {
+            int hour = values[token];
+            int minute = Math.max(minutes[token], 0);
+            int meridiem = meridiems[token];
+            if (meridiem == 2 && hour != 12) {
+                hour += 12;
+            } else if (meridiem == 1 && hour == 12) {
+                hour = 0;
+            } else if (meridiem == 0 && hour < 8) {
+                // Assume PM for hours less than 8 (e.g., "6" probably means 6 PM)
+                hour += 12;
+            }
+            expression.hour = Math.min(hour, 23);
+            expression.minute = Math.min(minute, 59);
+        }
+
+        /**
+         * Index just past an optional "at TIME" starting at the given token
+         */
+        private int withAtTime(int index) {
+            return is(index, KW_AT) && isTime(index + 1) ? index + 2 : index;
+        }
+
+        private boolean is(int index, int kind) {
+            return index < count && kinds[index] == kind;
+        }
+
+        private boolean isTime(int index) {
+            return index < count && kinds[index] == NUMBER && digitCounts[index] <= 2;
+        }
+
+        private void remove(int firstToken, int lastToken) {
+            removedSpans.add(new int[] {starts[firstToken], ends[lastToken]});
+        }
+
+        private LocalDate toDate(int packed) {
+            int year = packed / 10000;
+            int month = packed / 100 % 100;
+            int day = packed % 100;
+            if (month < 1 || month > 12 || day < 1 || day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+                return null;
+            }
+            return LocalDate.of(year, month, day);
+        }
+
+        /**
+         * The input with every recognized date phrase cut out and whitespace collapsed
+         */
+        private String describe() {
+            removedSpans.sort(Comparator.comparingInt(span -> span[0]));
+            StringBuilder description = new StringBuilder(length);
+            int span = 0;
+            boolean pendingSpace = false;
+            for (int i = 0; i < length; i++) {
+                while (span < removedSpans.size() && removedSpans.get(span)[1] <= i) {
+                    span++;
+                }
+                if (span < removedSpans.size() && removedSpans.get(span)[0] <= i) {
+                    pendingSpace = true;
+                    continue;
+                }
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    pendingSpace = true;
+                } else {
+                    if (pendingSpace && description.length() > 0) {
+                        description.append(' ');
+                    }
+                    pendingSpace = false;
+                    description.append(c);
+                }
+            }
+            return description.toString();
+        }
+
+        // ---- Tokenizer ----
+
+        private void tokenize() {
+            int i = 0;
+            while (i < length) {
+                char c = text.charAt(i);
+                if (isDigit(c)) {
+                    i = scanNumber(i);
+                } else if (Character.isLetter(c)) {
+                    i = scanWord(i);
+                } else {
+                    i++; // Whitespace and punctuation only separate tokens
+                }
+            }
+        }
+
+        private int scanNumber(int start) {
+            int end = digitsEnd(start);
+            int digits = end - start;
+
+            // M/D/YYYY
+            if (digits <= 2 && at(end, '/')) {
+                int dayEnd = digitsEnd(end + 1);
+                if (dayEnd - end - 1 >= 1 && dayEnd - end - 1 <= 2 && at(dayEnd, '/')) {
+                    int yearEnd = digitsEnd(dayEnd + 1);
+                    if (yearEnd - dayEnd - 1 == 4 && !isLetterOrDigit(yearEnd)) {
+                        int month = number(start, end);
+                        int day = number(end + 1, dayEnd);
+                        int year = number(dayEnd + 1, yearEnd);
+                        add(DATE, start, yearEnd, year * 10000 + month * 100 + day, -1, 0, 0);
+                        return yearEnd;
+                    }
+                }
+            }
+
+            // YYYY-MM-DD
+            if (digits == 4 && at(end, '-')) {
+                int monthEnd = digitsEnd(end + 1);
+                if (monthEnd - end - 1 == 2 && at(monthEnd, '-')) {
+                    int dayEnd = digitsEnd(monthEnd + 1);
+                    if (dayEnd - monthEnd - 1 == 2 && !isLetterOrDigit(dayEnd)) {
+                        int year = number(start, end);
+                        int month = number(end + 1, monthEnd);
+                        int day = number(monthEnd + 1, dayEnd);
+                        add(DATE, start, dayEnd, year * 10000 + month * 100 + day, -1, 0, 0);
+                        return dayEnd;
+                    }
+                }
+            }
+
+            if (digits > 9) {
+                return skipWord(start);
+            }
+
+            int value = number(start, end);
+            int tokenEnd = end;
+            int minute = -1;
+            if (digits <= 2 && at(end, ':')) {
+                int minuteEnd = digitsEnd(end + 1);
+                if (minuteEnd - end - 1 == 2) {
+                    minute = number(end + 1, minuteEnd);
+                    tokenEnd = minuteEnd;
+                }
+            }
+
+            int meridiem = 0;
+            int suffix = tokenEnd;
+            while (suffix < length && text.charAt(suffix) == ' ') {
+                suffix++;
+            }
+            if (digits <= 2 && suffix + 1 < length && (text.charAt(suffix + 1) == 'm' || text.charAt(suffix + 1) == 'M')
+                    && !isLetterOrDigit(suffix + 2)) {
+                char ap = Character.toLowerCase(text.charAt(suffix));
+                if (ap == 'a' || ap == 'p') {
+                    meridiem = ap == 'a' ? 1 : 2;
+                    tokenEnd = suffix + 2;
+                }
+            }
+
+            if (meridiem == 0 && tokenEnd < length && Character.isLetter(text.charAt(tokenEnd))) {
+                return skipWord(start); // "3rd", "10x": not a number
+            }
+            add(NUMBER, start, tokenEnd, value, minute, meridiem, digits);
+            return tokenEnd;
+        }
+
+        private int scanWord(int start) {
+            int end = start;
+            while (end < length && Character.isLetter(text.charAt(end))) {
+                end++;
+            }
+            int kind = WORD;
+            int value = 0;
+            if (matches(start, end, "tomorrow")) {
+                kind = KW_TOMORROW;
+            } else if (matches(start, end, "today")) {
+                kind = KW_TODAY;
+            } else if (matches(start, end, "in")) {
+                kind = KW_IN;
+            } else if (matches(start, end, "day") || matches(start, end, "days")) {
+                kind = KW_DAY;
+            } else if (matches(start, end, "next")) {
+                kind = KW_NEXT;
+            } else if (matches(start, end, "at")) {
+                kind = KW_AT;
+            } else {
+                for (int d = 0; d < WEEKDAYS.length; d++) {
+                    if (matches(start, end, WEEKDAYS[d])) {
+                        kind = KW_WEEKDAY;
+                        value = d + 1;
+                        break;
+                    }
+                }
+            }
+            add(kind, start, end, value, -1, 0, 0);
+            return end;
+        }
+
+        private int skipWord(int start) {
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(text.charAt(end))) {
+                end++;
+            }
+            add(WORD, start, end, 0, -1, 0, 0);
+            return end;
+        }
+
+        private void add(int kind, int start, int end, int value, int minute, int meridiem, int digits) {
+            if (count == kinds.length) {
+                int capacity = count * 2;
+                kinds = Arrays.copyOf(kinds, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                values = Arrays.copyOf(values, capacity);
+                minutes = Arrays.copyOf(minutes, capacity);
+                meridiems = Arrays.copyOf(meridiems, capacity);
+                digitCounts = Arrays.copyOf(digitCounts, capacity);
+            }
+            kinds[count] = kind;
+            starts[count] = start;
+            ends[count] = end;
+            values[count] = value;
+            minutes[count] = minute;
+            meridiems[count] = meridiem;
+            digitCounts[count] = digits;
+            count++;
+        }
+
+        private boolean matches(int start, int end, String keyword) {
+            return end - start == keyword.length() && text.regionMatches(true, start, keyword, 0, keyword.length());
+        }
+
+        private int digitsEnd(int index) {
+            while (index < length && isDigit(text.charAt(index))) {
+                index++;
+            }
+            return index;
+        }
+
+        private int number(int start, int end) {
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                value = value * 10 + (text.charAt(i) - '0');
+            }
+            return value;
+        }
+
+        private boolean at(int index, char c) {
+            return index < length && text.charAt(index) == c;
+        }
+
+        private boolean isLetterOrDigit(int index) {
+            return index < length && Character.isLetterOrDigit(text.charAt(index));
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
         }
-        
-        // Remove common date/time patterns to extract the main task description
-        String cleaned = input.trim();
-        
-        // Remove patterns like "tomorrow at 6pm", "next friday", etc.
-        cleaned = cleaned.replaceAll("(?i)\\s+(tomorrow|today)(\\s+at\\s+\\d{1,2}(:\\d{2})?(\\s*[ap]m)?)?", "");
-        cleaned = cleaned.replaceAll("(?i)\\s+in\\s+\\d+\\s+days?(\\s+at\\s+\\d{1,2}(:\\d{2})?(\\s*[ap]m)?)?", "");
-        cleaned = cleaned.replaceAll("(?i)\\s+next\\s+(monday|tuesday|wednesday|thursday|friday|saturday|sunday)(\\s+at\\s+\\d{1,2}(:\\d{2})?(\\s*[ap]m)?)?", "");
-        cleaned = cleaned.replaceAll("(?i)\\s+at\\s+\\d{1,2}(:\\d{2})?(\\s*[ap]m)?", "");
-        cleaned = cleaned.replaceAll("\\s+\\d{1,2}/\\d{1,2}/\\d{4}(\\s+\\d{1,2}:\\d{2})?", "");
-        
-        return cleaned.trim();
     }
 }
@@ -0,0 +1,294 @@
+package com.swaraj.todolist.utils;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-window notification center: one reusable toast overlay plus a history drawer.
+ * Postings from any thread go into a bounded queue; a ticker running at a capped
+ * frame rate moves them into the history and rotates the toast, and stops when idle.
+ */
+public class NotificationCenter {
+
+    public enum Level {
+        INFO,
+        WARNING,
+        ERROR
+    }
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    /**
+     * A posted notification as kept in the history drawer. The action, when not null,
+     * is offered as a button on its toast.
+     */
+    public record Entry(Level level, String title, String message, LocalDateTime time,
+                        String actionLabel, Runnable action) {
+        @Override
+        public String toString() {
+            return TIME_FORMATTER.format(time) + "  " + title + " — " + message.replace('\n', ' ');
+        }
+    }
+
+    private static final int MAX_QUEUED = 50;
+    private static final int MAX_HISTORY = 200;
+    private static final Duration FRAME_INTERVAL = Duration.millis(100);
+    private static final long MIN_DISPLAY_MILLIS = 1500;
+    private static final long DISPLAY_MILLIS = 4000;
+
+    private static NotificationCenter instance;
+
+    // Written from any thread, drained by the ticker
+    private final ArrayDeque<Entry> incoming = new ArrayDeque<>();
+    private int droppedSinceTick;
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    // Set once on the FX thread by install(), read from any thread
+    private volatile Timeline ticker;
+
+    // FX thread only
+    private final ArrayDeque<Entry> toastQueue = new ArrayDeque<>();
+    private final ObservableList<Entry> history = FXCollections.observableArrayList();
+    private VBox toast;
+    private Label toastTitle;
+    private Label toastMessage;
+    private Label toastBacklog;
+    private Button toastAction;
+    private Entry toastEntry;
+    private VBox historyDrawer;
+    private boolean toastVisible;
+    private long toastShownAt;
+    private int droppedTotal;
+
+    private NotificationCenter() {}
+
+    public static synchronized NotificationCenter getInstance() {
+        if (instance == null) {
+            instance = new NotificationCenter();
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the overlay has been attached to a window yet
+     */
+    public boolean isInstalled() {
+        return ticker != null;
+    }
+
+    /**
+     * Attach the overlay to a scene by wrapping its root. Must be called on the FX thread.
+     */
+    public void install(Scene scene) {
+        Parent content = scene.getRoot();
+        StackPane layer = new StackPane();
+        scene.setRoot(layer);
+
+        toastTitle = new Label();
+        toastTitle.getStyleClass().add("toast-title");
+        toastMessage = new Label();
+        toastMessage.getStyleClass().add("toast-message");
+        toastMessage.setWrapText(true);
+        toastBacklog = new Label();
+        toastBacklog.getStyleClass().add("toast-backlog");
+
+        toastAction = new Button();
+        toastAction.setOnAction(event -> {
+            Runnable action = toastEntry.action();
+            hideToast();
+            action.run();
+        });
+
+        toast = new VBox(4, toastTitle, toastMessage, toastBacklog, toastAction);
+        toast.getStyleClass().add("toast");
+        toast.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        toast.setPrefWidth(320);
+        toast.setVisible(false);
+        toast.setOnMouseClicked(event -> {
+            hideToast();
+            if (event.getClickCount() == 2) {
+                toggleHistory();
+            }
+        });
+        StackPane.setAlignment(toast, Pos.BOTTOM_RIGHT);
+        StackPane.setMargin(toast, new Insets(16));
+
+        ListView<Entry> historyList = new ListView<>(history);
+        VBox.setVgrow(historyList, Priority.ALWAYS);
+        Label historyTitle = new Label("Notifications");
+        historyTitle.getStyleClass().add("panel-header");
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        Button clearButton = new Button("Clear");
+        clearButton.setOnAction(event -> history.clear());
+        Button closeButton = new Button("Close");
+        closeButton.setOnAction(event -> toggleHistory());
+        HBox historyHeader = new HBox(6, historyTitle, spacer, clearButton, closeButton);
+        historyHeader.setAlignment(Pos.CENTER_LEFT);
+
+        historyDrawer = new VBox(8, historyHeader, historyList);
+        historyDrawer.getStyleClass().add("notification-history");
+        historyDrawer.setPadding(new Insets(10));
+        historyDrawer.setMaxWidth(360);
+        historyDrawer.setVisible(false);
+        StackPane.setAlignment(historyDrawer, Pos.CENTER_RIGHT);
+
+        layer.getChildren().addAll(content, historyDrawer, toast);
+        scene.getAccelerators().put(KeyCombination.keyCombination("Shortcut+Shift+N"), this::toggleHistory);
+
+        Timeline timeline = new Timeline(new KeyFrame(FRAME_INTERVAL, event -> tick()));
+        timeline.setCycleCount(Animation.INDEFINITE);
+        // Published before the queue check, so a post() that misses the check sees it
+        ticker = timeline;
+        synchronized (incoming) {
+            if (!incoming.isEmpty() && ticking.compareAndSet(false, true)) {
+                timeline.play();
+            }
+        }
+    }
+
+    /**
+     * Queue a notification; safe to call from any thread
+     */
+    public void post(Level level, String title, String message) {
+        post(level, title, message, null, null);
+    }
+
+    /**
+     * Queue a notification whose toast offers one action, run on the FX thread when
+     * clicked; safe to call from any thread
+     */
+    public void post(Level level, String title, String message, String actionLabel, Runnable action) {
+        Entry entry = new Entry(level, title, message, LocalDateTime.now(), actionLabel, action);
+        synchronized (incoming) {
+            if (incoming.size() >= MAX_QUEUED) {
+                incoming.pollFirst();
+                droppedSinceTick++;
+            }
+            incoming.addLast(entry);
+        }
+        Timeline current = ticker;
+        if (current != null && ticking.compareAndSet(false, true)) {
+            FxDispatcher.getInstance().dispatch(current::play);
+        }
+    }
+
+    /**
+     * Show or hide the history drawer
+     */
+    public void toggleHistory() {
+        if (historyDrawer != null) {
+            historyDrawer.setVisible(!historyDrawer.isVisible());
+        }
+    }
+
+    /**
+     * Read-only view of recent notifications, newest first
+     */
+    public ObservableList<Entry> getHistory() {
+        return FXCollections.unmodifiableObservableList(history);
+    }
+
+    /**
+     * One frame: absorb new postings, rotate the toast at most once, stop when idle
+     */
+    private void tick() {
+        List<Entry> arrived;
+        synchronized (incoming) {
+            arrived = new ArrayList<>(incoming);
+            incoming.clear();
+            droppedTotal += droppedSinceTick;
+            droppedSinceTick = 0;
+        }
+
+        if (!arrived.isEmpty()) {
+            toastQueue.addAll(arrived);
+            Collections.reverse(arrived);
+            history.addAll(0, arrived);
+            if (history.size() > MAX_HISTORY) {
+                history.remove(MAX_HISTORY, history.size());
+            }
+            while (toastQueue.size() > MAX_QUEUED) {
+                toastQueue.pollFirst();
+                droppedTotal++;
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        long shownFor = now - toastShownAt;
+        if (!toastQueue.isEmpty() && (!toastVisible || shownFor >= MIN_DISPLAY_MILLIS)) {
+            showToast(toastQueue.pollFirst(), now);
+        } else if (toastVisible && toastQueue.isEmpty() && shownFor >= DISPLAY_MILLIS) {
+            hideToast();
+        } else if (toastVisible) {
+            updateBacklog();
+        }
+
+        if (!toastVisible && toastQueue.isEmpty()) {
+            ticker.stop();
+            ticking.set(false);
+            synchronized (incoming) {
+                if (!incoming.isEmpty() && ticking.compareAndSet(false, true)) {
+                    ticker.play();
+                }
+            }
+        }
+    }
+
+    private void showToast(Entry entry, long now) {
+        toastTitle.setText(entry.title());
+        toastMessage.setText(entry.message());
+        toast.getStyleClass().removeAll("toast-info", "toast-warning", "toast-error");
+        toast.getStyleClass().add("toast-" + entry.level().name().toLowerCase());
+        boolean hasAction = entry.action() != null;
+        toastAction.setText(hasAction ? entry.actionLabel() : "");
+        toastAction.setVisible(hasAction);
+        toastAction.setManaged(hasAction);
+        toastEntry = entry;
+        updateBacklog();
+        toast.setVisible(true);
+        toastVisible = true;
+        toastShownAt = now;
+    }
+
+    private void updateBacklog() {
+        int waiting = toastQueue.size();
+        String backlog = waiting == 0 ? "" : "+" + waiting + " more";
+        if (droppedTotal > 0) {
+            backlog += (backlog.isEmpty() ? "" : ", ") + droppedTotal + " dropped";
+        }
+        toastBacklog.setText(backlog);
+        toastBacklog.setManaged(!backlog.isEmpty());
+    }
+
+    private void hideToast() {
+        toast.setVisible(false);
+        toastVisible = false;
+        toastEntry = null;
+        droppedTotal = 0;
+    }
+}
@@ -0,0 +1,191 @@
+package com.swaraj.todolist.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Starts the application services in dependency order.
+ * Each service is created on a small pool of background threads as soon as the services
+ * it depends on are up, so independent services start in parallel. Critical services are
+ * started before the first window; deferred ones once it is on screen, or earlier when
+ * something asks for them. Instances are handed out through the future that created them,
+ * which publishes them safely to any thread. Start-up time of each service is recorded,
+ * and services are stopped in the reverse of the order they came up.
+ */
+public class ServiceRegistry {
+
+    public enum Phase {
+        // Needed to show the first window
+        CRITICAL,
+        // Started after the first window is shown
+        DEFERRED
+    }
+
+    /**
+     * Time a service took to create, or to become ready when created asynchronously,
+     * excluding the wait for its dependencies
+     */
+    public record Timing(String name, Phase phase, long startedAtMillis, long durationMillis, boolean failed) {}
+
+    private record Registration<T>(Class<T> type, Phase phase, Supplier<CompletableFuture<T>> factory, Consumer<T> stop,
+                                   List<Class<?>> dependencies) {}
+
+    private final Map<Class<?>, Registration<?>> registrations = new LinkedHashMap<>();
+    private final Map<Class<?>, CompletableFuture<?>> started = new LinkedHashMap<>();
+    private final List<Runnable> stopActions = new ArrayList<>();
+    private final List<Timing> timings = new ArrayList<>();
+    private final AtomicBoolean shutDown = new AtomicBoolean();
+    private final long createdAt = System.nanoTime();
+    private final ExecutorService executor;
+
+    public ServiceRegistry() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "service-start-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Declare a service. Dependencies must be registered first, which also rules out cycles.
+     *
+     * @param stop called on shutdown if the service was started; may be null
+     */
+    public <T> ServiceRegistry register(Class<T> type, Phase phase, Supplier<T> factory,
+                                        Consumer<T> stop, Class<?>... dependencies) {
+        return registerAsync(type, phase, () -> CompletableFuture.completedFuture(factory.get()), stop, dependencies);
+    }
+
+    /**
+     * Declare a service whose factory returns at once with a future of the instance, for
+     * services that become ready on some other thread. No start thread waits for it.
+     *
+     * @param stop called on shutdown if the service was started; may be null
+     */
+    public synchronized <T> ServiceRegistry registerAsync(Class<T> type, Phase phase, Supplier<CompletableFuture<T>> factory,
+                                                          Consumer<T> stop, Class<?>... dependencies) {
+        for (Class<?> dependency : dependencies) {
+            if (!registrations.containsKey(dependency)) {
+                throw new IllegalArgumentException(type.getSimpleName() + " depends on unregistered "
+                    + dependency.getSimpleName());
+            }
+        }
+        if (registrations.putIfAbsent(type, new Registration<>(type, phase, factory, stop, List.of(dependencies))) != null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " is already registered");
+        }
+        return this;
+    }
+
+    /**
+     * Start every service of a phase, with whatever they depend on, without waiting for them
+     */
+    public synchronized CompletableFuture<Void> start(Phase phase) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Registration<?> registration : registrations.values()) {
+            if (registration.phase() == phase) {
+                futures.add(start(registration.type()));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * The instance of a service, starting it first if nobody has yet and waiting until it is up
+     *
+     * @throws IllegalStateException if the service or one of its dependencies failed to start
+     */
+    public <T> T get(Class<T> type) {
+        try {
+            return type.cast(start(type).join());
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Service " + type.getSimpleName() + " failed to start", e.getCause());
+        }
+    }
+
+    /**
+     * Start-up timings of the services created so far, in the order they finished
+     */
+    public synchronized List<Timing> getTimings() {
+        return Collections.unmodifiableList(new ArrayList<>(timings));
+    }
+
+    public void printTimings() {
+        for (Timing timing : getTimings()) {
+            System.out.printf("Service %-22s %-8s started at %5d ms, took %5d ms%s%n", timing.name(),
+                timing.phase(), timing.startedAtMillis(), timing.durationMillis(), timing.failed() ? " (failed)" : "");
+        }
+    }
+
+    /**
+     * Stop the started services, dependents before what they depend on. Runs once.
+     */
+    public void shutdown() {
+        if (!shutDown.compareAndSet(false, true)) {
+            return;
+        }
+        List<Runnable> actions;
+        synchronized (this) {
+            actions = new ArrayList<>(stopActions);
+        }
+        Collections.reverse(actions);
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                System.err.println("Error stopping service: " + e.getMessage());
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    private synchronized CompletableFuture<?> start(Class<?> type) {
+        CompletableFuture<?> future = started.get(type);
+        if (future == null) {
+            Registration<?> registration = registrations.get(type);
+            if (registration == null) {
+                throw new IllegalArgumentException(type.getSimpleName() + " is not registered");
+            }
+            future = create(registration);
+            started.put(type, future);
+        }
+        return future;
+    }
+
+    private <T> CompletableFuture<T> create(Registration<T> registration) {
+        CompletableFuture<?>[] dependencies = registration.dependencies().stream()
+            .map(this::start)
+            .toArray(CompletableFuture<?>[]::new);
+        return CompletableFuture.allOf(dependencies).thenComposeAsync(ignored -> {
+            long start = System.nanoTime();
+            CompletableFuture<T> service;
+            try {
+                service = registration.factory().get();
+            } catch (RuntimeException e) {
+                service = CompletableFuture.failedFuture(e);
+            }
+            return service.whenComplete((instance, error) -> {
+                long end = System.nanoTime();
+                synchronized (this) {
+                    if (error == null && registration.stop() != null) {
+                        stopActions.add(() -> registration.stop().accept(instance));
+                    }
+                    timings.add(new Timing(registration.type().getSimpleName(), registration.phase(),
+                        (start - createdAt) / 1_000_000, (end - start) / 1_000_000, error != null));
+                }
+            });
+        }, executor);
+    }
+}
@@ -0,0 +1,241 @@
+package com.swaraj.todolist.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps one running application per working directory.
+ * The first launch takes a lock file and listens on a Unix-domain socket next to it;
+ * later launches connect, hand over their command-line arguments and exit without
+ * starting JavaFX or opening a database pool. This class must not touch JavaFX, so the
+ * hand-off costs no more than JVM start-up. Arguments received before a handler is set
+ * are held and delivered once it is. Each connection is read on its own short-lived
+ * thread, so one stalled peer cannot keep later launches waiting.
+ */
+public class SingleInstance {
+    private static final Path SOCKET_FILE = Paths.get("todolist.sock");
+    private static final Path LOCK_FILE = Paths.get("todolist.lock");
+    private static final int MAGIC = 0x54444C49; // "TDLI"
+    private static final int MAX_ARGUMENTS = 256;
+    // How long to wait for an instance that holds the lock but is not yet listening
+    private static final long CLAIM_TIMEOUT_MILLIS = 5000;
+    private static final long RETRY_MILLIS = 50;
+
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ServerSocketChannel server;
+    private final List<List<String>> held = new ArrayList<>();
+    private Consumer<List<String>> handler;
+    private boolean closed;
+
+    private SingleInstance(FileChannel lockChannel, FileLock lock, ServerSocketChannel server) {
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.server = server;
+    }
+
+    /**
+     * Hand the arguments to the running instance, or become the running instance
+     *
+     * @return null when a running instance accepted the arguments; otherwise this
+     * process's instance, which listens for later launches unless it could not
+     */
+    public static SingleInstance claim(List<String> arguments) {
+        long deadline = System.currentTimeMillis() + CLAIM_TIMEOUT_MILLIS;
+        while (true) {
+            if (forward(arguments)) {
+                return null;
+            }
+            SingleInstance instance = tryListen();
+            if (instance != null) {
+                return instance;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                System.err.println("Another instance holds " + LOCK_FILE + " but does not answer; starting without single-instance mode");
+                return new SingleInstance(null, null, null);
+            }
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new SingleInstance(null, null, null);
+            }
+        }
+    }
+
+    /**
+     * Receive the arguments of later launches on a connection thread, starting with any
+     * that arrived before now
+     */
+    public void setHandler(Consumer<List<String>> handler) {
+        List<List<String>> pending;
+        synchronized (this) {
+            this.handler = handler;
+            pending = new ArrayList<>(held);
+            held.clear();
+        }
+        pending.forEach(handler);
+    }
+
+    /**
+     * Treat arguments as if a later launch had handed them over
+     */
+    public void submit(List<String> arguments) {
+        Consumer<List<String>> target;
+        synchronized (this) {
+            target = handler;
+            if (target == null) {
+                held.add(List.copyOf(arguments));
+                return;
+            }
+        }
+        target.accept(List.copyOf(arguments));
+    }
+
+    /**
+     * Stop listening and let the next launch become the running instance. Calling this
+     * more than once has no effect.
+     */
+    public synchronized void close() {
+        if (closed || server == null) {
+            return;
+        }
+        closed = true;
+        try {
+            server.close();
+            Files.deleteIfExists(SOCKET_FILE);
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing instance socket: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Send the arguments to a listening instance
+     *
+     * @return whether one received them
+     */
+    private static boolean forward(List<String> arguments) {
+        if (!Files.exists(SOCKET_FILE)) {
+            return false;
+        }
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(SOCKET_FILE))) {
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeInt(MAGIC);
+            out.writeInt(arguments.size());
+            for (String argument : arguments) {
+                out.writeUTF(argument);
+            }
+            out.flush();
+            // The reply confirms the arguments were taken before this process exits
+            new DataInputStream(Channels.newInputStream(channel)).readBoolean();
+            return true;
+        } catch (IOException e) {
+            // Nobody listening: a stale socket file or an instance that is shutting down
+            return false;
+        }
+    }
+
+    /**
+     * Take the lock and start listening
+     *
+     * @return null when another process holds the lock
+     */
+    private static SingleInstance tryListen() {
+        FileChannel lockChannel = null;
+        try {
+            lockChannel = FileChannel.open(LOCK_FILE, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = lockChannel.tryLock();
+            if (lock == null) {
+                lockChannel.close();
+                return null;
+            }
+            // Holding the lock, any socket file left is from an instance that died
+            Files.deleteIfExists(SOCKET_FILE);
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(SOCKET_FILE));
+            SingleInstance instance = new SingleInstance(lockChannel, lock, server);
+            Thread listener = new Thread(instance::listen, "single-instance");
+            listener.setDaemon(true);
+            listener.start();
+            return instance;
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Single-instance mode unavailable: " + e.getMessage());
+            if (lockChannel != null) {
+                try {
+                    lockChannel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return new SingleInstance(null, null, null);
+        }
+    }
+
+    private void listen() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Error accepting another launch: " + e.getMessage());
+                continue;
+            }
+            // A peer that connects and stalls holds up only its own worker, not later launches
+            Thread worker = new Thread(() -> serve(channel), "single-instance-client");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void serve(SocketChannel connection) {
+        try (SocketChannel channel = connection) {
+            List<String> arguments = receive(new DataInputStream(Channels.newInputStream(channel)));
+            if (arguments == null) {
+                return;
+            }
+            submit(arguments);
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeBoolean(true);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error receiving arguments from another launch: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the arguments, or null when the peer is not a launch of this application
+     */
+    private static List<String> receive(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            return null;
+        }
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ARGUMENTS) {
+            return null;
+        }
+        List<String> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            arguments.add(in.readUTF());
+        }
+        return arguments;
+    }
+}
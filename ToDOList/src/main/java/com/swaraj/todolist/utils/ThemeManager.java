@@ -148,7 +148,7 @@ public class ThemeManager {
     
     private ThemeManager() {}
     
-    public static ThemeManager getInstance() {
+    public static synchronized ThemeManager getInstance() {
         if (instance == null) {
             instance = new ThemeManager();
         }
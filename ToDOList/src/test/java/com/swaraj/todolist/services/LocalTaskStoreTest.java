@@ -0,0 +1,139 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTaskStoreTest {
+
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2026, 6, 1, 12, 0);
+    private static final long STORED_AT = 10_000;
+
+    private static final TaskRecord BASE = new TaskRecord(4, "Write report", "draft", DEADLINE,
+        ToDoItem.Category.WORK, ToDoItem.Priority.MEDIUM, false, DEADLINE.minusDays(3), null, 20);
+
+    private static long[] edited(long at, LocalTaskStore.Field... fields) {
+        long[] times = new long[LocalTaskStore.Field.values().length];
+        for (LocalTaskStore.Field field : fields) {
+            times[field.ordinal()] = at;
+        }
+        return times;
+    }
+
+    private static TaskRecord withDetails(TaskRecord task, String details) {
+        return new TaskRecord(task.id(), task.shortDescription(), details, task.deadline(), task.category(),
+            task.priority(), task.completed(), task.createdDate(), task.completedDate(), task.points());
+    }
+
+    private static TaskRecord withDescription(TaskRecord task, String description) {
+        return new TaskRecord(task.id(), description, task.details(), task.deadline(), task.category(),
+            task.priority(), task.completed(), task.createdDate(), task.completedDate(), task.points());
+    }
+
+    @Test
+    void localEditOfAFieldTheDatabaseKeptWinsWhateverTheTime() {
+        TaskRecord local = withDetails(BASE, "final");
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(BASE, BASE, local,
+            edited(1, LocalTaskStore.Field.DETAILS), STORED_AT);
+
+        assertEquals(local, resolution.merged());
+        assertEquals(LocalTaskStore.Field.DETAILS.bit(), resolution.localFields());
+        assertEquals(0, resolution.conflicts());
+    }
+
+    @Test
+    void laterLocalEditWinsAConflict() {
+        TaskRecord stored = withDetails(BASE, "theirs");
+        TaskRecord local = withDetails(BASE, "mine");
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(stored, BASE, local,
+            edited(STORED_AT + 1, LocalTaskStore.Field.DETAILS), STORED_AT);
+
+        assertEquals("mine", resolution.merged().details());
+        assertEquals(1, resolution.conflicts());
+    }
+
+    @Test
+    void editAtTheSameTimeAsTheStoredWriteStaysLocal() {
+        TaskRecord stored = withDetails(BASE, "theirs");
+        TaskRecord local = withDetails(BASE, "mine");
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(stored, BASE, local,
+            edited(STORED_AT, LocalTaskStore.Field.DETAILS), STORED_AT);
+
+        assertEquals("mine", resolution.merged().details());
+    }
+
+    @Test
+    void laterDatabaseWriteWinsAConflict() {
+        TaskRecord stored = withDetails(BASE, "theirs");
+        TaskRecord local = withDetails(BASE, "mine");
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(stored, BASE, local,
+            edited(STORED_AT - 1, LocalTaskStore.Field.DETAILS), STORED_AT);
+
+        assertEquals(stored, resolution.merged());
+        assertEquals(0, resolution.localFields());
+        assertEquals(1, resolution.conflicts());
+    }
+
+    @Test
+    void editsToDifferentFieldsAreBothKept() {
+        TaskRecord stored = withDescription(BASE, "Write the report");
+        TaskRecord local = withDetails(BASE, "final");
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(stored, BASE, local,
+            edited(1, LocalTaskStore.Field.DETAILS), STORED_AT);
+
+        assertEquals("Write the report", resolution.merged().shortDescription());
+        assertEquals("final", resolution.merged().details());
+        assertEquals(0, resolution.conflicts());
+    }
+
+    @Test
+    void sameValueOnBothSidesIsNoConflict() {
+        TaskRecord stored = withDetails(BASE, "same");
+        TaskRecord local = withDetails(BASE, "same");
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(stored, BASE, local,
+            edited(STORED_AT - 1, LocalTaskStore.Field.DETAILS), STORED_AT);
+
+        assertEquals(stored, resolution.merged());
+        assertEquals(0, resolution.conflicts());
+    }
+
+    @Test
+    void withoutABaseEveryEditedFieldIsDecidedByTime() {
+        TaskRecord stored = withDescription(withDetails(BASE, "theirs"), "Theirs");
+        TaskRecord local = withDescription(withDetails(BASE, "mine"), "Mine");
+        long[] times = edited(STORED_AT + 5, LocalTaskStore.Field.DETAILS);
+        times[LocalTaskStore.Field.SHORT_DESCRIPTION.ordinal()] = STORED_AT - 5;
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(stored, null, local, times, STORED_AT);
+
+        assertEquals("mine", resolution.merged().details());
+        assertEquals("Theirs", resolution.merged().shortDescription());
+        assertEquals(2, resolution.conflicts());
+    }
+
+    @Test
+    void priorityChangeElsewhereKeepsALocalCompletion() {
+        TaskRecord stored = new TaskRecord(BASE.id(), BASE.shortDescription(), BASE.details(), BASE.deadline(),
+            BASE.category(), ToDoItem.Priority.URGENT, false, BASE.createdDate(), null, 99);
+        TaskRecord local = new TaskRecord(BASE.id(), BASE.shortDescription(), BASE.details(), BASE.deadline(),
+            BASE.category(), BASE.priority(), true, BASE.createdDate(), DEADLINE.minusDays(1), 7);
+        LocalTaskStore.Resolution resolution = LocalTaskStore.resolve(stored, BASE, local,
+            edited(1, LocalTaskStore.Field.COMPLETION), STORED_AT);
+
+        // The stored points moved with the priority; that alone is not a completion edit
+        TaskRecord merged = resolution.merged();
+        assertEquals(0, resolution.conflicts());
+        assertEquals(ToDoItem.Priority.URGENT, merged.priority());
+        assertTrue(merged.completed());
+        ToDoItem expected = new ToDoItem(merged.shortDescription(), merged.details(), merged.deadline(),
+            merged.category(), merged.priority());
+        expected.setCompletedDate(merged.completedDate());
+        expected.setCompleted(true);
+        // A mixed result derives its points again
+        assertEquals(expected.getPoints(), merged.points());
+    }
+}
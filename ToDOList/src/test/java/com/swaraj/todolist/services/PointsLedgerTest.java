@@ -0,0 +1,43 @@
+package com.swaraj.todolist.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PointsLedgerTest {
+
+    // ConfigurationService.calculateRequiredXP: XP needed to go from a level to the next
+    private static long requiredXP(int level) {
+        return 100 + (level - 1) * 50L;
+    }
+
+    @Test
+    void levelForXPMatchesALevelByLevelWalk() {
+        long threshold = 0;
+        for (int level = 1; level <= 5000; level++) {
+            assertEquals(threshold, PointsLedger.xpForLevel(level), "xpForLevel(" + level + ")");
+            assertEquals(level, PointsLedger.levelForXP(threshold), "at " + threshold + " XP");
+            long next = threshold + requiredXP(level);
+            assertEquals(level, PointsLedger.levelForXP(next - 1), "at " + (next - 1) + " XP");
+            threshold = next;
+        }
+    }
+
+    @Test
+    void noXPIsLevelOne() {
+        assertEquals(1, PointsLedger.levelForXP(0));
+        assertEquals(1, PointsLedger.levelForXP(-250));
+        assertEquals(0, PointsLedger.xpForLevel(1));
+        assertEquals(0, PointsLedger.xpForLevel(0));
+    }
+
+    @Test
+    void largeTotalsStayBetweenTheirThresholds() {
+        for (long xp = 1_000_000_000L; xp < 1_000_000_000_000_000L; xp = xp * 7 + 3) {
+            int level = PointsLedger.levelForXP(xp);
+            assertTrue(PointsLedger.xpForLevel(level) <= xp, "lower bound at " + xp);
+            assertTrue(PointsLedger.xpForLevel(level + 1) > xp, "upper bound at " + xp);
+        }
+    }
+}
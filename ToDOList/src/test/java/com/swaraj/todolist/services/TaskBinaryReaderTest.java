@@ -0,0 +1,183 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskBinaryReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<TaskRecord> sampleTasks(int count) {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 15, 9, 30);
+        ToDoItem.Category[] categories = ToDoItem.Category.values();
+        ToDoItem.Priority[] priorities = ToDoItem.Priority.values();
+        List<TaskRecord> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean completed = i % 3 == 0;
+            tasks.add(new TaskRecord(i + 1, "Task " + i + " ✓", "details ".repeat(i % 40),
+                base.plusHours(i), categories[i % categories.length], priorities[i % priorities.length],
+                completed, base.minusDays(i % 7), completed ? base.plusHours(i).minusMinutes(5) : null,
+                i % 2 == 0 ? i * 10 : -i));
+        }
+        return tasks;
+    }
+
+    private static void writeAll(Path file, List<TaskRecord> tasks, boolean compress) throws IOException {
+        try (TaskBinaryWriter writer = new TaskBinaryWriter(file, compress)) {
+            for (TaskRecord task : tasks) {
+                writer.write(task);
+            }
+        }
+    }
+
+    private static List<TaskRecord> readAll(Path file) throws IOException {
+        List<TaskRecord> tasks = new ArrayList<>();
+        try (TaskBinaryReader reader = new TaskBinaryReader(file)) {
+            TaskRecord task;
+            while ((task = reader.next()) != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Test
+    void roundTripAcrossSeveralBlocks() throws IOException {
+        Path file = dir.resolve("tasks.tdb");
+        List<TaskRecord> tasks = sampleTasks(3000);
+        writeAll(file, tasks, false);
+
+        assertTrue(Files.size(file) > 2L * TaskBinaryFormat.BLOCK_SIZE);
+        assertEquals(tasks, readAll(file));
+    }
+
+    @Test
+    void compressedRoundTrip() throws IOException {
+        Path file = dir.resolve("tasks.tdb");
+        List<TaskRecord> tasks = sampleTasks(3000);
+        writeAll(file, tasks, true);
+
+        assertEquals(tasks, readAll(file));
+    }
+
+    @Test
+    void missingFieldsReadBackAsDefaults() throws IOException {
+        Path file = dir.resolve("tasks.tdb");
+        writeAll(file, List.of(new TaskRecord(7, null, null, null, null, null, false, null, null, 0)), false);
+
+        assertEquals(List.of(new TaskRecord(7, "", "", null, ToDoItem.Category.OTHER, ToDoItem.Priority.MEDIUM,
+            false, null, null, 0)), readAll(file));
+    }
+
+    @Test
+    void tasksAfterACallerHeaderRoundTrip() throws IOException {
+        Path file = dir.resolve("replica.dat");
+        List<TaskRecord> tasks = sampleTasks(500);
+        byte[] header = "caller header".getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(header));
+            try (TaskBinaryWriter writer = new TaskBinaryWriter(channel, true)) {
+                for (TaskRecord task : tasks) {
+                    writer.write(task);
+                }
+            }
+            // Left open for the caller
+            assertTrue(channel.isOpen());
+        }
+
+        List<TaskRecord> read = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             TaskBinaryReader reader = new TaskBinaryReader(channel, header.length)) {
+            TaskRecord task;
+            while ((task = reader.next()) != null) {
+                read.add(task);
+            }
+        }
+        assertEquals(tasks, read);
+    }
+
+    @Test
+    void emptyFileHasNoTasks() throws IOException {
+        Path file = dir.resolve("tasks.tdb");
+        writeAll(file, List.of(), true);
+
+        try (TaskBinaryReader reader = new TaskBinaryReader(file)) {
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void corruptBlockFailsTheChecksum() throws IOException {
+        Path file = dir.resolve("tasks.tdb");
+        String marker = "corrupt-me-".repeat(20);
+        writeAll(file, List.of(new TaskRecord(1, "Task", marker, LocalDateTime.of(2026, 2, 1, 12, 0),
+            ToDoItem.Category.WORK, ToDoItem.Priority.HIGH, false, null, null, 10)), false);
+
+        byte[] bytes = Files.readAllBytes(file);
+        int offset = indexOf(bytes, marker.getBytes(StandardCharsets.UTF_8));
+        assertTrue(offset > 0);
+        bytes[offset + 5] ^= 0x01;
+        Files.write(file, bytes);
+
+        IOException error = assertThrows(IOException.class, () -> readAll(file));
+        assertTrue(error.getMessage().startsWith("Checksum mismatch"), error.getMessage());
+    }
+
+    @Test
+    void corruptHeaderIsRejected() throws IOException {
+        Path file = dir.resolve("tasks.tdb");
+        writeAll(file, sampleTasks(1), false);
+
+        byte[] bytes = Files.readAllBytes(file);
+        int offset = indexOf(bytes, "shortDescription".getBytes(StandardCharsets.UTF_8));
+        bytes[offset] ^= 0x01;
+        Files.write(file, bytes);
+
+        IOException error = assertThrows(IOException.class, () -> new TaskBinaryReader(file).close());
+        assertEquals("Task file header is corrupt", error.getMessage());
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path file = dir.resolve("tasks.tdb");
+        writeAll(file, sampleTasks(10), false);
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - TaskBinaryFormat.TRAILER_SIZE - 1));
+
+        assertThrows(IOException.class, () -> readAll(file));
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,78 @@
+package com.swaraj.todolist.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskHashIndexTest {
+
+    @Test
+    void missingIdentityIsNotFound() {
+        TaskHashIndex index = new TaskHashIndex();
+        index.put(42, 1, 100);
+
+        assertEquals(-1, index.find(43));
+    }
+
+    @Test
+    void collidingIdentitiesProbeToTheirOwnSlots() {
+        TaskHashIndex index = new TaskHashIndex();
+        // Same low bits, so all start probing at the same slot
+        long stride = index.capacity();
+        for (int i = 0; i < 50; i++) {
+            index.put(7 + i * stride, i + 1, 1000 + i);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            int slot = index.find(7 + i * stride);
+            assertTrue(slot >= 0);
+            assertEquals(i + 1, index.id(slot));
+            assertEquals(1000 + i, index.content(slot));
+        }
+        assertEquals(-1, index.find(7 + 50 * stride));
+    }
+
+    @Test
+    void identitiesThatSpreadToTheSameSlotStayApart() {
+        TaskHashIndex index = new TaskHashIndex();
+        // spread() folds the high half into the low half: both become 0x1234
+        long first = 0x1234L;
+        long second = (0xFFL << 32) | (0x1234L ^ 0xFFL);
+        index.put(first, 1, 10);
+        index.put(second, 2, 20);
+
+        assertEquals(1, index.id(index.find(first)));
+        assertEquals(2, index.id(index.find(second)));
+    }
+
+    @Test
+    void growingKeepsEveryEntry() {
+        TaskHashIndex index = new TaskHashIndex();
+        int initialCapacity = index.capacity();
+        int count = initialCapacity * 3;
+        for (int i = 1; i <= count; i++) {
+            index.put(i * 0x9E3779B97F4A7C15L, i, -i);
+        }
+
+        assertTrue(index.capacity() > initialCapacity);
+        assertTrue(index.size() * 4L <= index.capacity() * 3L);
+        assertEquals(count, index.size());
+        for (int i = 1; i <= count; i++) {
+            int slot = index.find(i * 0x9E3779B97F4A7C15L);
+            assertEquals(i, index.id(slot));
+            assertEquals(-i, index.content(slot));
+        }
+    }
+
+    @Test
+    void contentCanBeReplacedInPlace() {
+        TaskHashIndex index = new TaskHashIndex();
+        index.put(5, 9, 1);
+        int slot = index.find(5);
+        index.setContent(slot, 2);
+
+        assertEquals(2, index.content(index.find(5)));
+        assertEquals(9, index.id(index.find(5)));
+    }
+}
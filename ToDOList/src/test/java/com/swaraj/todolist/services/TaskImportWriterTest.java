@@ -0,0 +1,141 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import com.swaraj.todolist.dataModel.ToDoItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskImportWriterTest {
+
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2026, 5, 4, 17, 0);
+
+    /**
+     * Records what the writer stores and hands out ids from 100
+     */
+    private static class FakeStore implements TaskImportWriter.Store {
+        final List<TaskRecord> stored = new ArrayList<>();
+        final List<TaskRecord> inserted = new ArrayList<>();
+        final List<TaskRecord> updated = new ArrayList<>();
+        long nextId = 100;
+
+        FakeStore(TaskRecord... existing) {
+            stored.addAll(List.of(existing));
+        }
+
+        @Override
+        public void streamTaskHashes(DatabaseService.TaskHashHandler handler) {
+            for (TaskRecord task : stored) {
+                handler.handle(task.id(), task.identityHash(), task.contentHash());
+            }
+        }
+
+        @Override
+        public void insertTasks(List<TaskRecord> tasks) {
+            inserted.addAll(tasks);
+        }
+
+        @Override
+        public List<Long> mergeTasks(List<TaskRecord> inserts, List<TaskRecord> updates) {
+            inserted.addAll(inserts);
+            updated.addAll(updates);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < inserts.size(); i++) {
+                ids.add(nextId++);
+            }
+            return ids;
+        }
+    }
+
+    private static TaskRecord task(long id, String description, String details) {
+        return new TaskRecord(id, description, details, DEADLINE, ToDoItem.Category.WORK,
+            ToDoItem.Priority.MEDIUM, false, null, null, 0);
+    }
+
+    @Test
+    void appendModeInsertsEverything() {
+        FakeStore store = new FakeStore(task(1, "a", ""));
+        TaskImportWriter writer = new TaskImportWriter(store, false);
+        writer.write(List.of(task(0, "a", ""), task(0, "a", "")));
+
+        assertEquals(2, store.inserted.size());
+        assertEquals(2, writer.result(false, 0).inserted());
+    }
+
+    @Test
+    void mergeInsertsUpdatesAndSkips() {
+        FakeStore store = new FakeStore(task(1, "same", "x"), task(2, "changed", "old"));
+        TaskImportWriter writer = new TaskImportWriter(store, true);
+        writer.write(List.of(task(0, "same", "x"), task(0, "changed", "new"), task(0, "fresh", "")));
+
+        ExportImportService.ImportResult result = writer.result(false, 0);
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.skipped());
+        assertEquals(List.of(task(0, "fresh", "")), store.inserted);
+        // The update keeps the stored row's id
+        assertEquals(List.of(task(2, "changed", "new")), store.updated);
+    }
+
+    @Test
+    void repeatInBatchReplacesThePendingInsert() {
+        FakeStore store = new FakeStore();
+        TaskImportWriter writer = new TaskImportWriter(store, true);
+        writer.write(List.of(task(0, "a", "first"), task(0, "a", "second"), task(0, "a", "second")));
+
+        ExportImportService.ImportResult result = writer.result(false, 0);
+        assertEquals(List.of(task(0, "a", "second")), store.inserted);
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.skipped());
+    }
+
+    @Test
+    void tasksInsertedByEarlierBatchesAreMatched() {
+        FakeStore store = new FakeStore();
+        TaskImportWriter writer = new TaskImportWriter(store, true);
+        writer.write(List.of(task(0, "a", "one")));
+        writer.write(List.of(task(0, "a", "one"), task(0, "a", "two")));
+
+        assertEquals(1, store.inserted.size());
+        // Matched to the id the first batch was given
+        assertEquals(List.of(task(100, "a", "two")), store.updated);
+        assertEquals(3, writer.getProcessed());
+    }
+
+    @Test
+    void oldestStoredDuplicateWins() {
+        FakeStore store = new FakeStore(task(3, "dup", "old"), task(8, "dup", "old"));
+        TaskImportWriter writer = new TaskImportWriter(store, true);
+        writer.write(List.of(task(0, "dup", "new")));
+
+        assertEquals(List.of(task(3, "dup", "new")), store.updated);
+        assertTrue(store.inserted.isEmpty());
+    }
+
+    @Test
+    void reimportingTheSameTasksChangesNothing() {
+        List<TaskRecord> file = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            file.add(task(0, "task " + i, "details " + i));
+        }
+        FakeStore store = new FakeStore();
+        new TaskImportWriter(store, true).write(file);
+
+        FakeStore reloaded = new FakeStore();
+        for (int i = 0; i < store.inserted.size(); i++) {
+            reloaded.stored.add(store.inserted.get(i).withId(i + 1));
+        }
+        TaskImportWriter again = new TaskImportWriter(reloaded, true);
+        again.write(file);
+
+        assertEquals(3000, again.result(false, 0).skipped());
+        assertTrue(reloaded.inserted.isEmpty());
+        assertTrue(reloaded.updated.isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package com.swaraj.todolist.services;
+
+import com.swaraj.todolist.dataModel.TaskRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskJsonReaderTest {
+
+    private static List<TaskRecord> readAll(TaskJsonReader reader) throws IOException {
+        List<TaskRecord> tasks = new ArrayList<>();
+        TaskRecord task;
+        while ((task = reader.next()) != null) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static TaskJsonReader reader(String json) throws IOException {
+        return new TaskJsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void missingDeadlineDefaultsToTomorrowAndCountsAsInvalid() throws IOException {
+        LocalDateTime before = LocalDateTime.now();
+        try (TaskJsonReader reader = reader("[{\"shortDescription\":\"No deadline\",\"priority\":\"HIGH\"}]")) {
+            List<TaskRecord> tasks = readAll(reader);
+
+            assertEquals(1, tasks.size());
+            LocalDateTime deadline = tasks.get(0).deadline();
+            assertNotNull(deadline);
+            assertFalse(deadline.isBefore(before.plusDays(1)));
+            assertTrue(deadline.isBefore(LocalDateTime.now().plusDays(1).plusMinutes(1)));
+            assertEquals(1, reader.getInvalidFields());
+        }
+    }
+
+    @Test
+    void malformedAndNullDeadlinesAreReplaced() throws IOException {
+        String json = "[{\"shortDescription\":\"a\",\"deadline\":\"next tuesday\"},"
+            + "{\"shortDescription\":\"b\",\"deadline\":null}]";
+        try (TaskJsonReader reader = reader(json)) {
+            List<TaskRecord> tasks = readAll(reader);
+
+            assertEquals(2, tasks.size());
+            tasks.forEach(task -> assertNotNull(task.deadline()));
+            assertEquals(2, reader.getInvalidFields());
+        }
+    }
+
+    @Test
+    void validDeadlineIsKept() throws IOException {
+        try (TaskJsonReader reader = reader("[{\"shortDescription\":\"a\",\"deadline\":\"2026-03-01 18:30:00\"}]")) {
+            List<TaskRecord> tasks = readAll(reader);
+
+            assertEquals(LocalDateTime.of(2026, 3, 1, 18, 30), tasks.get(0).deadline());
+            assertEquals(0, reader.getInvalidFields());
+        }
+    }
+}
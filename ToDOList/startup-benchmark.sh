@@ -0,0 +1,83 @@
+#!/bin/bash
+#
+# Start-up benchmark: time from process start to the first frame, and peak RSS.
+#
+# Build the distribution first:   mvn -P dist clean package
+# Then run:                       ./startup-benchmark.sh [runs]
+#
+# Each variant is started runs + 1 times with -Dtodolist.exitAfterFirstFrame=true; the
+# first run only warms the page cache and is not counted. The application reports both
+# numbers itself ("First frame after N ms", "Peak RSS: N kB"). Medians are printed and
+# appended to startup-history.csv (or $STARTUP_HISTORY) so releases can be compared.
+# Needs a display and the database, like a normal start.
+
+set -euo pipefail
+cd "$(dirname "$0")"
+
+RUNS=${1:-10}
+DIST=target/dist
+HISTORY=${STARTUP_HISTORY:-startup-history.csv}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+EXIT_OPT=-Dtodolist.exitAfterFirstFrame=true
+
+if [ ! -x "$DIST/todolist" ]; then
+    echo "❌ $DIST/todolist not found. Build it with: mvn -P dist clean package"
+    exit 1
+fi
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print ""; else if (NR % 2) print v[(NR + 1) / 2]; else print int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# measure <variant> <command...>
+measure() {
+    local variant=$1
+    shift
+    local frames=() rss=() output
+    for ((run = 0; run <= RUNS; run++)); do
+        output=$("$@" 2>&1) || true
+        [ "$run" -eq 0 ] && continue
+        frames+=("$(sed -n 's/^First frame after \([0-9]*\) ms$/\1/p' <<< "$output")")
+        rss+=("$(sed -n 's/^Peak RSS: \([0-9]*\) kB$/\1/p' <<< "$output")")
+    done
+
+    local frame_median rss_median
+    frame_median=$(printf '%s\n' "${frames[@]}" | grep . | median)
+    rss_median=$(printf '%s\n' "${rss[@]}" | grep . | median)
+    if [ -z "$frame_median" ]; then
+        echo "❌ $variant: no first frame reported; run $DIST/todolist to see why"
+        return
+    fi
+    local frame_min frame_max
+    frame_min=$(printf '%s\n' "${frames[@]}" | grep . | sort -n | head -1)
+    frame_max=$(printf '%s\n' "${frames[@]}" | grep . | sort -n | tail -1)
+
+    printf '%-10s first frame %5s ms (min %s, max %s)   peak RSS %6s kB\n' \
+        "$variant" "$frame_median" "$frame_min" "$frame_max" "${rss_median:-?}"
+    echo "$DATE,$COMMIT,$JDK,$variant,$RUNS,$frame_median,$frame_min,$frame_max,$rss_median" >> "$HISTORY"
+}
+
+DATE=$(date -u +%Y-%m-%dT%H:%M:%SZ)
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo unknown)
+JDK=$("$DIST/runtime/bin/java" -version 2>&1 | head -1 | sed 's/.*"\(.*\)".*/\1/')
+
+if [ ! -f "$HISTORY" ]; then
+    echo "date,commit,jdk,variant,runs,first_frame_median_ms,first_frame_min_ms,first_frame_max_ms,peak_rss_median_kb" > "$HISTORY"
+fi
+
+echo "⏱  $RUNS runs per variant on JDK $JDK ($COMMIT)"
+
+# Full JDK on the same jars, the baseline
+measure jdk "$JAVA" "$EXIT_OPT" \
+    --module-path "$DIST/javafx" --add-modules javafx.controls,javafx.fxml \
+    -cp "$DIST/lib/*" com.swaraj.todolist.Main
+
+# Trimmed runtime without, then with, the application class-data archive
+TODOLIST_CDS=off JAVA_OPTS=$EXIT_OPT measure jlink "$DIST/todolist"
+if [ -f "$DIST/app.jsa" ]; then
+    JAVA_OPTS=$EXIT_OPT measure jlink+cds "$DIST/todolist"
+else
+    echo "⚠️  $DIST/app.jsa missing (built with -Dcds.skip?); skipping jlink+cds"
+fi
+
+echo "📈 Results appended to $HISTORY"